@@ -1,12 +1,15 @@
 package io.github.zhengyuelaii.desensitize.core;
 
 import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.FieldPathTrie;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
 import io.github.zhengyuelaii.desensitize.core.util.ClassAnalyzer;
-import io.github.zhengyuelaii.desensitize.core.util.FieldMeta;
+import io.github.zhengyuelaii.desensitize.core.util.ClassPlan;
+import io.github.zhengyuelaii.desensitize.core.util.ContainerAdapter;
 import io.github.zhengyuelaii.desensitize.core.util.MaskingDataResolver;
+import io.github.zhengyuelaii.desensitize.core.util.SingleFlightCache;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 数据脱敏核心处理类
@@ -22,18 +25,60 @@ import java.util.concurrent.ConcurrentHashMap;
 public class EasyDesensitize {
 
     /**
-     * 全局软引用缓存（二级缓存）
+     * 全局缓存（二级缓存）
+     * <p>
+     * 同一个类在并发首次访问时只会被分析一次，其余线程等待并共享分析结果。
+     * </p>
      */
-    private static final Map<Class<?>, List<FieldMeta>> GLOBAL_CACHE = new ConcurrentHashMap<>();
+    private static final SingleFlightCache<Class<?>, ClassPlan> GLOBAL_CACHE = new SingleFlightCache<>();
 
     /**
      * 清空全局缓存
      *
-     * <p>该方法用于清空应用程序中的全局缓存，释放所有缓存的数据，
+     * <p>该方法用于清空应用程序中的全局缓存（类脱敏计划与各类声明字段的元数据片段），释放所有缓存的数据，
      * 通常在需要重置缓存状态或释放内存资源时调用。</p>
      */
     public static void clearCache() {
         GLOBAL_CACHE.clear();
+        ClassAnalyzer.clearCache();
+    }
+
+    /**
+     * 设置对象图遍历的全局限制
+     *
+     * <p>遍历基于显式栈实现，深层结构（长链表、深层嵌套树）不会耗尽线程栈；
+     * 限制用于防御异常庞大或构造恶意的对象图。超出限制时抛出 {@link IllegalStateException}，
+     * 已处理的字段保持脱敏后的状态。默认不限制。</p>
+     *
+     * @param maxDepth 最大嵌套深度（每层数组、集合、Map 或含嵌套字段的 Bean 计为一层），必须大于 0
+     * @param maxNodes 单次调用最多访问的对象数（不含 String、数值、枚举、日期时间等叶子值），必须大于 0
+     */
+    public static void setTraversalLimits(int maxDepth, int maxNodes) {
+        if (maxDepth <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Traversal limits must be positive, got maxDepth=%d, maxNodes=%d", maxDepth, maxNodes));
+        }
+        MaskingContext.setLimits(maxDepth, maxNodes);
+    }
+
+    /**
+     * 注册容器适配器
+     *
+     * <p>遍历到该类型（或其子类型）的对象时，通过适配器取出内容继续遍历，而不是按 Bean 反射其字段。
+     * 框架内置了 {@link java.util.Optional} 与 {@link java.util.concurrent.atomic.AtomicReference} 的适配器，
+     * 同一类型重复注册时后者生效。注册会清空全局缓存，应在应用启动阶段完成。</p>
+     *
+     * @param type    容器类型
+     * @param adapter 适配器
+     * @param <T>     容器类型
+     */
+    public static <T> void registerContainerAdapter(Class<T> type, ContainerAdapter<? super T> adapter) {
+        if (type == null || adapter == null) {
+            throw new IllegalArgumentException("Container type and adapter must not be null");
+        }
+        NodeKind.register(type, adapter);
+        // 已缓存计划中的内联缓存可能记录了旧的分类
+        GLOBAL_CACHE.clear();
     }
 
     /**
@@ -147,159 +192,89 @@ public class EasyDesensitize {
      * @param <T>            原始数据类型
      * @param data           待脱敏的数据对象（支持 Bean / Collection / Map）
      * @param resolver       数据解析器，用于从包装对象中提取真实脱敏目标，可为 {@code null}
-     * @param handlerMap     字段级脱敏处理器映射表，Key 为字段名，可为 {@code null}
-     * @param excludeFields  需要跳过脱敏的字段名集合（字段名级别），可为 {@code null}
+     * @param handlerMap     字段级脱敏处理器映射表，Key 为字段名，可为 {@code null}；
+     *                       按命名约定匹配时可传入 {@link PatternHandlerMap}
+     * @param excludeFields  需要跳过脱敏的字段名集合（字段名级别），可为 {@code null}；
+     *                       每次调用内按类解析为位图，同一类在本次调用中只解析一次；调用期间不应修改，调用之间可自由修改
      * @param useGlobalCache 是否启用全局字段元数据缓存
      * @throws RuntimeException 当 Map 的 Key 不是 String 类型时抛出
      */
     public static <T> void mask(T data, MaskingDataResolver<T> resolver, Map<String, MaskingHandler> handlerMap,
                                 Set<String> excludeFields, boolean useGlobalCache) {
-        mask(null == resolver ? data : resolver.resolve(data), handlerMap, excludeFields, new HashMap<>(), Collections.newSetFromMap(new IdentityHashMap<>()), useGlobalCache);
-    }
-
-    private static void mask(Object data, Map<String, MaskingHandler> handlerMap,
-                             Set<String> excludeFields, Map<Class<?>, List<FieldMeta>> localCache, Set<Object> visited, boolean useGlobalCache) {
-        if (data == null) {
+        Object target = null == resolver ? data : resolver.resolve(data);
+        if (target == null) {
             return;
         }
-
-        // 防止循环引用
-        if (!visited.add(data)) {
-            return;
-        }
-
-        // 执行脱敏
-        if (data.getClass().isArray()) {
-            maskIterator(Arrays.asList((Object[]) data).iterator(), handlerMap, excludeFields, localCache, visited, useGlobalCache);
-        } else if (data instanceof Iterator) {
-            maskIterator((Iterator<?>) data, handlerMap, excludeFields, localCache, visited, useGlobalCache);
-        } else if (data instanceof Collection) {
-            maskIterator(((Collection<?>) data).iterator(), handlerMap, excludeFields, localCache, visited, useGlobalCache);
-        } else if (data instanceof Map) {
-            maskMap((Map<?, Object>) data, handlerMap, excludeFields, localCache, visited, useGlobalCache);
-        } else {
-            maskBean(data, handlerMap, excludeFields, localCache, visited, useGlobalCache);
+        // 遍历状态按线程复用，避免每次调用重新分配缓存与已访问集合
+        MaskingContext context = MaskingContext.acquire(handlerMap, excludeFields, useGlobalCache);
+        try {
+            context.mask(target);
+        } finally {
+            context.release();
         }
     }
 
-    private static void maskIterator(Iterator<?> iterator, Map<String, MaskingHandler> hendlerMap, Set<String> excludeFields,
-                                     Map<Class<?>, List<FieldMeta>> localCache, Set<Object> visited, boolean useGlobalCache) {
-        while (iterator.hasNext()) {
-            mask(iterator.next(), hendlerMap, excludeFields, localCache, visited, useGlobalCache);
-        }
-    }
-
-    private static void maskMap(Map<?, Object> data, Map<String, MaskingHandler> handlerMap, Set<String> excludeFields,
-                                Map<Class<?>, List<FieldMeta>> localCache, Set<Object> visited, boolean useGlobalCache) {
-        for (Map.Entry<?, Object> entry : data.entrySet()) {
-            Object key = entry.getKey();
-            // 核心拦截逻辑
-            if (key != null && !(key instanceof String)) {
-                throw new RuntimeException(String.format(
-                        "Unsupported Map Key type: The desensitization engine requires Map keys to be of type java.lang.String, but found [%s] with value [%s].",
-                        key.getClass().getName(), key));
-            }
-
-            if (null != excludeFields && excludeFields.contains((String) key)) {
-                // 跳过脱敏
-                continue;
-            }
-
-            Object value = entry.getValue();
-            if (value == null)
-                continue;
-
-            String keyStr = (String) key;
-
-            // 逻辑：命中配置则脱敏，未命中则递归探测 Value 内部
-            if (handlerMap != null && handlerMap.containsKey(keyStr)) {
-                if (value instanceof String) {
-                    String maskedValue = handlerMap.get(keyStr).getMaskingValue((String) value);
-                    ((Map<Object, Object>) data).put(key, maskedValue);
-                } else {
-                    mask(value, handlerMap, excludeFields, localCache, visited, useGlobalCache);
-                }
-            } else {
-                // 即使 Key 没匹配上，Value 本身可能是一个包含 @MaskingField 的 Bean
-                mask(value, handlerMap, excludeFields, localCache, visited, useGlobalCache);
-            }
-        }
+    /**
+     * 按字段路径规则对数据进行脱敏处理。
+     *
+     * <p>等价于调用 {@link #mask(Object, FieldPathTrie, boolean)} 并启用全局缓存。</p>
+     *
+     * @param data  待脱敏的数据对象
+     * @param rules 字段路径规则树
+     * @see #mask(Object, FieldPathTrie, boolean)
+     */
+    public static void mask(Object data, FieldPathTrie rules) {
+        mask(data, rules, true);
     }
 
-    private static void maskBean(Object data, Map<String, MaskingHandler> handlerMap, Set<String> excludeFields,
-                                 Map<Class<?>, List<FieldMeta>> localCache, Set<Object> visited, boolean useGlobalCache) {
-        Class<?> clazz = data.getClass();
-        // 从缓存获取该类的脱敏元数据
-        List<FieldMeta> metas = getFieldMetaList(clazz, localCache, useGlobalCache);
-
-        for (FieldMeta meta : metas) {
-            try {
-                if (null != excludeFields && excludeFields.contains(meta.getField().getName())) {
-                    // 跳过脱敏
-                    continue;
-                }
-
-                Object value = meta.getField().get(data);
-                if (value == null) {
-                    continue;
-                }
-
-                if (meta.isNested() && !(value instanceof String)) {
-                    // 如果是嵌套对象或集合，递归处理
-                    mask(value, handlerMap, excludeFields, localCache, visited, useGlobalCache);
-                } else if (value instanceof String) {
-                    String name = meta.getField().getName(), maskedValue = (String) value;
-                    // 逻辑：命中配置则脱敏，未命中则使用字段类型处理器
-                    if (handlerMap != null && handlerMap.containsKey(name)) {
-                        maskedValue = handlerMap.get(name).getMaskingValue((String) value);
-                    } else if (meta.getTypeHandler() != null) {
-                        maskedValue = meta.getTypeHandler().getMaskingValue((String) value);
-                    }
-                    if (!Objects.equals(value, maskedValue)) {
-                        meta.getField().set(data, maskedValue);
-                    }
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throwSneaky(e);
-            }
+    /**
+     * 按字段路径规则对数据进行脱敏处理。
+     *
+     * <p>遍历沿规则树逐层下探：</p>
+     * <ul>
+     *   <li>路径命中的字段（或 Map Key）使用规则中声明的处理器，优先级高于字段注解</li>
+     *   <li>被访问到的 Bean 上未命中路径的注解字段仍按注解脱敏</li>
+     *   <li>未被任何路径覆盖的嵌套对象、集合整体跳过，不会被访问</li>
+     *   <li>被排除的路径及其子树不参与任何脱敏逻辑</li>
+     *   <li>同一对象经多条路径可达时，其注解字段只脱敏一次</li>
+     * </ul>
+     *
+     * <p>遍历基于显式栈实现，同样受 {@link #setTraversalLimits(int, int)} 的限制。</p>
+     *
+     * @param data           待脱敏的数据对象
+     * @param rules          字段路径规则树
+     * @param useGlobalCache 是否启用全局字段元数据缓存
+     * @throws RuntimeException 当 Map 的 Key 不是 String 类型时抛出
+     */
+    public static void mask(Object data, FieldPathTrie rules, boolean useGlobalCache) {
+        if (rules == null) {
+            mask(data, null, null, null, useGlobalCache);
+            return;
         }
+        new PathMaskingContext(rules, useGlobalCache).mask(data, rules.root());
     }
 
-    private static List<FieldMeta> getFieldMetaList(Class<?> clazz, Map<Class<?>, List<FieldMeta>> localCache, boolean useGlobalCache) {
-        List<FieldMeta> metas = null;
+    static ClassPlan getClassPlan(Class<?> clazz, Map<Class<?>, ClassPlan> localCache, boolean useGlobalCache) {
+        ClassPlan plan = null;
 
         // 优先从局部缓存获取
         if (localCache != null) {
-            metas = localCache.get(clazz);
-        }
-
-        // 局部缓存未命中并且开启全局缓存，从全局缓存中获取
-        if (metas == null && useGlobalCache) {
-            metas = GLOBAL_CACHE.get(clazz);
-            if (metas != null) {
-                if (localCache != null) {
-                    localCache.put(clazz, metas);
-                }
-                return metas;
-            }
+            plan = localCache.get(clazz);
         }
 
-        // 缓存未命中，执行分析
-        if (metas == null) {
-            metas = ClassAnalyzer.analyze(clazz);
+        // 局部缓存未命中，开启全局缓存时由全局缓存加载（单飞），否则直接分析且不读写任何全局缓存
+        if (plan == null) {
+            plan = useGlobalCache ? GLOBAL_CACHE.get(clazz, ClassAnalyzer::plan) : ClassAnalyzer.plan(clazz, false);
             if (localCache != null) {
-                localCache.put(clazz, metas);
-            }
-            if (useGlobalCache) {
-                GLOBAL_CACHE.put(clazz, metas);
+                localCache.put(clazz, plan);
             }
         }
 
-        return metas;
+        return plan;
     }
 
     @SuppressWarnings("unchecked")
-    private static <E extends Throwable> void throwSneaky(Throwable e) throws E {
+    static <E extends Throwable> void throwSneaky(Throwable e) throws E {
         throw (E) e; // 利用泛型擦除，编译器在运行时会把它当成 RuntimeException 抛出
     }
 
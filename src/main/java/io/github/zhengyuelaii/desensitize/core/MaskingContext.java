@@ -0,0 +1,646 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import io.github.zhengyuelaii.desensitize.core.util.ClassPlan;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 单次脱敏调用的遍历状态
+ * <p>
+ * 包含局部元数据缓存（一级缓存）、防循环引用的已访问集合与显式遍历栈。实例按线程池化复用，
+ * 每次调用结束后清空；若某次调用使容器膨胀超过阈值，则丢弃并重新创建，避免长期占用内存。
+ * </p>
+ * <p>
+ * 两个容器均基于 {@link IdentityHashMap}（开放寻址，写入不分配节点对象），
+ * 因此复用后对单个 Bean 的脱敏除脱敏结果字符串外不再产生额外分配。
+ * </p>
+ * <p>
+ * 处理器内部再次调用 {@code EasyDesensitize.mask} 时，池中实例正在使用，
+ * 此时会创建一个临时实例，互不干扰。虚拟线程下 {@link ThreadLocal} 归属于虚拟线程本身而非载体线程，
+ * 同样不会串用。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class MaskingContext {
+
+    /**
+     * 已访问集合的预估容量
+     */
+    private static final int VISITED_EXPECTED_SIZE = 64;
+
+    /**
+     * 局部元数据缓存的预估容量
+     */
+    private static final int CLASS_CACHE_EXPECTED_SIZE = 16;
+
+    /**
+     * 超过该数量后，调用结束时丢弃容器而非清空复用
+     */
+    static final int MAX_RETAINED_SIZE = 1024;
+
+    /**
+     * 遍历栈的初始深度
+     */
+    private static final int STACK_EXPECTED_DEPTH = 16;
+
+    /**
+     * 排除位图缓存中表示"没有字段被排除"的值
+     */
+    private static final long[] NOT_EXCLUDED = new long[0];
+
+    private static final ThreadLocal<MaskingContext> POOL = ThreadLocal.withInitial(MaskingContext::new);
+
+    /**
+     * 全局遍历限制，由 {@link EasyDesensitize#setTraversalLimits(int, int)} 设置，每次调用开始时读取
+     */
+    static volatile int defaultMaxDepth = Integer.MAX_VALUE;
+
+    static volatile int defaultMaxNodes = Integer.MAX_VALUE;
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    private Set<String> excludeFields;
+
+    private boolean useGlobalCache;
+
+    private boolean inUse;
+
+    private int maxDepth;
+
+    private int maxNodes;
+
+    /**
+     * 显式遍历栈，栈帧对象在调用间复用
+     */
+    private Frame[] stack = new Frame[STACK_EXPECTED_DEPTH];
+
+    private int depth;
+
+    IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>(VISITED_EXPECTED_SIZE);
+
+    IdentityHashMap<Class<?>, ClassPlan> localCache = new IdentityHashMap<>(CLASS_CACHE_EXPECTED_SIZE);
+
+    /**
+     * 本次调用内各计划的排除位图，调用结束即清空，集合在调用之间的修改总能生效
+     */
+    private IdentityHashMap<ClassPlan, long[]> excludeMasks = new IdentityHashMap<>(CLASS_CACHE_EXPECTED_SIZE);
+
+    /**
+     * 获取当前线程的遍历状态
+     *
+     * @param handlerMap     字段级脱敏处理器映射表
+     * @param excludeFields  需要跳过脱敏的字段名集合
+     * @param useGlobalCache 是否启用全局字段元数据缓存
+     * @return 遍历状态，使用完毕后必须调用 {@link #release()}
+     */
+    static MaskingContext acquire(Map<String, MaskingHandler> handlerMap, Set<String> excludeFields, boolean useGlobalCache) {
+        MaskingContext context = POOL.get();
+        if (context.inUse) {
+            // 重入调用（如处理器内部再次脱敏），使用临时实例
+            context = new MaskingContext();
+        }
+        context.inUse = true;
+        context.handlerMap = handlerMap;
+        // 空集合与 null 等价，遍历时可直接跳过排除检查
+        context.excludeFields = excludeFields == null || excludeFields.isEmpty() ? null : excludeFields;
+        context.useGlobalCache = useGlobalCache;
+        context.maxDepth = defaultMaxDepth;
+        context.maxNodes = defaultMaxNodes;
+        return context;
+    }
+
+    /**
+     * 设置全局遍历限制
+     *
+     * @param maxDepth 最大嵌套深度（栈帧数）
+     * @param maxNodes 单次调用最多访问的对象数
+     */
+    static void setLimits(int maxDepth, int maxNodes) {
+        defaultMaxDepth = maxDepth;
+        defaultMaxNodes = maxNodes;
+    }
+
+    /**
+     * 归还遍历状态，清空本次调用留下的数据
+     */
+    void release() {
+        if (visited.size() > MAX_RETAINED_SIZE) {
+            visited = new IdentityHashMap<>(VISITED_EXPECTED_SIZE);
+        } else {
+            visited.clear();
+        }
+        if (localCache.size() > MAX_RETAINED_SIZE) {
+            localCache = new IdentityHashMap<>(CLASS_CACHE_EXPECTED_SIZE);
+        } else {
+            localCache.clear();
+        }
+        if (excludeMasks.size() > MAX_RETAINED_SIZE) {
+            excludeMasks = new IdentityHashMap<>(CLASS_CACHE_EXPECTED_SIZE);
+        } else {
+            excludeMasks.clear();
+        }
+        // 异常中断时栈中可能残留栈帧
+        while (depth > 0) {
+            pop();
+        }
+        if (stack.length > MAX_RETAINED_SIZE) {
+            stack = new Frame[STACK_EXPECTED_DEPTH];
+        }
+        handlerMap = null;
+        excludeFields = null;
+        inUse = false;
+    }
+
+    /**
+     * 遍历以 {@code data} 为根的对象图并脱敏
+     * <p>
+     * 使用显式栈代替递归：每个待展开的数组、集合、Map、容器与 Bean 对应一个栈帧，栈帧记录遍历进度，
+     * 子节点入栈后优先处理，因此访问顺序与深度优先递归完全一致（包括迭代器的惰性消费顺序与循环引用的判定）。
+     * 对象图的深度只受 {@link #maxDepth} 限制，不会耗尽线程栈。
+     * </p>
+     * <p>
+     * 不含嵌套字段的 Bean 处理完即返回、不入栈，容器帧在自身循环内连续处理这类元素，
+     * 因此 {@code List<User>} 这类同构集合的脱敏是对同一计划的紧凑循环。
+     * </p>
+     *
+     * @param data 根对象
+     */
+    void mask(Object data) {
+        if (data == null) {
+            return;
+        }
+        int base = depth;
+        enter(data);
+        while (depth > base) {
+            Frame frame = stack[depth - 1];
+            if (!advance(frame)) {
+                pop();
+            }
+        }
+    }
+
+    /**
+     * 访问一个非空对象：按类型分类，检查循环引用与节点数后入栈
+     *
+     * @return 有新栈帧入栈时返回 {@code true}
+     */
+    private boolean enter(Object data) {
+        NodeKind kind = NodeKind.of(data.getClass());
+        if (kind.kind == NodeKind.BEAN) {
+            return visitBean(data, EasyDesensitize.getClassPlan(data.getClass(), localCache, useGlobalCache));
+        }
+        // 叶子值不含可脱敏内容，不进入已访问集合
+        if (kind.kind == NodeKind.LEAF || visited.put(data, Boolean.TRUE) != null) {
+            return false;
+        }
+        checkNodeCount();
+
+        switch (kind.kind) {
+            case NodeKind.ARRAY:
+                push(Frame.ARRAY, data).array = (Object[]) data;
+                break;
+            case NodeKind.ITERATOR:
+                push(Frame.ITERATOR, data).iterator = (Iterator<?>) data;
+                break;
+            case NodeKind.LIST:
+                // 随机访问列表按下标遍历，不创建迭代器
+                push(Frame.LIST, data);
+                break;
+            case NodeKind.COLLECTION:
+                push(Frame.ITERATOR, data).iterator = ((Collection<?>) data).iterator();
+                break;
+            case NodeKind.MAP:
+                push(Frame.MAP, data).iterator = ((Map<?, ?>) data).entrySet().iterator();
+                break;
+            default:
+                // 容器的内容作为唯一的子节点入栈，嵌套容器同样不会耗尽线程栈
+                Object contents = kind.adapter.unwrap(data);
+                if (contents == null) {
+                    return false;
+                }
+                push(Frame.CONTAINER, contents);
+        }
+        return true;
+    }
+
+    /**
+     * 运行时类型对应的计划：Bean 返回其计划（可能为空计划），叶子类型返回 {@link ClassPlan#EMPTY}，
+     * 其余类型返回 {@link ClassPlan#DISPATCH}
+     */
+    private ClassPlan planOf(Class<?> type) {
+        switch (NodeKind.of(type).kind) {
+            case NodeKind.BEAN:
+                return EasyDesensitize.getClassPlan(type, localCache, useGlobalCache);
+            case NodeKind.LEAF:
+                return ClassPlan.EMPTY;
+            default:
+                return ClassPlan.DISPATCH;
+        }
+    }
+
+    /**
+     * 访问计划已知的 Bean：检查循环引用与节点数后处理
+     *
+     * @return 有新栈帧入栈时返回 {@code true}
+     */
+    private boolean visitBean(Object data, ClassPlan plan) {
+        // 没有可处理字段的 Bean 与叶子值一样直接跳过；防止循环引用
+        if (plan.isEmpty() || visited.put(data, Boolean.TRUE) != null) {
+            return false;
+        }
+        checkNodeCount();
+        return enterBean(data, plan);
+    }
+
+    /**
+     * 处理 Bean 的注解字段与规则字段，存在嵌套字段时入栈等待展开
+     *
+     * @return 有新栈帧入栈时返回 {@code true}
+     */
+    private boolean enterBean(Object data, ClassPlan plan) {
+        if (plan.isEmpty()) {
+            return false;
+        }
+        // 排除字段按类解析为位图，没有字段被排除时为 null，逐字段检查退化为一次判空
+        long[] excluded = excludeFields == null ? null : excludeMaskOf(plan);
+
+        try {
+            // 注解字段：声明类型为 String，handlerMap 中的配置优先
+            int handlerMapStart = plan.handlerMapStart();
+            for (int i = 0; i < handlerMapStart; i++) {
+                if (ClassPlan.isExcluded(excluded, i)) {
+                    continue;
+                }
+                String value = (String) plan.field(i).get(data);
+                if (value != null) {
+                    MaskingHandler handler = lookupHandler(plan, i);
+                    maskField(data, plan, i, value, handler != null ? handler : plan.typeHandler(i));
+                }
+            }
+
+            // 规则字段：只有配置了处理器时才读取字段值
+            int nestedStart = plan.nestedStart();
+            if (handlerMap != null) {
+                for (int i = handlerMapStart; i < nestedStart; i++) {
+                    if (ClassPlan.isExcluded(excluded, i)) {
+                        continue;
+                    }
+                    MaskingHandler handler = lookupHandler(plan, i);
+                    if (handler == null) {
+                        continue;
+                    }
+                    Object value = plan.field(i).get(data);
+                    if (value instanceof String) {
+                        maskField(data, plan, i, (String) value, handler);
+                    }
+                }
+            }
+
+            if (nestedStart < plan.size()) {
+                Frame frame = push(Frame.BEAN, data);
+                frame.plan = plan;
+                frame.excluded = excluded;
+                frame.index = nestedStart;
+                return true;
+            }
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            EasyDesensitize.throwSneaky(e);
+        }
+        return false;
+    }
+
+    /**
+     * 推进栈顶帧，直到有子节点入栈或帧遍历结束
+     *
+     * @return 帧尚未结束时返回 {@code true}
+     */
+    private boolean advance(Frame frame) {
+        switch (frame.kind) {
+            case Frame.ARRAY:
+                return advanceArray(frame);
+            case Frame.LIST:
+                return advanceList(frame);
+            case Frame.ITERATOR:
+                return advanceIterator(frame);
+            case Frame.MAP:
+                return advanceMap(frame);
+            case Frame.CONTAINER:
+                return advanceContainer(frame);
+            default:
+                return advanceBean(frame);
+        }
+    }
+
+    private boolean advanceArray(Frame frame) {
+        Object[] array = frame.array;
+        while (frame.index < array.length) {
+            Object element = array[frame.index++];
+            if (element != null && enterElement(frame, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean advanceList(Frame frame) {
+        List<?> list = (List<?>) frame.target;
+        // 每轮重新读取 size，与迭代器遍历时对列表长度的感知一致
+        while (frame.index < list.size()) {
+            Object element = list.get(frame.index++);
+            if (element != null && enterElement(frame, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean advanceIterator(Frame frame) {
+        Iterator<?> iterator = frame.iterator;
+        while (iterator.hasNext()) {
+            Object element = iterator.next();
+            if (element != null && enterElement(frame, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean advanceContainer(Frame frame) {
+        Object contents = frame.target;
+        if (contents == null) {
+            return false;
+        }
+        frame.target = null;
+        return enter(contents);
+    }
+
+    /**
+     * 访问容器元素，帧内记录上一个元素的类型与计划，类型不变时跳过类型分派与元数据缓存查询
+     *
+     * @return 有新栈帧入栈时返回 {@code true}
+     */
+    private boolean enterElement(Frame frame, Object element) {
+        Class<?> type = element.getClass();
+        ClassPlan plan = frame.elementPlan;
+        if (type != frame.elementType) {
+            plan = planOf(type);
+            frame.elementType = type;
+            frame.elementPlan = plan;
+        }
+        return plan == ClassPlan.DISPATCH ? enter(element) : visitBean(element, plan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean advanceMap(Frame frame) {
+        Iterator<Map.Entry<?, Object>> iterator = (Iterator<Map.Entry<?, Object>>) frame.iterator;
+        while (iterator.hasNext()) {
+            Map.Entry<?, Object> entry = iterator.next();
+            Object key = entry.getKey();
+            // 核心拦截逻辑
+            if (key != null && !(key instanceof String)) {
+                throw new RuntimeException(String.format(
+                        "Unsupported Map Key type: The desensitization engine requires Map keys to be of type java.lang.String, but found [%s] with value [%s].",
+                        key.getClass().getName(), key));
+            }
+
+            if (null != excludeFields && excludeFields.contains((String) key)) {
+                // 跳过脱敏
+                continue;
+            }
+
+            Object value = entry.getValue();
+            if (value == null)
+                continue;
+
+            MaskingHandler handler = handlerMap == null ? null : handlerMap.get(key);
+
+            // 逻辑：命中配置则脱敏，未命中则展开 Value 内部
+            if (handler != null && value instanceof String) {
+                String maskedValue = handler.getMaskingValue((String) value);
+                ((Map<Object, Object>) frame.target).put(key, maskedValue);
+            } else {
+                // 即使 Key 没匹配上，Value 本身可能是一个包含 @MaskingField 的 Bean
+                if (enter(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 嵌套字段：运行时为 String 的泛型字段按 handlerMap 处理，其余值展开
+     */
+    private boolean advanceBean(Frame frame) {
+        ClassPlan plan = frame.plan;
+        Object data = frame.target;
+        try {
+            for (int size = plan.size(); frame.index < size; ) {
+                int i = frame.index++;
+                if (ClassPlan.isExcluded(frame.excluded, i)) {
+                    continue;
+                }
+                Object value = plan.field(i).get(data);
+                if (value instanceof String) {
+                    MaskingHandler handler = lookupHandler(plan, i);
+                    if (handler != null) {
+                        maskField(data, plan, i, (String) value, handler);
+                    }
+                } else if (value != null && enterNested(plan, i, value)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            EasyDesensitize.throwSneaky(e);
+        }
+        return false;
+    }
+
+    /**
+     * 展开嵌套字段的值，内联缓存命中 Bean 类型时跳过类型分派与元数据缓存查询
+     *
+     * @return 有新栈帧入栈时返回 {@code true}
+     */
+    private boolean enterNested(ClassPlan plan, int index, Object value) {
+        Class<?> type = value.getClass();
+        ClassPlan target = plan.cachedPlan(index, type);
+        if (target == null) {
+            target = planOf(type);
+            plan.cachePlan(index, type, target);
+        }
+        if (target != ClassPlan.DISPATCH) {
+            return visitBean(value, target);
+        }
+        if (!enter(value)) {
+            return false;
+        }
+        Class<?> elementType = plan.elementType(index);
+        if (elementType != null) {
+            seedElementPlan(plan, index, elementType, value);
+        }
+        return true;
+    }
+
+    /**
+     * 字段声明的元素类型为 final 的 Bean 类时，预先填入刚入栈的容器帧的元素缓存
+     * <p>
+     * 元素缓存按实际类型校验，即使通过未检查转换放入了其他类型的元素也只会退回正常查找。
+     * </p>
+     */
+    private void seedElementPlan(ClassPlan plan, int index, Class<?> elementType, Object container) {
+        Frame frame = stack[depth - 1];
+        boolean elementFrame = frame.kind == Frame.ARRAY || frame.kind == Frame.LIST || frame.kind == Frame.ITERATOR;
+        if (!elementFrame || frame.target != container) {
+            return;
+        }
+        ClassPlan elementPlan = plan.elementPlan(index);
+        if (elementPlan == null) {
+            elementPlan = planOf(elementType);
+            plan.cacheElementPlan(index, elementPlan);
+        }
+        frame.elementType = elementType;
+        frame.elementPlan = elementPlan;
+    }
+
+    /**
+     * 获取计划在本次调用中的排除位图，每个计划只解析一次
+     */
+    private long[] excludeMaskOf(ClassPlan plan) {
+        long[] mask = excludeMasks.get(plan);
+        if (mask == null) {
+            mask = plan.excludeMask(excludeFields);
+            excludeMasks.put(plan, mask == null ? NOT_EXCLUDED : mask);
+        }
+        return mask == NOT_EXCLUDED ? null : mask;
+    }
+
+    private void checkNodeCount() {
+        // 已访问集合的大小即本次调用访问过的节点数
+        if (visited.size() > maxNodes) {
+            throw new IllegalStateException(String.format(
+                    "Masking traversal exceeded the maximum of %d nodes, see EasyDesensitize.setTraversalLimits", maxNodes));
+        }
+    }
+
+    private Frame push(int kind, Object target) {
+        if (depth == maxDepth) {
+            throw new IllegalStateException(String.format(
+                    "Masking traversal exceeded the maximum depth of %d, see EasyDesensitize.setTraversalLimits", maxDepth));
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        Frame frame = stack[depth];
+        if (frame == null) {
+            frame = stack[depth] = new Frame();
+        }
+        depth++;
+        frame.kind = kind;
+        frame.target = target;
+        frame.index = 0;
+        return frame;
+    }
+
+    private void pop() {
+        stack[--depth].clear();
+    }
+
+    private static void maskField(Object data, ClassPlan plan, int index, String value, MaskingHandler handler)
+            throws IllegalAccessException {
+        String maskedValue = handler.getMaskingValue(value);
+        if (!Objects.equals(value, maskedValue)) {
+            plan.field(index).set(data, maskedValue);
+        }
+    }
+
+    /**
+     * 查找字段在 {@code handlerMap} 中配置的处理器
+     * <p>
+     * 通配符 / 正则规则表的匹配结果缓存在类脱敏计划中，避免每个值都重新匹配。
+     * </p>
+     */
+    private MaskingHandler lookupHandler(ClassPlan plan, int index) {
+        if (handlerMap == null) {
+            return null;
+        }
+        if (handlerMap instanceof PatternHandlerMap) {
+            return plan.patternHandler((PatternHandlerMap) handlerMap, index);
+        }
+        return handlerMap.get(plan.name(index));
+    }
+
+
+    /**
+     * 遍历栈帧，按类型记录遍历进度
+     */
+    private static final class Frame {
+
+        static final int ARRAY = 0;
+
+        static final int ITERATOR = 1;
+
+        static final int MAP = 2;
+
+        static final int BEAN = 3;
+
+        /**
+         * 实现了 {@link java.util.RandomAccess} 的列表，按下标遍历
+         */
+        static final int LIST = 4;
+
+        /**
+         * 适配器展开的容器，{@link #target} 为尚未访问的内容
+         */
+        static final int CONTAINER = 5;
+
+        int kind;
+
+        /**
+         * 正在遍历的对象（Map 帧用于写回，Bean 帧用于读写字段，容器帧为待访问的内容）
+         */
+        Object target;
+
+        Object[] array;
+
+        Iterator<?> iterator;
+
+        ClassPlan plan;
+
+        long[] excluded;
+
+        /**
+         * 数组 / 列表下标或 Bean 字段下标
+         */
+        int index;
+
+        /**
+         * 容器帧中上一个元素的类型及其计划（非 Bean 类型为 {@link ClassPlan#DISPATCH}）
+         */
+        Class<?> elementType;
+
+        ClassPlan elementPlan;
+
+        void clear() {
+            target = null;
+            array = null;
+            iterator = null;
+            plan = null;
+            excluded = null;
+            elementType = null;
+            elementPlan = null;
+        }
+    }
+
+}
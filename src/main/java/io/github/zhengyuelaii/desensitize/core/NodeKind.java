@@ -0,0 +1,164 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.util.ClassAnalyzer;
+import io.github.zhengyuelaii.desensitize.core.util.ContainerAdapter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 对象图节点的类型分类
+ * <p>
+ * 每个运行时类型只分类一次，结果随类本身保存在 {@link ClassValue} 中。叶子类型（String、数值、枚举、
+ * 日期时间等 JDK 值类型与基本类型数组）在遍历时直接跳过，不进入已访问集合，也不查询元数据缓存。
+ * </p>
+ * <p>
+ * 注册容器适配器后分类版本号递增，已缓存的分类在下次查询时重新计算。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class NodeKind {
+
+    static final int LEAF = 0;
+
+    static final int BEAN = 1;
+
+    static final int ARRAY = 2;
+
+    static final int ITERATOR = 3;
+
+    /**
+     * 实现了 {@link RandomAccess} 的列表
+     */
+    static final int LIST = 4;
+
+    static final int COLLECTION = 5;
+
+    static final int MAP = 6;
+
+    /**
+     * 通过 {@link ContainerAdapter} 展开的容器
+     */
+    static final int CONTAINER = 7;
+
+    private static final Map<Class<?>, ContainerAdapter<?>> ADAPTERS = new ConcurrentHashMap<>();
+
+    private static volatile int version;
+
+    private static final ClassValue<NodeKind> KINDS = new ClassValue<NodeKind>() {
+        @Override
+        protected NodeKind computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+
+    static {
+        ADAPTERS.put(Optional.class, (ContainerAdapter<Optional<?>>) optional -> optional.orElse(null));
+        ADAPTERS.put(AtomicReference.class, (ContainerAdapter<AtomicReference<?>>) AtomicReference::get);
+    }
+
+    /**
+     * 分类，取值为本类中的常量
+     */
+    final int kind;
+
+    /**
+     * {@link #CONTAINER} 类型的适配器，其余为 {@code null}
+     */
+    final ContainerAdapter<Object> adapter;
+
+    private final int classifiedVersion;
+
+    private NodeKind(int kind, ContainerAdapter<Object> adapter, int classifiedVersion) {
+        this.kind = kind;
+        this.adapter = adapter;
+        this.classifiedVersion = classifiedVersion;
+    }
+
+    /**
+     * 获取运行时类型的分类
+     *
+     * @param type 运行时类型
+     * @return 分类
+     */
+    static NodeKind of(Class<?> type) {
+        NodeKind kind = KINDS.get(type);
+        if (kind.classifiedVersion != version) {
+            KINDS.remove(type);
+            kind = KINDS.get(type);
+        }
+        return kind;
+    }
+
+    /**
+     * 注册容器适配器，对该类型及其子类型生效
+     *
+     * @param type    容器类型
+     * @param adapter 适配器
+     */
+    static synchronized void register(Class<?> type, ContainerAdapter<?> adapter) {
+        ADAPTERS.put(type, adapter);
+        version++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NodeKind classify(Class<?> type) {
+        // 先读取版本号再查找适配器，并发注册时最多多算一次
+        int current = version;
+        ContainerAdapter<?> adapter = findAdapter(type);
+        int kind;
+        if (adapter != null) {
+            kind = CONTAINER;
+        } else if (type.isArray()) {
+            kind = type.getComponentType().isPrimitive() ? LEAF : ARRAY;
+        } else if (Iterator.class.isAssignableFrom(type)) {
+            kind = ITERATOR;
+        } else if (List.class.isAssignableFrom(type) && RandomAccess.class.isAssignableFrom(type)) {
+            kind = LIST;
+        } else if (Collection.class.isAssignableFrom(type)) {
+            kind = COLLECTION;
+        } else if (Map.class.isAssignableFrom(type)) {
+            kind = MAP;
+        } else if (Enum.class.isAssignableFrom(type) || ClassAnalyzer.isPrimitiveOrJdkClass(type)) {
+            // JDK 类型没有可分析的字段，枚举常量是全局单例，均不应原地修改
+            kind = LEAF;
+        } else {
+            kind = BEAN;
+        }
+        return new NodeKind(kind, (ContainerAdapter<Object>) adapter, current);
+    }
+
+    /**
+     * 按类本身、父类、接口的顺序查找最近注册的适配器
+     */
+    private static ContainerAdapter<?> findAdapter(Class<?> type) {
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            ContainerAdapter<?> adapter = ADAPTERS.get(current);
+            if (adapter != null) {
+                return adapter;
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            for (Class<?> face : current.getInterfaces()) {
+                pending.add(face);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,318 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.FieldPathTrie;
+import io.github.zhengyuelaii.desensitize.core.util.ClassPlan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 按字段路径规则脱敏的单次调用遍历状态
+ * <p>
+ * 与 {@link MaskingContext} 一样基于显式栈遍历，深层结构不会耗尽线程栈，并遵守
+ * {@link EasyDesensitize#setTraversalLimits(int, int)} 设置的深度与节点数限制。
+ * </p>
+ * <p>
+ * 去重分两层：同一对象在同一路径节点上只展开一次，用于应用路径规则并防止循环；
+ * 注解字段的脱敏按对象全局记录，对象经多条路径可达时每个注解字段也只脱敏一次。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class PathMaskingContext {
+
+    private final boolean useGlobalCache;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final Map<Class<?>, ClassPlan> localCache = new HashMap<>();
+
+    /**
+     * 按路径节点编号索引的已展开对象集合，按需创建
+     */
+    private final List<Set<Object>> pathVisited;
+
+    /**
+     * 本次调用访问过的所有对象，值为已按注解脱敏的字段下标（无注解字段的对象为 {@code null}）
+     */
+    private final IdentityHashMap<Object, BitSet> nodes = new IdentityHashMap<>();
+
+    private final Deque<Pending> pending = new ArrayDeque<>();
+
+    PathMaskingContext(FieldPathTrie rules, boolean useGlobalCache) {
+        this.useGlobalCache = useGlobalCache;
+        this.maxDepth = MaskingContext.defaultMaxDepth;
+        this.maxNodes = MaskingContext.defaultMaxNodes;
+        this.pathVisited = new ArrayList<>(Collections.<Set<Object>>nCopies(rules.nodeCount(), null));
+    }
+
+    /**
+     * 从规则树根节点开始遍历并脱敏
+     *
+     * @param data 待脱敏的数据对象
+     * @param root 规则树根节点
+     */
+    void mask(Object data, FieldPathTrie.Node root) {
+        push(data, root, 1);
+        while (!pending.isEmpty()) {
+            Pending next = pending.pop();
+            visit(next.data, next.node, next.depth);
+        }
+    }
+
+    private void push(Object data, FieldPathTrie.Node node, int depth) {
+        if (data != null && node != null && !node.isExcluded()) {
+            pending.push(new Pending(data, node, depth));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visit(Object data, FieldPathTrie.Node node, int depth) {
+        NodeKind kind = NodeKind.of(data.getClass());
+        if (kind.kind == NodeKind.LEAF) {
+            return;
+        }
+
+        // 同一对象在同一路径节点上只展开一次
+        Set<Object> visited = pathVisited.get(node.getId());
+        if (visited == null) {
+            visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            pathVisited.set(node.getId(), visited);
+        }
+        if (!visited.add(data)) {
+            return;
+        }
+        checkLimits(data, depth);
+
+        switch (kind.kind) {
+            case NodeKind.CONTAINER:
+                // 容器对路径透明，内容沿用当前路径节点
+                push(kind.adapter.unwrap(data), node, depth + 1);
+                break;
+            case NodeKind.ARRAY:
+                visitArray((Object[]) data, node.elements(), depth + 1);
+                break;
+            case NodeKind.ITERATOR:
+                pushElements((Iterator<?>) data, node.elements(), depth + 1);
+                break;
+            case NodeKind.LIST:
+            case NodeKind.COLLECTION:
+                visitCollection((Collection<Object>) data, node.elements(), depth + 1);
+                break;
+            case NodeKind.MAP:
+                visitMap((Map<?, Object>) data, node, depth);
+                break;
+            default:
+                visitBean(data, node, depth);
+        }
+    }
+
+    private void visitArray(Object[] data, FieldPathTrie.Node elementNode, int depth) {
+        if (elementNode == null || elementNode.isExcluded()) {
+            // 未声明元素规则，整体跳过
+            return;
+        }
+        MaskingHandler handler = elementNode.getHandler();
+        for (int i = 0; i < data.length; i++) {
+            Object element = data[i];
+            if (element instanceof String) {
+                if (handler != null) {
+                    data[i] = handler.getMaskingValue((String) element);
+                }
+            } else {
+                push(element, elementNode, depth);
+            }
+        }
+    }
+
+    /**
+     * 遍历集合元素，字符串元素按元素规则原位替换
+     * <p>
+     * {@link List} 通过 {@link ListIterator#set(Object)} 保持元素位置；其他集合（如 {@link Set}）无法按位置写回，
+     * 遍历结束后移除原值并加入脱敏值。不可修改的集合会抛出 {@link UnsupportedOperationException}。
+     * </p>
+     */
+    private void visitCollection(Collection<Object> data, FieldPathTrie.Node elementNode, int depth) {
+        if (elementNode == null || elementNode.isExcluded()) {
+            return;
+        }
+        MaskingHandler handler = elementNode.getHandler();
+        if (handler == null) {
+            pushElements(data.iterator(), elementNode, depth);
+            return;
+        }
+
+        if (data instanceof List) {
+            ListIterator<Object> iterator = ((List<Object>) data).listIterator();
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+                if (element instanceof String) {
+                    iterator.set(handler.getMaskingValue((String) element));
+                } else {
+                    push(element, elementNode, depth);
+                }
+            }
+            return;
+        }
+
+        List<Object> originals = new ArrayList<>();
+        List<Object> maskedValues = new ArrayList<>();
+        for (Object element : data) {
+            if (element instanceof String) {
+                String maskedValue = handler.getMaskingValue((String) element);
+                if (!Objects.equals(element, maskedValue)) {
+                    originals.add(element);
+                    maskedValues.add(maskedValue);
+                }
+            } else {
+                push(element, elementNode, depth);
+            }
+        }
+        if (!originals.isEmpty()) {
+            data.removeAll(originals);
+            data.addAll(maskedValues);
+        }
+    }
+
+    private void pushElements(Iterator<?> iterator, FieldPathTrie.Node elementNode, int depth) {
+        if (elementNode == null) {
+            // 未声明元素规则，整体跳过
+            return;
+        }
+        while (iterator.hasNext()) {
+            Object element = iterator.next();
+            if (element instanceof String && elementNode.getHandler() != null) {
+                // 迭代器无法写回元素，拒绝而不是静默忽略规则
+                throw new UnsupportedOperationException(
+                        "String elements of an Iterator cannot be masked in place, use a List or an array instead");
+            }
+            push(element, elementNode, depth);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visitMap(Map<?, Object> data, FieldPathTrie.Node node, int depth) {
+        for (Map.Entry<?, Object> entry : data.entrySet()) {
+            Object key = entry.getKey();
+            if (key != null && !(key instanceof String)) {
+                throw new RuntimeException(String.format(
+                        "Unsupported Map Key type: The desensitization engine requires Map keys to be of type java.lang.String, but found [%s] with value [%s].",
+                        key.getClass().getName(), key));
+            }
+
+            FieldPathTrie.Node child = key == null ? null : node.child((String) key);
+            if (child == null || child.isExcluded()) {
+                continue;
+            }
+
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                if (child.getHandler() != null) {
+                    ((Map<Object, Object>) data).put(key, child.getHandler().getMaskingValue((String) value));
+                }
+            } else {
+                push(value, child, depth + 1);
+            }
+        }
+    }
+
+    private void visitBean(Object data, FieldPathTrie.Node node, int depth) {
+        ClassPlan plan = EasyDesensitize.getClassPlan(data.getClass(), localCache, useGlobalCache);
+        int handlerMapStart = plan.handlerMapStart();
+
+        for (int i = 0, size = plan.size(); i < size; i++) {
+            try {
+                FieldPathTrie.Node child = node.child(plan.name(i));
+                if (child == null ? i >= handlerMapStart : child.isExcluded()) {
+                    // 未命中路径且无注解，或路径被排除
+                    continue;
+                }
+
+                Object value = plan.field(i).get(data);
+                if (value == null) {
+                    continue;
+                }
+
+                if (value instanceof String) {
+                    MaskingHandler handler = child != null && child.getHandler() != null ? child.getHandler()
+                            : i < handlerMapStart && markAnnotated(data, i) ? plan.typeHandler(i) : null;
+                    if (handler != null) {
+                        String maskedValue = handler.getMaskingValue((String) value);
+                        if (!Objects.equals(value, maskedValue)) {
+                            plan.field(i).set(data, maskedValue);
+                        }
+                    }
+                } else if (child != null) {
+                    push(value, child, depth + 1);
+                }
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                EasyDesensitize.throwSneaky(e);
+            }
+        }
+    }
+
+    /**
+     * 记录对象的注解字段已脱敏
+     *
+     * @return 该字段此前未脱敏时返回 {@code true}
+     */
+    private boolean markAnnotated(Object data, int index) {
+        BitSet masked = nodes.get(data);
+        if (masked == null) {
+            masked = new BitSet();
+            nodes.put(data, masked);
+        }
+        if (masked.get(index)) {
+            return false;
+        }
+        masked.set(index);
+        return true;
+    }
+
+    private void checkLimits(Object data, int depth) {
+        if (depth > maxDepth) {
+            throw new IllegalStateException(String.format(
+                    "Masking traversal exceeded the maximum depth of %d, see EasyDesensitize.setTraversalLimits", maxDepth));
+        }
+        if (!nodes.containsKey(data)) {
+            nodes.put(data, null);
+            if (nodes.size() > maxNodes) {
+                throw new IllegalStateException(String.format(
+                        "Masking traversal exceeded the maximum of %d nodes, see EasyDesensitize.setTraversalLimits", maxNodes));
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        private final Object data;
+
+        private final FieldPathTrie.Node node;
+
+        private final int depth;
+
+        private Pending(Object data, FieldPathTrie.Node node, int depth) {
+            this.data = data;
+            this.node = node;
+            this.depth = depth;
+        }
+    }
+
+}
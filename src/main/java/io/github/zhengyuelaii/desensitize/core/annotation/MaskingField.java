@@ -8,6 +8,8 @@ import java.lang.annotation.Target;
 
 import io.github.zhengyuelaii.desensitize.core.handler.DefaultMaskingHandler;
 import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingParams;
+import io.github.zhengyuelaii.desensitize.core.handler.PartialMaskHandler;
 
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
@@ -28,4 +30,36 @@ public @interface MaskingField {
 	 */
 	Class<? extends MaskingHandler> typeHandler() default DefaultMaskingHandler.class;
 
+	/**
+	 * 保留的前缀字符数（-1 表示未设置）
+	 * <p>
+	 * 设置了 prefix / suffix 而未指定 typeHandler 时使用 {@link PartialMaskHandler}。
+	 * 设置了任一参数时，处理器需声明以 {@link MaskingParams} 为唯一参数的构造方法。
+	 * </p>
+	 *
+	 * @return 前缀字符数
+	 */
+	int prefix() default MaskingParams.UNSET;
+
+	/**
+	 * 保留的后缀字符数（-1 表示未设置）
+	 *
+	 * @return 后缀字符数
+	 */
+	int suffix() default MaskingParams.UNSET;
+
+	/**
+	 * 掩码字符
+	 *
+	 * @return 掩码字符
+	 */
+	char maskChar() default MaskingParams.DEFAULT_MASK_CHAR;
+
+	/**
+	 * 处理器自定义的字符串参数，如 {@code FixedMaskHandler} 的掩码样式
+	 *
+	 * @return 字符串参数
+	 */
+	String pattern() default "";
+
 }
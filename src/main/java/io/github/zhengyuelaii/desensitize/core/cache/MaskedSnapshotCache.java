@@ -0,0 +1,315 @@
+package io.github.zhengyuelaii.desensitize.core.cache;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * 脱敏快照缓存
+ * <p>
+ * 适用于同一个只读对象（如本地缓存中的商品、商户、配置 DTO）被大量请求重复返回的场景。
+ * {@link EasyDesensitize} 会原地修改数据，直接脱敏会破坏共享对象；本类通过调用方提供的深拷贝函数
+ * 生成副本并脱敏，再将副本作为快照缓存起来，源对象未变化时后续请求直接返回快照，不再遍历。
+ * </p>
+ * <p>
+ * 缓存键由以下部分组成：
+ * </p>
+ * <ul>
+ *   <li>源对象（按引用相等，弱引用持有，源对象被回收后条目自动清除）</li>
+ *   <li>脱敏规则（{@code handlerMap} 与 {@code excludeFields}，按引用相等）</li>
+ * </ul>
+ * <p>
+ * 条目中同时记录调用方提供的版本戳，版本戳变化（按 {@link Object#equals} 比较）时重新生成快照。
+ * 命中路径不加锁：条目保存在 {@link ConcurrentHashMap} 中，命中时只更新条目的访问时钟。
+ * 写入使条目数超过 {@code maximumSize} 时，按访问时钟批量淘汰最久未访问的条目（近似 LRU），
+ * 并发写入期间条目数可能短暂超过上限。
+ * </p>
+ * <p>
+ * 注意事项：
+ * </p>
+ * <ul>
+ *   <li>快照在多个请求间共享，调用方不得修改</li>
+ *   <li>深拷贝结果不能引用源对象本身，否则源对象无法被回收</li>
+ *   <li>规则集合应为长期复用的实例，每次新建集合会导致缓存无法命中</li>
+ * </ul>
+ * <p>
+ * 本类线程安全。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MaskedSnapshotCache {
+
+    private final int maximumSize;
+
+    /**
+     * 超出上限时额外淘汰的条目数，摊薄淘汰时的排序开销
+     */
+    private final int evictionSlack;
+
+    private final Map<SnapshotKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * 访问时钟：写入时前进 2，命中时取当前值加 1，
+     * 使命中的条目排在此前写入的所有条目之后、此后写入的条目之前
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 创建快照缓存
+     *
+     * @param maximumSize 最大条目数
+     */
+    public MaskedSnapshotCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.evictionSlack = maximumSize / 16;
+    }
+
+    /**
+     * 获取源对象的脱敏快照，仅按注解规则脱敏
+     *
+     * @param <T>    数据类型
+     * @param source 源对象
+     * @param stamp  源对象的版本戳，可为 {@code null}
+     * @param copier 深拷贝函数
+     * @return 脱敏快照
+     * @see #get(Object, Object, UnaryOperator, Map, Set)
+     */
+    public <T> T get(T source, Object stamp, UnaryOperator<T> copier) {
+        return get(source, stamp, copier, null, null);
+    }
+
+    /**
+     * 获取源对象的脱敏快照
+     * <p>
+     * 命中且版本戳未变化时直接返回缓存的快照；否则对源对象深拷贝并脱敏，缓存后返回。
+     * 命中时不加锁；并发未命中时可能重复生成，以最后写入者为准。
+     * </p>
+     *
+     * @param <T>           数据类型
+     * @param source        源对象，为 {@code null} 时返回 {@code null}
+     * @param stamp         源对象的版本戳（如更新时间、版本号），可为 {@code null}
+     * @param copier        深拷贝函数
+     * @param handlerMap    字段级脱敏处理器映射表，可为 {@code null}
+     * @param excludeFields 需要跳过脱敏的字段名集合，可为 {@code null}
+     * @return 脱敏快照
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(T source, Object stamp, UnaryOperator<T> copier,
+                     Map<String, MaskingHandler> handlerMap, Set<String> excludeFields) {
+        if (source == null) {
+            return null;
+        }
+        if (copier == null) {
+            throw new IllegalArgumentException("copier must not be null");
+        }
+
+        expungeCollected();
+        Snapshot snapshot = snapshots.get(new SnapshotKey(source, handlerMap, excludeFields, null));
+        if (snapshot != null && Objects.equals(snapshot.stamp, stamp)) {
+            long now = clock.get() + 1;
+            // 同一时钟周期内的重复命中不再写入，避免热点条目的缓存行争用
+            if (snapshot.lastAccess != now) {
+                snapshot.lastAccess = now;
+            }
+            hitCount.increment();
+            return (T) snapshot.value;
+        }
+        missCount.increment();
+
+        T copy = copier.apply(source);
+        if (copy == source) {
+            throw new IllegalStateException("copier must return a new instance instead of the source object");
+        }
+        EasyDesensitize.mask(copy, null, handlerMap, excludeFields);
+
+        snapshots.put(new SnapshotKey(source, handlerMap, excludeFields, collected),
+                new Snapshot(stamp, copy, clock.addAndGet(2)));
+        if (snapshots.size() > maximumSize) {
+            evict();
+        }
+        return copy;
+    }
+
+    /**
+     * 清除源对象在所有规则下的快照
+     *
+     * @param source 源对象
+     */
+    public void invalidate(Object source) {
+        expungeCollected();
+        Iterator<SnapshotKey> iterator = snapshots.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == source) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        snapshots.clear();
+        while (collected.poll() != null) {
+            // 丢弃已入队的引用
+        }
+    }
+
+    /**
+     * 当前条目数量
+     *
+     * @return 条目数量
+     */
+    public int size() {
+        expungeCollected();
+        return snapshots.size();
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 命中次数
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 未命中次数（包含版本戳变化导致的重新生成）
+     *
+     * @return 未命中次数
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 淘汰访问时钟最早的条目，使条目数回到上限以内
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            int excess = snapshots.size() - maximumSize;
+            if (excess <= 0) {
+                return;
+            }
+            int target = excess + evictionSlack;
+            long[] accesses = new long[snapshots.size() + 16];
+            int count = 0;
+            for (Snapshot snapshot : snapshots.values()) {
+                if (count == accesses.length) {
+                    break;
+                }
+                accesses[count++] = snapshot.lastAccess;
+            }
+            if (count == 0) {
+                return;
+            }
+            Arrays.sort(accesses, 0, count);
+            long threshold = accesses[Math.min(target, count) - 1];
+
+            Iterator<Snapshot> iterator = snapshots.values().iterator();
+            while (target > 0 && iterator.hasNext()) {
+                if (iterator.next().lastAccess <= threshold) {
+                    iterator.remove();
+                    target--;
+                }
+            }
+        }
+    }
+
+    private void expungeCollected() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+    /**
+     * 弱引用源对象的缓存键，源对象按引用相等，规则按引用相等
+     */
+    private static final class SnapshotKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private final Map<String, MaskingHandler> handlerMap;
+
+        private final Set<String> excludeFields;
+
+        SnapshotKey(Object source, Map<String, MaskingHandler> handlerMap, Set<String> excludeFields,
+                    ReferenceQueue<Object> queue) {
+            super(source, queue);
+            this.handlerMap = handlerMap;
+            this.excludeFields = excludeFields;
+            this.hash = 31 * (31 * System.identityHashCode(source) + System.identityHashCode(handlerMap))
+                    + System.identityHashCode(excludeFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SnapshotKey)) {
+                return false;
+            }
+            SnapshotKey other = (SnapshotKey) obj;
+            Object source = get();
+            // 已被回收的键只与自身相等
+            return source != null && source == other.get()
+                    && handlerMap == other.handlerMap && excludeFields == other.excludeFields;
+        }
+    }
+
+    /**
+     * 带版本戳的脱敏快照
+     */
+    private static final class Snapshot {
+
+        private final Object stamp;
+
+        private final Object value;
+
+        /**
+         * 最近一次访问时的时钟值，仅用于淘汰排序，允许并发覆盖
+         */
+        private volatile long lastAccess;
+
+        Snapshot(Object stamp, Object value, long lastAccess) {
+            this.stamp = stamp;
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+/**
+ * 普通处理器到 {@link AppendableMaskingHandler} 的桥接：截取区间字符串、调用原处理器、追加结果
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class AppendableHandlerBridge implements AppendableMaskingHandler {
+
+	private final MaskingHandler delegate;
+
+	AppendableHandlerBridge(MaskingHandler delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		String masked = delegate.getMaskingValue(src.subSequence(start, end).toString());
+		if (masked != null) {
+			out.append(masked);
+		}
+	}
+
+	@Override
+	public int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		String masked = delegate.getMaskingValue(src.subSequence(start, end).toString());
+		if (masked == null) {
+			return 0;
+		}
+		AppendableMaskingHandler.checkCapacity(dst, offset, masked.length());
+		masked.getChars(0, masked.length(), dst, offset);
+		return masked.length();
+	}
+
+	/**
+	 * 直接委托原处理器，保留其返回 {@code null} 与返回原字符串等行为
+	 */
+	@Override
+	public String getMaskingValue(String value) {
+		return delegate.getMaskingValue(value);
+	}
+
+}
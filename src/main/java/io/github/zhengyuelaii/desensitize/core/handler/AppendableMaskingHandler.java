@@ -0,0 +1,92 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+/**
+ * 追加式脱敏处理器
+ * <p>
+ * {@link MaskingHandler#getMaskingValue(String)} 每次都要返回一个新字符串；JSON 序列化、日志输出等
+ * 直接写入缓冲区的场景可改用本接口，将字符序列的指定区间脱敏后直接追加到调用方的 {@link StringBuilder}
+ * 或写入 {@code char[]}，不产生中间字符串。
+ * </p>
+ * <p>
+ * 实现必须与 {@link #getMaskingValue(String)} 的语义保持一致：对同一输入，追加的内容应等于其返回值；
+ * 返回值为 {@code null} 时不追加任何内容。内置处理器均已原生实现本接口，
+ * 其他处理器可通过 {@link #of(MaskingHandler)} 桥接。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface AppendableMaskingHandler extends MaskingHandler {
+
+	/**
+	 * 对 {@code src} 的 [start, end) 区间脱敏，并将结果追加到 {@code out}
+	 *
+	 * @param src   源字符序列
+	 * @param start 起始下标（包含）
+	 * @param end   结束下标（不包含）
+	 * @param out   输出缓冲区
+	 */
+	void maskTo(CharSequence src, int start, int end, StringBuilder out);
+
+	/**
+	 * 对 {@code src} 的 [start, end) 区间脱敏，并将结果写入 {@code dst} 的 {@code offset} 处
+	 *
+	 * @param src    源字符序列
+	 * @param start  起始下标（包含）
+	 * @param end    结束下标（不包含）
+	 * @param dst    目标数组
+	 * @param offset 写入起始位置
+	 * @return 写入的字符数
+	 * @throws IndexOutOfBoundsException 目标数组剩余空间不足时抛出，此时 {@code dst} 未被修改
+	 */
+	default int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		StringBuilder sb = new StringBuilder(end - start);
+		maskTo(src, start, end, sb);
+		checkCapacity(dst, offset, sb.length());
+		sb.getChars(0, sb.length(), dst, offset);
+		return sb.length();
+	}
+
+	@Override
+	default String getMaskingValue(String value) {
+		if (value == null) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder(value.length());
+		maskTo(value, 0, value.length(), sb);
+		return sb.toString();
+	}
+
+	/**
+	 * 获取处理器的追加式实现
+	 *
+	 * @param handler 脱敏处理器
+	 * @return 原生实现本接口时返回其自身，否则返回桥接实现
+	 */
+	static AppendableMaskingHandler of(MaskingHandler handler) {
+		if (handler == null) {
+			throw new IllegalArgumentException("handler must not be null");
+		}
+		if (handler instanceof AppendableMaskingHandler) {
+			return (AppendableMaskingHandler) handler;
+		}
+		return new AppendableHandlerBridge(handler);
+	}
+
+	/**
+	 * 校验目标数组剩余空间
+	 *
+	 * @param dst    目标数组
+	 * @param offset 写入起始位置
+	 * @param length 待写入的字符数
+	 */
+	static void checkCapacity(char[] dst, int offset, int length) {
+		if (offset < 0 || length > dst.length - offset) {
+			throw new IndexOutOfBoundsException(String.format(
+					"Destination too small: offset=%d, length=%d, capacity=%d", offset, length, dst.length));
+		}
+	}
+
+}
@@ -1,13 +1,35 @@
 package io.github.zhengyuelaii.desensitize.core.handler;
 
+import java.nio.ByteBuffer;
+
 /**
  * 默认脱敏处理器：不做任何处理，原样返回。
  */
-public class DefaultMaskingHandler implements MaskingHandler {
+public class DefaultMaskingHandler implements AppendableMaskingHandler, Utf8MaskingHandler {
 
 	@Override
 	public String getMaskingValue(String value) {
 		return value;
 	}
 
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		out.append(src, start, end);
+	}
+
+	@Override
+	public int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		int length = end - start;
+		AppendableMaskingHandler.checkCapacity(dst, offset, length);
+		for (int i = 0; i < length; i++) {
+			dst[offset + i] = src.charAt(start + i);
+		}
+		return length;
+	}
+
+	@Override
+	public void mask(ByteBuffer src, int start, int end, Utf8Sink out) {
+		out.write(src, start, end);
+	}
+
 }
@@ -1,9 +1,15 @@
 package io.github.zhengyuelaii.desensitize.core.handler;
 
-public class FixedMaskHandler implements MaskingHandler {
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class FixedMaskHandler implements AppendableMaskingHandler, Utf8MaskingHandler {
 
 	private final String mask;
 
+	private final byte[] maskBytes;
+
 	/**
 	 * 默认构造：替换为三个 *
 	 */
@@ -17,6 +23,21 @@ public class FixedMaskHandler implements MaskingHandler {
 	 */
 	public FixedMaskHandler(String mask) {
 		this.mask = mask;
+		this.maskBytes = mask == null ? null : mask.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 注解参数构造：设置了 pattern 时以其为掩码样式，否则使用六个 maskChar
+	 * @param params 处理器参数
+	 */
+	public FixedMaskHandler(MaskingParams params) {
+		this(params.getPattern().isEmpty() ? repeat(params.getMaskChar(), 6) : params.getPattern());
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
 	}
 
 	@Override
@@ -27,4 +48,30 @@ public class FixedMaskHandler implements MaskingHandler {
 		return mask;
 	}
 
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		if (start == end || mask == null) {
+			return;
+		}
+		out.append(mask);
+	}
+
+	@Override
+	public int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		if (start == end || mask == null) {
+			return 0;
+		}
+		AppendableMaskingHandler.checkCapacity(dst, offset, mask.length());
+		mask.getChars(0, mask.length(), dst, offset);
+		return mask.length();
+	}
+
+	@Override
+	public void mask(ByteBuffer src, int start, int end, Utf8Sink out) {
+		if (start == end || maskBytes == null) {
+			return;
+		}
+		out.write(maskBytes, 0, maskBytes.length);
+	}
+
 }
@@ -1,17 +1,47 @@
 package io.github.zhengyuelaii.desensitize.core.handler;
 
+import io.github.zhengyuelaii.desensitize.core.util.TextUnits;
+
+import java.nio.ByteBuffer;
+
 /**
  * 仅保留首尾字符处理器
  * 示例：
  * <p>张三 -&gt; 张*</p>
  * <p>欧阳锋 -&gt; 欧*锋 </p>
  * <p>123456 -&gt; 1****6</p>
+ * <p>
+ * 按代码点计数，代理对（emoji、生僻字）不会被拆开；可选按字素簇计数，使组合字符也保持完整。
+ * 只含 BMP 字符（字素簇模式下为 U+0300 以下字符）的输入走逐 char 的快速路径。
+ * </p>
  *
  * @author zhengyuelaii
  * @version 1.0.0
  * @since 2026-01-14
  */
-public class KeepFirstAndLastHandler implements MaskingHandler {
+public class KeepFirstAndLastHandler implements AppendableMaskingHandler, Utf8MaskingHandler {
+
+	/**
+	 * UTF-8 中首个码点不低于 U+0300 的前导字节
+	 */
+	private static final int FIRST_COMBINING_LEAD_BYTE = 0xCC;
+
+	private final boolean graphemeAware;
+
+	public KeepFirstAndLastHandler() {
+		this(false);
+	}
+
+	/**
+	 * @param graphemeAware 是否按字素簇（用户感知的字符）计数，否则按代码点计数
+	 */
+	public KeepFirstAndLastHandler(boolean graphemeAware) {
+		this.graphemeAware = graphemeAware;
+	}
+
+	boolean isGraphemeAware() {
+		return graphemeAware;
+	}
 
 	@Override
 	public String getMaskingValue(String value) {
@@ -19,6 +49,11 @@ public class KeepFirstAndLastHandler implements MaskingHandler {
 			return value;
 		}
 		int len = value.length();
+		if (!TextUnits.isSimple(value, 0, len, graphemeAware)) {
+			StringBuilder sb = new StringBuilder(len);
+			maskUnits(value, 0, len, sb);
+			return sb.toString();
+		}
 		if (len <= 1) {
 			return "*"; // 或者返回原值
 		}
@@ -26,13 +61,123 @@ public class KeepFirstAndLastHandler implements MaskingHandler {
 			return value.charAt(0) + "*";
 		}
 
-		StringBuilder sb = new StringBuilder();
+		StringBuilder sb = new StringBuilder(len);
 		sb.append(value.charAt(0));
 		for (int i = 0; i < len - 2; i++) {
-			sb.append("*");
+			sb.append('*');
 		}
 		sb.append(value.charAt(len - 1));
 		return sb.toString();
 	}
 
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		int len = end - start;
+		if (len == 0) {
+			return;
+		}
+		if (!TextUnits.isSimple(src, start, end, graphemeAware)) {
+			maskUnits(src, start, end, out);
+			return;
+		}
+		if (len == 1) {
+			out.append('*');
+			return;
+		}
+		out.append(src.charAt(start));
+		for (int i = 0; i < len - 2; i++) {
+			out.append('*');
+		}
+		out.append(len == 2 ? '*' : src.charAt(end - 1));
+	}
+
+	@Override
+	public int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		if (!TextUnits.isSimple(src, start, end, graphemeAware)) {
+			return AppendableMaskingHandler.super.maskTo(src, start, end, dst, offset);
+		}
+		int len = end - start;
+		AppendableMaskingHandler.checkCapacity(dst, offset, len);
+		if (len == 0) {
+			return 0;
+		}
+		if (len == 1) {
+			dst[offset] = '*';
+			return 1;
+		}
+		dst[offset] = src.charAt(start);
+		for (int i = 1; i < len - 1; i++) {
+			dst[offset + i] = '*';
+		}
+		dst[offset + len - 1] = len == 2 ? '*' : src.charAt(end - 1);
+		return len;
+	}
+
+	/**
+	 * 按代码点或字素簇处理的慢速路径
+	 */
+	private void maskUnits(CharSequence src, int start, int end, StringBuilder out) {
+		int[] bounds = TextUnits.boundaries(src, start, end, graphemeAware);
+		int units = bounds.length - 1;
+		if (units <= 1) {
+			out.append('*');
+			return;
+		}
+		out.append(src, bounds[0], bounds[1]);
+		if (units == 2) {
+			out.append('*');
+			return;
+		}
+		for (int i = 0; i < units - 2; i++) {
+			out.append('*');
+		}
+		out.append(src, bounds[units - 1], end);
+	}
+
+	@Override
+	public void mask(ByteBuffer src, int start, int end, Utf8Sink out) {
+		if (start == end) {
+			return;
+		}
+		// 代码点数即 UTF-8 前导字节数
+		int units = 0;
+		boolean combining = false;
+		for (int i = start; i < end; i++) {
+			int b = src.get(i) & 0xFF;
+			if ((b & 0xC0) != 0x80) {
+				units++;
+				combining |= b >= FIRST_COMBINING_LEAD_BYTE || b == '\r';
+			}
+		}
+		if (graphemeAware && combining) {
+			// 字素簇边界需要完整的 Unicode 规则，交由字符串实现
+			Utf8MaskingHandler.maskDecoded(this, src, start, end, out);
+			return;
+		}
+		if (units <= 1) {
+			out.write('*');
+			return;
+		}
+		int firstEnd = start + sequenceLength(src.get(start));
+		out.write(src, start, firstEnd);
+		if (units == 2) {
+			out.write('*');
+			return;
+		}
+		int lastStart = end - 1;
+		while (lastStart > start && (src.get(lastStart) & 0xC0) == 0x80) {
+			lastStart--;
+		}
+		out.writeRepeated('*', units - 2);
+		out.write(src, lastStart, end);
+	}
+
+	private static int sequenceLength(byte lead) {
+		int b = lead & 0xFF;
+		if (b < 0xC0) {
+			return 1;
+		}
+		return b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+	}
+
 }
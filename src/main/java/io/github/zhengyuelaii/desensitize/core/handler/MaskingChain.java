@@ -0,0 +1,606 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 组合处理器：将多个转换与脱敏步骤融合为单遍处理
+ * <p>
+ * 逐层嵌套 {@link MaskingHandler} 时每一步都会生成一个中间字符串。本类在构建时把相邻的可融合步骤编译为一个片段，
+ * 运行时只遍历一次输入字符、只创建一个结果字符串：
+ * </p>
+ * <ul>
+ *   <li>逐字符转换：{@link Builder#map(CharMapper)}、{@link Builder#remove(CharMatcher)}、{@link Builder#toHalfWidth()}</li>
+ *   <li>去除首尾空白：{@link Builder#trim()}，只检查两端字符确定有效区间</li>
+ *   <li>掩码：{@link Builder#hide(int, int)}、{@link Builder#keep(int, int)}，按代码点计数，在输出缓冲区上原地改写</li>
+ * </ul>
+ * <p>
+ * 无法融合的步骤（任意 {@link MaskingHandler}）会切断片段，按顺序对前一片段的结果调用；
+ * {@link KeepFirstAndLastHandler}、{@link DefaultMaskingHandler} 与嵌套的 {@code MaskingChain} 会被识别并融合。
+ * 掩码之后再出现逐字符转换时同样开始新的片段。结果与按顺序逐个调用各步骤完全一致；
+ * 任一步骤返回 {@code null} 时整条链返回 {@code null}，输入未被改变时返回原字符串。
+ * 完全融合的组合通过 {@link AppendableMaskingHandler} 接口调用时直接写入调用方缓冲区。
+ * </p>
+ * <pre>
+ * MaskingHandler handler = MaskingChain.builder()
+ *         .trim()
+ *         .toHalfWidth()
+ *         .keep(3, 4)
+ *         .build();
+ * handler.getMaskingValue(" １３７００００１２３４ "); // 137****1234
+ * </pre>
+ * <p>
+ * 本类不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class MaskingChain implements AppendableMaskingHandler {
+
+	private static final char DEFAULT_MASK_CHAR = '*';
+
+	/**
+	 * 按线程复用的输出缓冲区超过该长度时不保留
+	 */
+	private static final int MAX_RETAINED_SCRATCH = 1024;
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	private final MaskingHandler[] steps;
+
+	private MaskingChain(List<MaskingHandler> steps) {
+		this.steps = steps.toArray(new MaskingHandler[0]);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public String getMaskingValue(String value) {
+		String current = value;
+		for (MaskingHandler step : steps) {
+			if (current == null) {
+				return null;
+			}
+			current = step.getMaskingValue(current);
+		}
+		return current;
+	}
+
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		if (steps.length == 0) {
+			out.append(src, start, end);
+			return;
+		}
+		if (steps.length == 1 && steps[0] instanceof FusedSegment) {
+			// 完全融合时直接写入调用方缓冲区
+			((FusedSegment) steps[0]).maskTo(src, start, end, out);
+			return;
+		}
+		String masked = getMaskingValue(src.subSequence(start, end).toString());
+		if (masked != null) {
+			out.append(masked);
+		}
+	}
+
+	/**
+	 * 逐字符转换
+	 */
+	@FunctionalInterface
+	public interface CharMapper {
+
+		char map(char c);
+
+	}
+
+	/**
+	 * 字符匹配
+	 */
+	@FunctionalInterface
+	public interface CharMatcher {
+
+		boolean matches(char c);
+
+	}
+
+	/**
+	 * 融合片段：逐字符步骤与首尾裁剪在一次遍历中完成，随后在输出缓冲区上依次执行掩码
+	 */
+	private static final class FusedSegment implements MaskingHandler {
+
+		private final CharOp[] ops;
+
+		private final MaskOp[] masks;
+
+		private final boolean hasTrim;
+
+		FusedSegment(List<CharOp> ops, List<MaskOp> masks) {
+			this.ops = ops.toArray(new CharOp[0]);
+			this.masks = masks.toArray(new MaskOp[0]);
+			boolean trim = false;
+			for (CharOp op : ops) {
+				trim |= op instanceof TrimOp;
+			}
+			this.hasTrim = trim;
+		}
+
+		@Override
+		public String getMaskingValue(String value) {
+			Scratch scratch = Scratch.acquire();
+			try {
+				int n = render(value, 0, value.length(), scratch);
+				return scratch.changed ? new String(scratch.result, 0, n) : value;
+			} finally {
+				scratch.release();
+			}
+		}
+
+		void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+			Scratch scratch = Scratch.acquire();
+			try {
+				int n = render(src, start, end, scratch);
+				out.append(scratch.result, 0, n);
+			} finally {
+				scratch.release();
+			}
+		}
+
+		/**
+		 * 将 [start, end) 区间处理后写入 {@code scratch.result}
+		 *
+		 * @return 写入的字符数
+		 */
+		private int render(CharSequence src, int start, int end, Scratch scratch) {
+			int lo = start;
+			int hi = end;
+			if (hasTrim) {
+				for (int k = 0; k < ops.length; k++) {
+					if (!(ops[k] instanceof TrimOp)) {
+						continue;
+					}
+					// 第 k 步裁剪看到的是经过前 k 步转换后的字符
+					while (lo < hi && isTrimmed(src.charAt(lo), k)) {
+						lo++;
+					}
+					while (hi > lo && isTrimmed(src.charAt(hi - 1), k)) {
+						hi--;
+					}
+				}
+			}
+
+			char[] buf = scratch.buffer(hi - lo);
+			boolean changed = lo > start || hi < end;
+			int n = 0;
+			for (int i = lo; i < hi; i++) {
+				char c = src.charAt(i);
+				int mapped = apply(c, ops.length);
+				if (mapped < 0) {
+					changed = true;
+					continue;
+				}
+				changed |= mapped != c;
+				buf[n++] = (char) mapped;
+			}
+			scratch.result = buf;
+			scratch.changed = changed;
+			for (MaskOp mask : masks) {
+				n = mask.apply(buf, n, scratch);
+			}
+			return n;
+		}
+
+		/**
+		 * 依次执行前 {@code count} 个逐字符步骤
+		 *
+		 * @return 转换后的字符，被移除时返回 -1
+		 */
+		private int apply(char c, int count) {
+			int current = c;
+			for (int k = 0; k < count; k++) {
+				current = ops[k].apply((char) current);
+				if (current < 0) {
+					return -1;
+				}
+			}
+			return current;
+		}
+
+		private boolean isTrimmed(char c, int k) {
+			int mapped = apply(c, k);
+			// 已被前序步骤移除的字符对裁剪透明，与 String.trim() 一致按 <= ' ' 判断空白
+			return mapped < 0 || mapped <= ' ';
+		}
+	}
+
+	/**
+	 * 逐字符步骤
+	 */
+	private abstract static class CharOp {
+
+		/**
+		 * @return 转换后的字符，移除时返回 -1
+		 */
+		abstract int apply(char c);
+	}
+
+	private static final class MapOp extends CharOp {
+
+		private final CharMapper mapper;
+
+		MapOp(CharMapper mapper) {
+			this.mapper = mapper;
+		}
+
+		@Override
+		int apply(char c) {
+			return mapper.map(c);
+		}
+	}
+
+	private static final class RemoveOp extends CharOp {
+
+		private final CharMatcher matcher;
+
+		RemoveOp(CharMatcher matcher) {
+			this.matcher = matcher;
+		}
+
+		@Override
+		int apply(char c) {
+			return matcher.matches(c) ? -1 : c;
+		}
+	}
+
+	/**
+	 * 首尾裁剪在遍历前通过有效区间完成，遍历时不改变字符
+	 */
+	private static final class TrimOp extends CharOp {
+
+		@Override
+		int apply(char c) {
+			return c;
+		}
+	}
+
+	/**
+	 * 掩码步骤，在输出缓冲区上原地改写
+	 * <p>
+	 * 与 {@code Masker} 一致按代码点计数：不含代理字符时逐 char 填充；含代理对时每个被掩码的代码点
+	 * 只写出一个掩码字符，结果只会变短，后缀原地前移即可。
+	 * </p>
+	 */
+	private abstract static class MaskOp {
+
+		/**
+		 * @return 改写后的长度；改写了内容时置位 {@code scratch.changed}
+		 */
+		abstract int apply(char[] buf, int len, Scratch scratch);
+
+		static boolean hasSurrogate(char[] buf, int len) {
+			for (int i = 0; i < len; i++) {
+				if (Character.isSurrogate(buf[i])) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		static int units(char[] buf, int len, boolean surrogates) {
+			return surrogates ? Character.codePointCount(buf, 0, len) : len;
+		}
+
+		/**
+		 * 将第 [unitStart, unitEnd) 个代码点替换为等量的掩码字符
+		 */
+		static int replace(char[] buf, int len, boolean surrogates, int unitStart, int unitEnd, char maskChar,
+						   Scratch scratch) {
+			int from = unitStart;
+			int to = unitEnd;
+			if (surrogates) {
+				from = Character.offsetByCodePoints(buf, 0, len, 0, unitStart);
+				to = Character.offsetByCodePoints(buf, 0, len, from, unitEnd - unitStart);
+			}
+			int count = unitEnd - unitStart;
+			boolean changed = to - from != count;
+			for (int i = 0; i < count; i++) {
+				changed |= buf[from + i] != maskChar;
+				buf[from + i] = maskChar;
+			}
+			if (to - from != count) {
+				System.arraycopy(buf, to, buf, from + count, len - to);
+			}
+			scratch.changed |= changed;
+			return len - (to - from) + count;
+		}
+	}
+
+	/**
+	 * 与 {@code Masker.hide(value, maskChar, start, end)} 语义一致
+	 */
+	private static final class HideOp extends MaskOp {
+
+		private final int start;
+
+		private final int end;
+
+		private final char maskChar;
+
+		HideOp(int start, int end, char maskChar) {
+			this.start = start;
+			this.end = end;
+			this.maskChar = maskChar;
+		}
+
+		@Override
+		int apply(char[] buf, int len, Scratch scratch) {
+			if (len == 0 || start < 0 || start >= end) {
+				return len;
+			}
+			boolean surrogates = hasSurrogate(buf, len);
+			int to = Math.min(end, units(buf, len, surrogates));
+			return start >= to ? len : replace(buf, len, surrogates, start, to, maskChar, scratch);
+		}
+	}
+
+	/**
+	 * 保留前 {@code front} 位与后 {@code back} 位，其余掩码
+	 */
+	private static final class KeepOp extends MaskOp {
+
+		private final int front;
+
+		private final int back;
+
+		private final char maskChar;
+
+		KeepOp(int front, int back, char maskChar) {
+			this.front = front;
+			this.back = back;
+			this.maskChar = maskChar;
+		}
+
+		@Override
+		int apply(char[] buf, int len, Scratch scratch) {
+			boolean surrogates = hasSurrogate(buf, len);
+			int to = units(buf, len, surrogates) - back;
+			return front >= to ? len : replace(buf, len, surrogates, front, to, maskChar, scratch);
+		}
+	}
+
+	/**
+	 * 与 {@link KeepFirstAndLastHandler}（按代码点计数）语义一致
+	 */
+	private static final class KeepFirstAndLastOp extends MaskOp {
+
+		@Override
+		int apply(char[] buf, int len, Scratch scratch) {
+			if (len == 0) {
+				return 0;
+			}
+			boolean surrogates = hasSurrogate(buf, len);
+			int units = units(buf, len, surrogates);
+			if (units == 1) {
+				return replace(buf, len, surrogates, 0, 1, DEFAULT_MASK_CHAR, scratch);
+			}
+			return replace(buf, len, surrogates, 1, units == 2 ? 2 : units - 1, DEFAULT_MASK_CHAR, scratch);
+		}
+	}
+
+	/**
+	 * 按线程复用的输出缓冲区，嵌套调用（如转换函数内部再调用组合处理器）时使用临时缓冲区
+	 */
+	private static final class Scratch {
+
+		private char[] buf = new char[64];
+
+		/**
+		 * 最近一次处理的输出（可能是未被保留的临时数组）
+		 */
+		private char[] result;
+
+		private boolean changed;
+
+		private boolean inUse;
+
+		static Scratch acquire() {
+			Scratch scratch = SCRATCH.get();
+			if (scratch.inUse) {
+				return new Scratch();
+			}
+			scratch.inUse = true;
+			return scratch;
+		}
+
+		char[] buffer(int length) {
+			if (buf.length < length) {
+				char[] grown = new char[length];
+				if (length <= MAX_RETAINED_SCRATCH) {
+					buf = grown;
+				}
+				return grown;
+			}
+			return buf;
+		}
+
+		void release() {
+			result = null;
+			inUse = false;
+		}
+	}
+
+	/**
+	 * 构建器
+	 */
+	public static final class Builder {
+
+		private final List<MaskingHandler> steps = new ArrayList<>();
+
+		private final List<CharOp> ops = new ArrayList<>();
+
+		private final List<MaskOp> masks = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * 去除首尾空白，与 {@link String#trim()} 一致
+		 *
+		 * @return 当前构建器
+		 */
+		public Builder trim() {
+			return charOp(new TrimOp());
+		}
+
+		/**
+		 * 全角字符（数字、字母、标点与全角空格）转为半角
+		 *
+		 * @return 当前构建器
+		 */
+		public Builder toHalfWidth() {
+			return map(c -> c == '\u3000' ? ' ' : c >= '\uFF01' && c <= '\uFF5E' ? (char) (c - 0xFEE0) : c);
+		}
+
+		/**
+		 * 逐字符转换
+		 *
+		 * @param mapper 转换函数
+		 * @return 当前构建器
+		 */
+		public Builder map(CharMapper mapper) {
+			if (mapper == null) {
+				throw new IllegalArgumentException("mapper must not be null");
+			}
+			return charOp(new MapOp(mapper));
+		}
+
+		/**
+		 * 移除匹配的字符
+		 *
+		 * @param matcher 匹配函数
+		 * @return 当前构建器
+		 */
+		public Builder remove(CharMatcher matcher) {
+			if (matcher == null) {
+				throw new IllegalArgumentException("matcher must not be null");
+			}
+			return charOp(new RemoveOp(matcher));
+		}
+
+		/**
+		 * 掩码 [start, end) 范围内的字符，语义同 {@code Masker.hide(value, start, end)}
+		 *
+		 * @param startInclude 开始索引（包含）
+		 * @param endExclude   结束索引（不包含），超出长度时取长度
+		 * @return 当前构建器
+		 */
+		public Builder hide(int startInclude, int endExclude) {
+			return hide(startInclude, endExclude, DEFAULT_MASK_CHAR);
+		}
+
+		/**
+		 * 使用指定掩码字符掩码 [start, end) 范围内的字符
+		 *
+		 * @param startInclude 开始索引（包含）
+		 * @param endExclude   结束索引（不包含），超出长度时取长度
+		 * @param maskChar     掩码字符
+		 * @return 当前构建器
+		 */
+		public Builder hide(int startInclude, int endExclude, char maskChar) {
+			masks.add(new HideOp(startInclude, endExclude, maskChar));
+			return this;
+		}
+
+		/**
+		 * 保留前 {@code front} 位与后 {@code back} 位，其余字符掩码；长度不足时不做处理
+		 *
+		 * @param front 保留的前缀长度
+		 * @param back  保留的后缀长度
+		 * @return 当前构建器
+		 */
+		public Builder keep(int front, int back) {
+			return keep(front, back, DEFAULT_MASK_CHAR);
+		}
+
+		/**
+		 * 使用指定掩码字符，保留前 {@code front} 位与后 {@code back} 位
+		 *
+		 * @param front    保留的前缀长度
+		 * @param back     保留的后缀长度
+		 * @param maskChar 掩码字符
+		 * @return 当前构建器
+		 */
+		public Builder keep(int front, int back, char maskChar) {
+			if (front < 0 || back < 0) {
+				throw new IllegalArgumentException(String.format("front and back must not be negative: %d, %d", front, back));
+			}
+			masks.add(new KeepOp(front, back, maskChar));
+			return this;
+		}
+
+		/**
+		 * 追加任意处理器
+		 * <p>
+		 * 内置的 {@link KeepFirstAndLastHandler}、{@link DefaultMaskingHandler} 与嵌套的 {@code MaskingChain}
+		 * 会被融合，其他处理器按顺序单独调用。
+		 * </p>
+		 *
+		 * @param handler 处理器
+		 * @return 当前构建器
+		 */
+		public Builder then(MaskingHandler handler) {
+			if (handler == null) {
+				throw new IllegalArgumentException("handler must not be null");
+			}
+			// 只识别内置类本身，子类可能重写了行为
+			if (handler.getClass() == DefaultMaskingHandler.class) {
+				return this;
+			}
+			if (handler.getClass() == KeepFirstAndLastHandler.class && !((KeepFirstAndLastHandler) handler).isGraphemeAware()) {
+				masks.add(new KeepFirstAndLastOp());
+				return this;
+			}
+			if (handler.getClass() == PartialMaskHandler.class) {
+				PartialMaskHandler partial = (PartialMaskHandler) handler;
+				masks.add(new KeepOp(partial.getPrefix(), partial.getSuffix(), partial.getMaskChar()));
+				return this;
+			}
+			flush();
+			if (handler instanceof MaskingChain) {
+				for (MaskingHandler step : ((MaskingChain) handler).steps) {
+					steps.add(step);
+				}
+			} else {
+				steps.add(handler);
+			}
+			return this;
+		}
+
+		public MaskingChain build() {
+			flush();
+			return new MaskingChain(steps);
+		}
+
+		private Builder charOp(CharOp op) {
+			// 掩码之后的逐字符步骤作用于掩码结果，需要开始新的片段
+			if (!masks.isEmpty()) {
+				flush();
+			}
+			ops.add(op);
+			return this;
+		}
+
+		private void flush() {
+			if (ops.isEmpty() && masks.isEmpty()) {
+				return;
+			}
+			steps.add(new FusedSegment(ops, masks));
+			ops.clear();
+			masks.clear();
+		}
+	}
+
+}
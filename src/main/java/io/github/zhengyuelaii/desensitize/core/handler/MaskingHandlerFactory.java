@@ -1,6 +1,8 @@
 package io.github.zhengyuelaii.desensitize.core.handler;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class MaskingHandlerFactory {
@@ -8,6 +10,9 @@ public class MaskingHandlerFactory {
 	// 缓存已经实例化的 Handler
 	private static final Map<Class<? extends MaskingHandler>, MaskingHandler> HANDLER_CACHE = new ConcurrentHashMap<>();
 
+	// 缓存带参数的 Handler，按（处理器类型，参数）区分
+	private static final Map<HandlerKey, MaskingHandler> PARAMETERIZED_CACHE = new ConcurrentHashMap<>();
+
 	@SuppressWarnings("unchecked")
 	public static <T extends MaskingHandler> T getHandler(Class<T> handlerClass) {
 		return (T) HANDLER_CACHE.computeIfAbsent(handlerClass, clazz -> {
@@ -19,4 +24,63 @@ public class MaskingHandlerFactory {
 		});
 	}
 
+	/**
+	 * 获取带参数的处理器实例
+	 * <p>
+	 * 参数为默认值时等同于 {@link #getHandler(Class)}；否则通过处理器以 {@link MaskingParams} 为唯一参数的构造方法创建，
+	 * 相同类型与参数只创建一次。
+	 * </p>
+	 *
+	 * @param handlerClass 处理器类型
+	 * @param params       处理器参数
+	 * @param <T>          处理器类型
+	 * @return 处理器实例
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends MaskingHandler> T getHandler(Class<T> handlerClass, MaskingParams params) {
+		if (params == null || params.isDefault()) {
+			return getHandler(handlerClass);
+		}
+		return (T) PARAMETERIZED_CACHE.computeIfAbsent(new HandlerKey(handlerClass, params), key -> {
+			try {
+				return key.handlerClass.getDeclaredConstructor(MaskingParams.class).newInstance(key.params);
+			} catch (NoSuchMethodException e) {
+				throw new RuntimeException(String.format(
+						"Masking handler %s does not accept parameters %s: declare a constructor taking MaskingParams",
+						key.handlerClass.getName(), key.params), e);
+			} catch (InvocationTargetException e) {
+				throw new RuntimeException(String.format("Failed to instantiate masking handler %s with %s",
+						key.handlerClass.getName(), key.params), e.getCause());
+			} catch (Exception e) {
+				throw new RuntimeException("Failed to instantiate masking handler: " + key.handlerClass.getName(), e);
+			}
+		});
+	}
+
+	private static final class HandlerKey {
+
+		private final Class<? extends MaskingHandler> handlerClass;
+
+		private final MaskingParams params;
+
+		private HandlerKey(Class<? extends MaskingHandler> handlerClass, MaskingParams params) {
+			this.handlerClass = handlerClass;
+			this.params = params;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof HandlerKey)) {
+				return false;
+			}
+			HandlerKey that = (HandlerKey) o;
+			return handlerClass == that.handlerClass && params.equals(that.params);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(handlerClass, params);
+		}
+	}
+
 }
@@ -0,0 +1,120 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import java.util.Objects;
+
+/**
+ * 脱敏处理器参数
+ * <p>
+ * 对应 {@code @MaskingField} 上的 prefix / suffix / maskChar / pattern 属性。
+ * 处理器通过声明以本类为唯一参数的构造方法来接收参数，{@link MaskingHandlerFactory} 按（处理器类型，参数）缓存实例，
+ * 因此本类不可变，并实现了 {@code equals} / {@code hashCode}。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class MaskingParams {
+
+	/**
+	 * 未设置保留位数
+	 */
+	public static final int UNSET = -1;
+
+	public static final char DEFAULT_MASK_CHAR = '*';
+
+	/**
+	 * 未设置任何参数
+	 */
+	public static final MaskingParams DEFAULT = new MaskingParams(UNSET, UNSET, DEFAULT_MASK_CHAR, "");
+
+	private final int prefix;
+
+	private final int suffix;
+
+	private final char maskChar;
+
+	private final String pattern;
+
+	private MaskingParams(int prefix, int suffix, char maskChar, String pattern) {
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.maskChar = maskChar;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * 创建参数，与默认值相同时返回 {@link #DEFAULT}
+	 *
+	 * @param prefix   保留的前缀字符数，{@link #UNSET} 表示未设置
+	 * @param suffix   保留的后缀字符数，{@link #UNSET} 表示未设置
+	 * @param maskChar 掩码字符
+	 * @param pattern  处理器自定义的字符串参数，如固定掩码样式
+	 * @return 参数
+	 */
+	public static MaskingParams of(int prefix, int suffix, char maskChar, String pattern) {
+		if (prefix < UNSET || suffix < UNSET) {
+			throw new IllegalArgumentException(String.format(
+					"Masking prefix and suffix must not be negative, got prefix=%d, suffix=%d", prefix, suffix));
+		}
+		String p = pattern == null ? "" : pattern;
+		if (prefix == UNSET && suffix == UNSET && maskChar == DEFAULT_MASK_CHAR && p.isEmpty()) {
+			return DEFAULT;
+		}
+		return new MaskingParams(prefix, suffix, maskChar, p);
+	}
+
+	public boolean isDefault() {
+		return this == DEFAULT;
+	}
+
+	/**
+	 * 是否设置了前缀或后缀保留位数
+	 *
+	 * @return 设置任一时返回 {@code true}
+	 */
+	public boolean hasKeepLengths() {
+		return prefix != UNSET || suffix != UNSET;
+	}
+
+	public int getPrefix() {
+		return prefix;
+	}
+
+	public int getSuffix() {
+		return suffix;
+	}
+
+	public char getMaskChar() {
+		return maskChar;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof MaskingParams)) {
+			return false;
+		}
+		MaskingParams that = (MaskingParams) o;
+		return prefix == that.prefix && suffix == that.suffix && maskChar == that.maskChar
+				&& pattern.equals(that.pattern);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(prefix, suffix, maskChar, pattern);
+	}
+
+	@Override
+	public String toString() {
+		return "MaskingParams [prefix=" + prefix + ", suffix=" + suffix + ", maskChar=" + maskChar + ", pattern="
+				+ pattern + "]";
+	}
+
+}
@@ -0,0 +1,91 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+
+/**
+ * 保留前后缀处理器
+ * 示例（保留前 3 位、后 4 位）：
+ * <p>13700001234 -&gt; 137****1234</p>
+ * <p>
+ * 按代码点计数，与 {@link Masker#hide(CharSequence, String, int, int)} 一致；
+ * 字符数不超过前后缀之和时返回原值。可通过 {@code @MaskingField(prefix = 3, suffix = 4)} 直接使用。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PartialMaskHandler implements AppendableMaskingHandler {
+
+	private final int prefix;
+
+	private final int suffix;
+
+	private final char maskChar;
+
+	private final String mask;
+
+	public PartialMaskHandler(int prefix, int suffix) {
+		this(prefix, suffix, MaskingParams.DEFAULT_MASK_CHAR);
+	}
+
+	/**
+	 * @param prefix   保留的前缀字符数
+	 * @param suffix   保留的后缀字符数
+	 * @param maskChar 掩码字符
+	 */
+	public PartialMaskHandler(int prefix, int suffix, char maskChar) {
+		if (prefix < 0 || suffix < 0) {
+			throw new IllegalArgumentException(String.format(
+					"prefix and suffix must not be negative, got prefix=%d, suffix=%d", prefix, suffix));
+		}
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.maskChar = maskChar;
+		this.mask = String.valueOf(maskChar);
+	}
+
+	/**
+	 * 注解参数构造，未设置的前缀或后缀按 0 处理
+	 *
+	 * @param params 处理器参数
+	 */
+	public PartialMaskHandler(MaskingParams params) {
+		this(Math.max(params.getPrefix(), 0), Math.max(params.getSuffix(), 0), params.getMaskChar());
+	}
+
+	int getPrefix() {
+		return prefix;
+	}
+
+	int getSuffix() {
+		return suffix;
+	}
+
+	char getMaskChar() {
+		return maskChar;
+	}
+
+	@Override
+	public String getMaskingValue(String value) {
+		if (value == null || value.isEmpty()) {
+			return value;
+		}
+		int units = value.codePointCount(0, value.length());
+		if (units <= prefix + suffix) {
+			return value;
+		}
+		return Masker.hide(value, mask, prefix, units - suffix);
+	}
+
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		int units = Character.codePointCount(src, start, end);
+		if (units <= prefix + suffix) {
+			out.append(src, start, end);
+			return;
+		}
+		Masker.hideTo(src, start, end, mask, prefix, units - suffix, out);
+	}
+
+}
@@ -0,0 +1,413 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * 确定性假名化处理器
+ * <p>
+ * 使用带密钥的哈希（默认 HmacSHA256）将原值映射为令牌：同一密钥下相同的输入总是得到相同的结果，
+ * 脱敏后的数据仍可用于关联、去重与统计，而没有密钥无法由令牌反推或撞库还原原值。
+ * 哈希输入为原值的 UTF-8 编码，字符串、追加式与字节级实现的结果一致。
+ * </p>
+ * <p>
+ * 默认输出定长的 URL 安全令牌；开启保留格式后输出与原值等长：数字仍为数字、大小写字母仍为同类字母、
+ * 常用汉字仍为汉字，其他字符（分隔符、标点等）原样保留，例如 {@code 137-0000-1234 -> 592-8316-0475}。
+ * </p>
+ * <p>
+ * 每个线程持有独立的 {@link Mac} 实例与缓冲区，调用过程中除结果字符串外不产生分配。
+ * 需要通过 {@code @MaskingField} 使用时，可继承本类并在无参构造中调用 {@link #PseudonymHandler(Builder)}。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PseudonymHandler implements AppendableMaskingHandler, Utf8MaskingHandler {
+
+	/**
+	 * 默认令牌长度，每个字符携带 6 位，共 96 位
+	 */
+	public static final int DEFAULT_TOKEN_LENGTH = 16;
+
+	private static final String DEFAULT_ALGORITHM = "HmacSHA256";
+
+	private static final char[] TOKEN_ALPHABET =
+			"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+	private static final char[] DIGITS = table("0123456789");
+
+	private static final char[] LOWER = table("abcdefghijklmnopqrstuvwxyz");
+
+	private static final char[] UPPER = table("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+	private static final char FIRST_HAN = '\u4E00';
+
+	private static final char LAST_HAN = '\u9FA5';
+
+	private static final int HAN_COUNT = LAST_HAN - FIRST_HAN + 1;
+
+	/**
+	 * 线程缓冲区保留的最大长度，超过时按需临时分配，避免个别超长值长期占用内存
+	 */
+	private static final int MAX_RETAINED_SCRATCH = 1024;
+
+	private final String algorithm;
+
+	private final byte[] key;
+
+	private final boolean preserveFormat;
+
+	private final int tokenLength;
+
+	private final ThreadLocal<Session> sessions = ThreadLocal.withInitial(this::newSession);
+
+	/**
+	 * 供子类使用的构造方法
+	 *
+	 * @param builder 构建器
+	 */
+	protected PseudonymHandler(Builder builder) {
+		this.algorithm = builder.algorithm;
+		this.key = builder.key.clone();
+		this.preserveFormat = builder.preserveFormat;
+		// 提前创建一次，使算法或密钥不可用时在构建阶段失败
+		Session session = newSession();
+		int macLength = session.digest.length;
+		if (builder.tokenLength < 1 || builder.tokenLength > macLength) {
+			throw new IllegalArgumentException(String.format(
+					"Token length must be between 1 and %d for %s, got %d", macLength, algorithm, builder.tokenLength));
+		}
+		this.tokenLength = builder.tokenLength;
+		sessions.set(session);
+	}
+
+	/**
+	 * 创建构建器
+	 *
+	 * @param key 密钥，建议不少于 32 字节
+	 * @return 构建器
+	 */
+	public static Builder builder(byte[] key) {
+		return new Builder(key);
+	}
+
+	@Override
+	public String getMaskingValue(String value) {
+		if (value == null || value.isEmpty()) {
+			return value;
+		}
+		Session session = sessions.get();
+		hash(session, value, 0, value.length());
+		int length = outputLength(value.length());
+		char[] chars = session.chars(length);
+		render(session, value, 0, value.length(), chars, 0);
+		return new String(chars, 0, length);
+	}
+
+	@Override
+	public void maskTo(CharSequence src, int start, int end, StringBuilder out) {
+		if (start == end) {
+			return;
+		}
+		Session session = sessions.get();
+		hash(session, src, start, end);
+		int length = outputLength(end - start);
+		char[] chars = session.chars(length);
+		render(session, src, start, end, chars, 0);
+		out.append(chars, 0, length);
+	}
+
+	@Override
+	public int maskTo(CharSequence src, int start, int end, char[] dst, int offset) {
+		if (start == end) {
+			return 0;
+		}
+		int length = outputLength(end - start);
+		AppendableMaskingHandler.checkCapacity(dst, offset, length);
+		Session session = sessions.get();
+		hash(session, src, start, end);
+		render(session, src, start, end, dst, offset);
+		return length;
+	}
+
+	@Override
+	public void mask(ByteBuffer src, int start, int end, Utf8Sink out) {
+		if (start == end) {
+			return;
+		}
+		if (preserveFormat) {
+			for (int i = start; i < end; i++) {
+				if (src.get(i) < 0) {
+					// 非 ASCII 字符需要按字符映射，交由字符串实现
+					Utf8MaskingHandler.maskDecoded(this, src, start, end, out);
+					return;
+				}
+			}
+		}
+		Session session = sessions.get();
+		Mac mac = session.mac;
+		if (src.hasArray()) {
+			mac.update(src.array(), src.arrayOffset() + start, end - start);
+		} else {
+			byte[] input = session.input;
+			for (int i = start; i < end; ) {
+				int n = Math.min(input.length, end - i);
+				for (int j = 0; j < n; j++) {
+					input[j] = src.get(i + j);
+				}
+				mac.update(input, 0, n);
+				i += n;
+			}
+		}
+		finish(session);
+		if (!preserveFormat) {
+			for (int i = 0; i < tokenLength; i++) {
+				out.write(TOKEN_ALPHABET[session.digest[i] & 63]);
+			}
+			return;
+		}
+		// 与字符实现使用相同的随机量偏移，保证两条路径结果一致
+		byte[] stream = session.stream(2 * (end - start));
+		for (int i = start; i < end; i++) {
+			out.write(mapAscii((char) src.get(i), stream[2 * (i - start)] & 0xFF));
+		}
+	}
+
+	private int outputLength(int inputLength) {
+		return preserveFormat ? inputLength : tokenLength;
+	}
+
+	/**
+	 * 将 [start, end) 范围字符的 UTF-8 编码送入 Mac，结果写入会话的摘要缓冲区
+	 */
+	private static void hash(Session session, CharSequence src, int start, int end) {
+		Mac mac = session.mac;
+		byte[] input = session.input;
+		int limit = input.length - 4;
+		int n = 0;
+		for (int i = start; i < end; i++) {
+			if (n > limit) {
+				mac.update(input, 0, n);
+				n = 0;
+			}
+			char c = src.charAt(i);
+			if (c < 0x80) {
+				input[n++] = (byte) c;
+			} else if (c < 0x800) {
+				input[n++] = (byte) (0xC0 | c >> 6);
+				input[n++] = (byte) (0x80 | c & 0x3F);
+			} else if (!Character.isSurrogate(c)) {
+				input[n++] = (byte) (0xE0 | c >> 12);
+				input[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+				input[n++] = (byte) (0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(src.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, src.charAt(++i));
+				input[n++] = (byte) (0xF0 | cp >> 18);
+				input[n++] = (byte) (0x80 | cp >> 12 & 0x3F);
+				input[n++] = (byte) (0x80 | cp >> 6 & 0x3F);
+				input[n++] = (byte) (0x80 | cp & 0x3F);
+			} else {
+				// 与 String#getBytes 一致，孤立的代理字符编码为 '?'
+				input[n++] = '?';
+			}
+		}
+		mac.update(input, 0, n);
+		finish(session);
+	}
+
+	private static void finish(Session session) {
+		try {
+			session.mac.doFinal(session.digest, 0);
+		} catch (ShortBufferException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 根据摘要渲染输出，调用前需已计算摘要且目标数组空间充足
+	 */
+	private void render(Session session, CharSequence src, int start, int end, char[] dst, int offset) {
+		byte[] digest = session.digest;
+		if (!preserveFormat) {
+			for (int i = 0; i < tokenLength; i++) {
+				dst[offset + i] = TOKEN_ALPHABET[digest[i] & 63];
+			}
+			return;
+		}
+		// 每个字符预留两个字节的随机量（汉字需要两个），使各字符的映射与其前面的字符类别无关
+		byte[] stream = session.stream(2 * (end - start));
+		for (int i = start; i < end; i++) {
+			char c = src.charAt(i);
+			int k = 2 * (i - start);
+			if (c >= FIRST_HAN && c <= LAST_HAN) {
+				int r = (stream[k] & 0xFF) << 8 | stream[k + 1] & 0xFF;
+				dst[offset + i - start] = (char) (FIRST_HAN + r % HAN_COUNT);
+			} else {
+				dst[offset + i - start] = mapAscii(c, stream[k] & 0xFF);
+			}
+		}
+	}
+
+	private static char mapAscii(char c, int r) {
+		if (c >= '0' && c <= '9') {
+			return DIGITS[r];
+		}
+		if (c >= 'a' && c <= 'z') {
+			return LOWER[r];
+		}
+		if (c >= 'A' && c <= 'Z') {
+			return UPPER[r];
+		}
+		return c;
+	}
+
+	/**
+	 * 预先计算字节到字母表字符的映射，查表代替逐次取模
+	 */
+	private static char[] table(String alphabet) {
+		char[] table = new char[256];
+		for (int i = 0; i < table.length; i++) {
+			table[i] = alphabet.charAt(i % alphabet.length());
+		}
+		return table;
+	}
+
+	private Session newSession() {
+		try {
+			Mac mac = Mac.getInstance(algorithm);
+			mac.init(new SecretKeySpec(key, algorithm));
+			return new Session(mac);
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IllegalArgumentException(String.format("Unsupported keyed hash algorithm: %s", algorithm), e);
+		}
+	}
+
+	/**
+	 * 线程私有的 Mac 实例与缓冲区
+	 */
+	private static final class Session {
+
+		private final Mac mac;
+
+		private final byte[] input = new byte[256];
+
+		private final byte[] digest;
+
+		private byte[] stream;
+
+		private char[] chars = new char[64];
+
+		Session(Mac mac) {
+			this.mac = mac;
+			this.digest = new byte[mac.getMacLength()];
+			this.stream = digest;
+		}
+
+		/**
+		 * 返回长度不少于 {@code length} 的随机字节流：首块为摘要本身，
+		 * 后续块依次为 HMAC(摘要 || 块序号)，仅在原值较长时计算
+		 */
+		byte[] stream(int length) {
+			int macLength = digest.length;
+			if (length <= macLength) {
+				return digest;
+			}
+			int blocks = (length + macLength - 1) / macLength;
+			byte[] out = stream.length >= blocks * macLength ? stream : new byte[blocks * macLength];
+			if (out.length <= MAX_RETAINED_SCRATCH) {
+				stream = out;
+			}
+			System.arraycopy(digest, 0, out, 0, macLength);
+			try {
+				for (int b = 1; b < blocks; b++) {
+					mac.update(digest);
+					mac.update((byte) (b >>> 24));
+					mac.update((byte) (b >>> 16));
+					mac.update((byte) (b >>> 8));
+					mac.update((byte) b);
+					mac.doFinal(out, b * macLength);
+				}
+			} catch (ShortBufferException e) {
+				throw new IllegalStateException(e);
+			}
+			return out;
+		}
+
+		char[] chars(int length) {
+			if (chars.length < length) {
+				char[] grown = new char[length];
+				if (length <= MAX_RETAINED_SCRATCH) {
+					chars = grown;
+				}
+				return grown;
+			}
+			return chars;
+		}
+	}
+
+	/**
+	 * 构建器
+	 */
+	public static final class Builder {
+
+		private final byte[] key;
+
+		private String algorithm = DEFAULT_ALGORITHM;
+
+		private boolean preserveFormat;
+
+		private int tokenLength = DEFAULT_TOKEN_LENGTH;
+
+		private Builder(byte[] key) {
+			if (key == null || key.length == 0) {
+				throw new IllegalArgumentException("Pseudonym key must not be empty");
+			}
+			this.key = key.clone();
+		}
+
+		/**
+		 * 设置 Mac 算法，默认 HmacSHA256
+		 *
+		 * @param algorithm JCA 算法名，如 HmacSHA512
+		 * @return 构建器
+		 */
+		public Builder algorithm(String algorithm) {
+			if (algorithm == null || algorithm.isEmpty()) {
+				throw new IllegalArgumentException("Algorithm must not be empty");
+			}
+			this.algorithm = algorithm;
+			return this;
+		}
+
+		/**
+		 * 是否保留原值格式（等长、字符类别不变）
+		 *
+		 * @param preserveFormat 保留格式
+		 * @return 构建器
+		 */
+		public Builder preserveFormat(boolean preserveFormat) {
+			this.preserveFormat = preserveFormat;
+			return this;
+		}
+
+		/**
+		 * 设置令牌长度（不保留格式时生效），不能超过算法的摘要字节数
+		 *
+		 * @param tokenLength 令牌长度
+		 * @return 构建器
+		 */
+		public Builder tokenLength(int tokenLength) {
+			this.tokenLength = tokenLength;
+			return this;
+		}
+
+		public PseudonymHandler build() {
+			return new PseudonymHandler(this);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 字节级脱敏处理器
+ * <p>
+ * 直接处理 UTF-8 编码的字节，无需先解码为 {@link String}，用于网关等持有原始字节的场景。
+ * 实现必须与对应 {@link MaskingHandler} 的语义保持一致：对同一输入，
+ * 写出的字节应等于 {@code getMaskingValue} 返回值的 UTF-8 编码。
+ * </p>
+ * <p>
+ * 内置处理器均已原生实现本接口；其他处理器可通过 {@link #of(MaskingHandler)} 桥接，
+ * 桥接实现会先解码、调用原处理器、再编码写出。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface Utf8MaskingHandler {
+
+	/**
+	 * 对 [start, end) 范围内的 UTF-8 字节脱敏，并将结果写入 {@code out}
+	 * <p>
+	 * 输入与输出均为未经转义的原始 UTF-8 文本。实现不得修改 {@code src} 的内容与 position。
+	 * </p>
+	 *
+	 * @param src   源缓冲区（绝对下标访问）
+	 * @param start 起始下标（包含）
+	 * @param end   结束下标（不包含）
+	 * @param out   输出缓冲区
+	 */
+	void mask(ByteBuffer src, int start, int end, Utf8Sink out);
+
+	/**
+	 * 获取处理器的字节级实现
+	 *
+	 * @param handler 脱敏处理器
+	 * @return 原生实现本接口时返回其自身，否则返回桥接实现
+	 */
+	static Utf8MaskingHandler of(MaskingHandler handler) {
+		if (handler instanceof Utf8MaskingHandler) {
+			return (Utf8MaskingHandler) handler;
+		}
+		return (src, start, end, out) -> maskDecoded(handler, src, start, end, out);
+	}
+
+	/**
+	 * 解码后调用字符串处理器，并将结果编码写出
+	 * <p>
+	 * 字节接口只能写出文本，无法表达 {@code null}：处理器返回 {@code null} 时不写出任何内容，即等同于空字符串。
+	 * 需要区分 {@code null} 的调用方应直接调用 {@link MaskingHandler#getMaskingValue(String)}，
+	 * 例如 {@code Utf8JsonMasker} 会将其改写为 JSON 字面量 {@code null}。
+	 * </p>
+	 *
+	 * @param handler 脱敏处理器
+	 * @param src     源缓冲区
+	 * @param start   起始下标（包含）
+	 * @param end     结束下标（不包含）
+	 * @param out     输出缓冲区
+	 */
+	static void maskDecoded(MaskingHandler handler, ByteBuffer src, int start, int end, Utf8Sink out) {
+		String masked = handler.getMaskingValue(decode(src, start, end));
+		if (masked != null) {
+			out.writeUtf8(masked);
+		}
+	}
+
+	/**
+	 * 将 [start, end) 范围内的 UTF-8 字节解码为字符串
+	 *
+	 * @param src   源缓冲区
+	 * @param start 起始下标（包含）
+	 * @param end   结束下标（不包含）
+	 * @return 字符串
+	 */
+	static String decode(ByteBuffer src, int start, int end) {
+		if (src.hasArray()) {
+			return new String(src.array(), src.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+		}
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = src.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,186 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 可增长的 UTF-8 字节输出缓冲区
+ * <p>
+ * 供 {@link Utf8MaskingHandler} 写出脱敏结果使用，调用方可在多次脱敏之间复用同一实例以避免分配。
+ * 本类非线程安全。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class Utf8Sink {
+
+	private byte[] buf;
+
+	private int size;
+
+	public Utf8Sink() {
+		this(64);
+	}
+
+	/**
+	 * @param initialCapacity 初始容量（字节）
+	 */
+	public Utf8Sink(int initialCapacity) {
+		this.buf = new byte[Math.max(initialCapacity, 16)];
+	}
+
+	/**
+	 * 写入单个字节
+	 *
+	 * @param b 字节
+	 */
+	public void write(int b) {
+		ensureCapacity(1);
+		buf[size++] = (byte) b;
+	}
+
+	/**
+	 * 写入字节数组片段
+	 *
+	 * @param src 源数组
+	 * @param off 起始下标
+	 * @param len 长度
+	 */
+	public void write(byte[] src, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(src, off, buf, size, len);
+		size += len;
+	}
+
+	/**
+	 * 写入缓冲区中 [start, end) 范围的字节（绝对下标，不改变源缓冲区的 position）
+	 *
+	 * @param src   源缓冲区，支持堆内与堆外
+	 * @param start 起始下标（包含）
+	 * @param end   结束下标（不包含）
+	 */
+	public void write(ByteBuffer src, int start, int end) {
+		int len = end - start;
+		ensureCapacity(len);
+		if (src.hasArray()) {
+			System.arraycopy(src.array(), src.arrayOffset() + start, buf, size, len);
+		} else {
+			for (int i = start; i < end; i++) {
+				buf[size + i - start] = src.get(i);
+			}
+		}
+		size += len;
+	}
+
+	/**
+	 * 重复写入同一个字节
+	 *
+	 * @param b     字节
+	 * @param count 次数
+	 */
+	public void writeRepeated(int b, int count) {
+		if (count <= 0) {
+			return;
+		}
+		ensureCapacity(count);
+		Arrays.fill(buf, size, size + count, (byte) b);
+		size += count;
+	}
+
+	/**
+	 * 以 UTF-8 编码写入字符序列，孤立的代理字符写为 {@code ?}
+	 *
+	 * @param s 字符序列
+	 */
+	public void writeUtf8(CharSequence s) {
+		int len = s.length();
+		for (int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				ensureCapacity(1);
+				buf[size++] = (byte) c;
+			} else if (c < 0x800) {
+				ensureCapacity(2);
+				buf[size++] = (byte) (0xC0 | (c >> 6));
+				buf[size++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, s.charAt(++i));
+				ensureCapacity(4);
+				buf[size++] = (byte) (0xF0 | (cp >> 18));
+				buf[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				buf[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				buf[size++] = (byte) (0x80 | (cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				ensureCapacity(1);
+				buf[size++] = '?';
+			} else {
+				ensureCapacity(3);
+				buf[size++] = (byte) (0xE0 | (c >> 12));
+				buf[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buf[size++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+	/**
+	 * 已写入的字节数
+	 *
+	 * @return 字节数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 内部字节数组，有效数据为 [0, {@link #size()})；后续写入可能替换该数组
+	 *
+	 * @return 内部字节数组
+	 */
+	public byte[] array() {
+		return buf;
+	}
+
+	/**
+	 * 当前容量（字节）
+	 *
+	 * @return 容量
+	 */
+	public int capacity() {
+		return buf.length;
+	}
+
+	/**
+	 * 截断到指定长度
+	 *
+	 * @param newSize 新长度，不能超过当前长度
+	 */
+	public void truncate(int newSize) {
+		if (newSize < 0 || newSize > size) {
+			throw new IndexOutOfBoundsException("Invalid size: " + newSize + ", current size: " + size);
+		}
+		size = newSize;
+	}
+
+	/**
+	 * 清空内容，保留已分配的容量
+	 */
+	public void reset() {
+		size = 0;
+	}
+
+	@Override
+	public String toString() {
+		return new String(buf, 0, size, StandardCharsets.UTF_8);
+	}
+
+	private void ensureCapacity(int extra) {
+		int required = size + extra;
+		if (required > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(required, buf.length << 1));
+		}
+	}
+
+}
@@ -0,0 +1,392 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.AppendableMaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * CSV 流式脱敏器
+ * <p>
+ * 按 RFC 4180 逐条读取 CSV 记录（支持引号包裹、{@code ""} 转义以及字段内换行），
+ * 首行作为表头，按列名在 {@code handlerMap} 中解析一次各列的处理器，之后单遍处理所有数据行：
+ * </p>
+ * <ul>
+ *   <li>命中规则的列：去除引号与转义后交给处理器（通过 {@link AppendableMaskingHandler} 写入复用的缓冲区），结果按需重新加引号写出</li>
+ *   <li>其余列与分隔符、换行符：按原始字符区间直接写出，不做任何解析与拷贝</li>
+ * </ul>
+ * <p>
+ * 行缓冲区与字段边界数组在整个调用中复用，内存占用只与最长的一条记录相关，与文件大小无关。
+ * {@link io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap} 的通配符 / 正则规则同样按列名生效。
+ * </p>
+ * <p>
+ * 本类不可变，可在多线程间共享；每次 {@link #mask(Reader, Writer)} 调用使用独立的缓冲区。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class CsvMasker {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private static final char QUOTE = '"';
+
+    private final Map<String, MaskingHandler> handlerMap;
+
+    private final char delimiter;
+
+    private CsvMasker(Builder builder) {
+        this.handlerMap = builder.handlerMap;
+        this.delimiter = builder.delimiter;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param handlerMap 列级脱敏处理器映射表，Key 为表头中的列名
+     * @return 构建器
+     */
+    public static Builder builder(Map<String, MaskingHandler> handlerMap) {
+        return new Builder(handlerMap);
+    }
+
+    /**
+     * 读取 CSV 并写出脱敏结果
+     * <p>
+     * 方法不会关闭 {@code in} 与 {@code out}，返回前会刷新 {@code out}。
+     * </p>
+     *
+     * @param in  CSV 输入，首行为表头
+     * @param out 脱敏结果输出
+     * @return 处理的数据行数（不含表头）
+     * @throws IOException 读写失败时抛出
+     */
+    public long mask(Reader in, Writer out) throws IOException {
+        Cursor cursor = new Cursor(in);
+        if (!cursor.next()) {
+            out.flush();
+            return 0;
+        }
+        AppendableMaskingHandler[] handlers = resolveHandlers(cursor);
+        cursor.writeRaw(out, 0, cursor.rowLength);
+
+        long rows = 0;
+        FieldBuffers buffers = new FieldBuffers();
+        while (cursor.next()) {
+            writeRow(cursor, handlers, out, buffers);
+            rows++;
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * 按表头列名解析各列处理器，未配置的列为 {@code null}
+     */
+    private AppendableMaskingHandler[] resolveHandlers(Cursor header) {
+        AppendableMaskingHandler[] handlers = new AppendableMaskingHandler[header.fieldCount];
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < header.fieldCount; i++) {
+            name.setLength(0);
+            header.unquote(i, name);
+            // 去除 UTF-8 BOM
+            if (i == 0 && name.length() > 0 && name.charAt(0) == '\uFEFF') {
+                name.deleteCharAt(0);
+            }
+            MaskingHandler handler = handlerMap.get(name.toString());
+            handlers[i] = handler == null ? null : AppendableMaskingHandler.of(handler);
+        }
+        return handlers;
+    }
+
+    private void writeRow(Cursor row, AppendableMaskingHandler[] handlers, Writer out,
+                          FieldBuffers buffers) throws IOException {
+        // 未修改的区间延迟到下一个脱敏字段或行尾时一次性写出
+        int pending = 0;
+        int columns = Math.min(row.fieldCount, handlers.length);
+        for (int i = 0; i < columns; i++) {
+            AppendableMaskingHandler handler = handlers[i];
+            if (handler == null) {
+                continue;
+            }
+            int start = row.fieldStart[i];
+            row.writeRaw(out, pending, start);
+            pending = row.fieldEnd[i];
+
+            StringBuilder value = buffers.value;
+            value.setLength(0);
+            row.unquote(i, value);
+            buffers.masked.setLength(0);
+            // 处理器直接写入复用的缓冲区，不创建结果字符串
+            handler.maskTo(value, 0, value.length(), buffers.masked);
+            writeField(out, buffers.masked, row.isQuoted(i), buffers);
+        }
+        row.writeRaw(out, pending, row.rowLength);
+    }
+
+    private void writeField(Writer out, StringBuilder value, boolean quoted, FieldBuffers buffers) throws IOException {
+        if (value.length() == 0) {
+            if (quoted) {
+                out.write(QUOTE);
+                out.write(QUOTE);
+            }
+            return;
+        }
+        if (!quoted && !needsQuote(value)) {
+            buffers.write(out, value);
+            return;
+        }
+        StringBuilder escaped = buffers.escaped;
+        escaped.setLength(0);
+        escaped.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                escaped.append(QUOTE);
+            }
+            escaped.append(c);
+        }
+        escaped.append(QUOTE);
+        buffers.write(out, escaped);
+    }
+
+    private boolean needsQuote(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == QUOTE || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 记录读取游标
+     * <p>
+     * 每次 {@link #next()} 将一条完整记录（含行尾换行符）的原始字符读入 {@link #row}，
+     * 并记录各字段的原始区间 [fieldStart, fieldEnd)，区间包含引号。
+     * </p>
+     */
+    private final class Cursor {
+
+        private final Reader reader;
+
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+
+        private int bufferPosition;
+
+        private int bufferLimit;
+
+        private char[] row = new char[256];
+
+        private int rowLength;
+
+        private int[] fieldStart = new int[16];
+
+        private int[] fieldEnd = new int[16];
+
+        private int fieldCount;
+
+        Cursor(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * 读取下一条记录
+         *
+         * @return 到达输入末尾时返回 {@code false}
+         */
+        boolean next() throws IOException {
+            rowLength = 0;
+            fieldCount = 0;
+            int c = read();
+            if (c < 0) {
+                return false;
+            }
+            int start = 0;
+            boolean inQuotes = false;
+            boolean quotable = true;
+            while (true) {
+                if (c < 0) {
+                    addField(start, rowLength);
+                    return true;
+                }
+                if (inQuotes) {
+                    append((char) c);
+                    if (c == QUOTE) {
+                        int peek = read();
+                        if (peek == QUOTE) {
+                            append(QUOTE);
+                        } else {
+                            inQuotes = false;
+                            c = peek;
+                            continue;
+                        }
+                    }
+                } else if (c == delimiter) {
+                    addField(start, rowLength);
+                    append((char) c);
+                    start = rowLength;
+                    quotable = true;
+                } else if (c == '\n' || c == '\r') {
+                    addField(start, rowLength);
+                    append((char) c);
+                    if (c == '\r') {
+                        int peek = read();
+                        if (peek == '\n') {
+                            append('\n');
+                        } else {
+                            unread(peek);
+                        }
+                    }
+                    return true;
+                } else {
+                    // 仅字段首字符为引号时进入引号模式，字段中间的引号按普通字符处理
+                    if (c == QUOTE && quotable) {
+                        inQuotes = true;
+                    }
+                    quotable = false;
+                    append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        boolean isQuoted(int field) {
+            return fieldEnd[field] > fieldStart[field] && row[fieldStart[field]] == QUOTE;
+        }
+
+        /**
+         * 将字段值（去除引号与 {@code ""} 转义）追加到 {@code target}
+         */
+        void unquote(int field, StringBuilder target) {
+            int start = fieldStart[field];
+            int end = fieldEnd[field];
+            if (!isQuoted(field)) {
+                target.append(row, start, end - start);
+                return;
+            }
+            for (int i = start + 1; i < end; i++) {
+                char c = row[i];
+                if (c == QUOTE) {
+                    if (i + 1 < end && row[i + 1] == QUOTE) {
+                        target.append(QUOTE);
+                        i++;
+                    }
+                    // 闭合引号，其后的字符按原样保留
+                    continue;
+                }
+                target.append(c);
+            }
+        }
+
+        void writeRaw(Writer out, int from, int to) throws IOException {
+            if (to > from) {
+                out.write(row, from, to - from);
+            }
+        }
+
+        private void addField(int start, int end) {
+            if (fieldCount == fieldStart.length) {
+                fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+                fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+            }
+            fieldStart[fieldCount] = start;
+            fieldEnd[fieldCount] = end;
+            fieldCount++;
+        }
+
+        private void append(char c) {
+            if (rowLength == row.length) {
+                row = Arrays.copyOf(row, rowLength * 2);
+            }
+            row[rowLength++] = c;
+        }
+
+        private int read() throws IOException {
+            if (bufferPosition == bufferLimit) {
+                int n = reader.read(buffer, 0, buffer.length);
+                if (n <= 0) {
+                    return -1;
+                }
+                bufferPosition = 0;
+                bufferLimit = n;
+            }
+            return buffer[bufferPosition++];
+        }
+
+        private void unread(int c) {
+            if (c >= 0) {
+                bufferPosition--;
+            }
+        }
+    }
+
+    /**
+     * 脱敏字段使用的复用缓冲区
+     */
+    private static final class FieldBuffers {
+
+        private final StringBuilder value = new StringBuilder();
+
+        private final StringBuilder masked = new StringBuilder();
+
+        private final StringBuilder escaped = new StringBuilder();
+
+        private char[] transfer = new char[256];
+
+        /**
+         * 经由复用的字符数组写出，避免 {@link Writer#append(CharSequence)} 创建字符串
+         */
+        void write(Writer out, StringBuilder sb) throws IOException {
+            int length = sb.length();
+            if (transfer.length < length) {
+                transfer = new char[Math.max(length, transfer.length * 2)];
+            }
+            sb.getChars(0, length, transfer, 0);
+            out.write(transfer, 0, length);
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+
+        private final Map<String, MaskingHandler> handlerMap;
+
+        private char delimiter = ',';
+
+        private Builder(Map<String, MaskingHandler> handlerMap) {
+            if (handlerMap == null) {
+                throw new IllegalArgumentException("handlerMap must not be null");
+            }
+            this.handlerMap = handlerMap;
+        }
+
+        /**
+         * 字段分隔符，默认 {@code ,}
+         *
+         * @param delimiter 分隔符，不能为引号或换行符
+         * @return 当前构建器
+         */
+        public Builder delimiter(char delimiter) {
+            if (delimiter == QUOTE || delimiter == '\r' || delimiter == '\n') {
+                throw new IllegalArgumentException("Invalid CSV delimiter: " + delimiter);
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public CsvMasker build() {
+            return new CsvMasker(this);
+        }
+    }
+
+}
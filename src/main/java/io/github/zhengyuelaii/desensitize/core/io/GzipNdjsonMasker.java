@@ -0,0 +1,640 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP 压缩的 NDJSON 文件流水线脱敏工具
+ * <p>
+ * 将解压、脱敏、压缩拆分为三个独立阶段，分别运行在不同线程上，使解压 / 压缩与脱敏重叠执行：
+ * </p>
+ * <ol>
+ *   <li>解压阶段（1 个线程）：读取 GZIP 流，按记录边界（换行符）切分为数据块</li>
+ *   <li>脱敏阶段（{@code parallelism} 个线程）：使用 {@link Utf8JsonMasker} 并行脱敏各数据块</li>
+ *   <li>压缩阶段（调用线程）：按原始顺序取回结果并写入 GZIP 输出流</li>
+ * </ol>
+ * <p>
+ * 阶段之间通过容量为 {@code queueCapacity} 的有界队列连接，下游较慢时上游自动阻塞；
+ * 数据块缓冲区在阶段间循环复用，内存占用与文件大小无关。
+ * 运行结束后返回各阶段的吞吐统计，{@link Stats#getBottleneck()} 给出限制整体速度的阶段。
+ * </p>
+ * <p>
+ * 本类不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class GzipNdjsonMasker {
+
+    /**
+     * 默认数据块大小（解压后）：1 MB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private static final Future<Chunk> END = CompletableFuture.completedFuture(null);
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+
+    private final Utf8JsonMasker masker;
+
+    private final int parallelism;
+
+    private final int chunkSize;
+
+    private final int queueCapacity;
+
+    private GzipNdjsonMasker(Builder builder) {
+        this.masker = builder.masker;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+        this.queueCapacity = builder.queueCapacity > 0 ? builder.queueCapacity : builder.parallelism * 2;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param handlerMap    字段级脱敏处理器映射表，可为 {@code null}
+     * @param excludeFields 需要跳过脱敏的字段名集合，可为 {@code null}
+     * @return 构建器
+     */
+    public static Builder builder(Map<String, MaskingHandler> handlerMap, Set<String> excludeFields) {
+        return new Builder(new Utf8JsonMasker(handlerMap, excludeFields));
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param masker JSON 字节脱敏器
+     * @return 构建器
+     */
+    public static Builder builder(Utf8JsonMasker masker) {
+        return new Builder(masker);
+    }
+
+    /**
+     * 脱敏 GZIP 输入文件并写出为 GZIP 输出文件（覆盖已有内容）
+     *
+     * @param input  GZIP 压缩的 NDJSON 文件
+     * @param output 输出文件，不能与输入文件相同
+     * @return 运行统计
+     * @throws IOException 读写失败或输入不是合法的 GZIP 数据时抛出
+     */
+    public Stats mask(Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output file must differ from the input file: " + output);
+        }
+        try (InputStream in = Files.newInputStream(input);
+             OutputStream out = Files.newOutputStream(output)) {
+            return mask(in, out);
+        }
+    }
+
+    /**
+     * 脱敏 GZIP 输入流并写出为 GZIP 输出流
+     * <p>
+     * 方法不会关闭 {@code in} 与 {@code out}，返回前 GZIP 输出已完整写出并刷新。
+     * 失败时不写出 GZIP 尾部，已写出的截断内容无法被当作完整文件解压。
+     * </p>
+     *
+     * @param in  GZIP 压缩的 NDJSON 输入
+     * @param out GZIP 输出
+     * @return 运行统计
+     * @throws IOException 读写失败或输入不是合法的 GZIP 数据时抛出
+     */
+    public Stats mask(InputStream in, OutputStream out) throws IOException {
+        long startNanos = System.nanoTime();
+        Pipeline pipeline = new Pipeline();
+        ExecutorService inflater = Executors.newSingleThreadExecutor(workerFactory("gzip-inflate-"));
+        ExecutorService maskers = Executors.newFixedThreadPool(parallelism, workerFactory("gzip-mask-"));
+        try {
+            inflater.execute(() -> inflate(in, pipeline, maskers));
+
+            long chunks = 0;
+            ShieldedOutputStream shielded = new ShieldedOutputStream(out);
+            GZIPOutputStream gzip = new GZIPOutputStream(shielded, STREAM_BUFFER_SIZE);
+            boolean completed = false;
+            try {
+                Chunk chunk;
+                while ((chunk = await(take(pipeline.ordered))) != null) {
+                    ByteBuffer data = chunk.data;
+                    long t = System.nanoTime();
+                    gzip.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                    pipeline.deflate.record(data.remaining(), System.nanoTime() - t);
+                    pipeline.recycle(chunk);
+                    chunks++;
+                }
+                long t = System.nanoTime();
+                gzip.finish();
+                pipeline.deflate.record(0, System.nanoTime() - t);
+                completed = true;
+            } finally {
+                if (!completed) {
+                    // close() 内部会调用 finish()，先丢弃后续写入，只释放压缩器而不写出尾部
+                    shielded.discard();
+                }
+                gzip.close();
+            }
+            return new Stats(chunks, System.nanoTime() - startNanos,
+                    pipeline.inflate.snapshot("inflate", 1),
+                    pipeline.mask.snapshot("mask", parallelism),
+                    pipeline.deflate.snapshot("deflate", 1));
+        } finally {
+            inflater.shutdownNow();
+            maskers.shutdownNow();
+        }
+    }
+
+    /**
+     * 解压阶段：按换行符切分数据块并提交脱敏，结果按提交顺序放入有序队列
+     */
+    private void inflate(InputStream compressed, Pipeline pipeline, ExecutorService maskers) {
+        try (InputStream in = new GZIPInputStream(new ShieldedInputStream(compressed), STREAM_BUFFER_SIZE)) {
+            byte[] buf = pipeline.borrowInput(chunkSize);
+            int length = 0;
+            boolean eof = false;
+            while (!eof) {
+                long t = System.nanoTime();
+                while (length < buf.length) {
+                    int n = in.read(buf, length, buf.length - length);
+                    if (n < 0) {
+                        eof = true;
+                        break;
+                    }
+                    length += n;
+                }
+                int cut = eof ? length : lastNewline(buf, length) + 1;
+                if (cut == 0 && !eof) {
+                    // 单条记录超过数据块大小，扩大缓冲区继续读取
+                    byte[] grown = new byte[buf.length * 2];
+                    System.arraycopy(buf, 0, grown, 0, length);
+                    buf = grown;
+                    pipeline.inflate.record(0, System.nanoTime() - t);
+                    continue;
+                }
+                int rest = length - cut;
+                byte[] next = pipeline.borrowInput(Math.max(chunkSize, rest));
+                System.arraycopy(buf, cut, next, 0, rest);
+                pipeline.inflate.record(cut, System.nanoTime() - t);
+
+                if (cut > 0) {
+                    byte[] input = buf;
+                    int inputLength = cut;
+                    pipeline.ordered.put(maskers.submit(() -> maskChunk(input, inputLength, pipeline)));
+                } else {
+                    pipeline.inputPool.offer(buf);
+                }
+                buf = next;
+                length = rest;
+            }
+            pipeline.ordered.put(END);
+        } catch (InterruptedException e) {
+            // 压缩阶段已结束（失败或被取消），无需继续
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            CompletableFuture<Chunk> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            try {
+                pipeline.ordered.put(failed);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 脱敏阶段
+     */
+    private Chunk maskChunk(byte[] input, int length, Pipeline pipeline) {
+        long t = System.nanoTime();
+        ByteBuffer src = ByteBuffer.wrap(input, 0, length);
+        ByteBuffer dst = pipeline.outputPool.poll();
+        // 脱敏结果通常与原文等长，预留少量余量以容纳变长的处理器输出
+        int expected = length + (length >> 3) + 1024;
+        if (dst == null || dst.capacity() < expected) {
+            dst = ByteBuffer.allocate(expected);
+        }
+        try {
+            while (true) {
+                ((Buffer) dst).clear();
+                try {
+                    if (masker.mask(src, dst) == Utf8JsonMasker.Outcome.IN_PLACE) {
+                        pipeline.outputPool.offer(dst);
+                        return new Chunk(src, input, null);
+                    }
+                    ((Buffer) dst).flip();
+                    pipeline.inputPool.offer(input);
+                    return new Chunk(dst, null, dst);
+                } catch (BufferOverflowException e) {
+                    dst = ByteBuffer.allocate(dst.capacity() * 2);
+                }
+            }
+        } finally {
+            pipeline.mask.record(length, System.nanoTime() - t);
+        }
+    }
+
+    private static int lastNewline(byte[] buf, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buf[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Future<Chunk> take(BlockingQueue<Future<Chunk>> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while masking GZIP file", e);
+        }
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while masking GZIP file", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Failed to mask GZIP chunk", cause);
+        }
+    }
+
+    private static ThreadFactory workerFactory(String prefix) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + THREAD_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 单次运行的阶段间共享状态
+     */
+    private final class Pipeline {
+
+        private final BlockingQueue<Future<Chunk>> ordered = new ArrayBlockingQueue<>(queueCapacity);
+
+        private final BlockingQueue<byte[]> inputPool = new ArrayBlockingQueue<>(queueCapacity + parallelism);
+
+        private final BlockingQueue<ByteBuffer> outputPool = new ArrayBlockingQueue<>(queueCapacity + parallelism);
+
+        private final StageCounter inflate = new StageCounter();
+
+        private final StageCounter mask = new StageCounter();
+
+        private final StageCounter deflate = new StageCounter();
+
+        byte[] borrowInput(int minimumSize) {
+            byte[] buf = inputPool.poll();
+            return buf != null && buf.length >= minimumSize ? buf : new byte[minimumSize];
+        }
+
+        void recycle(Chunk chunk) {
+            if (chunk.input != null) {
+                inputPool.offer(chunk.input);
+            }
+            if (chunk.output != null) {
+                outputPool.offer(chunk.output);
+            }
+        }
+    }
+
+    /**
+     * 数据块脱敏结果
+     */
+    private static final class Chunk {
+
+        private final ByteBuffer data;
+
+        /**
+         * 写出后需要归还的输入缓冲区，可为 {@code null}
+         */
+        private final byte[] input;
+
+        /**
+         * 写出后需要归还的输出缓冲区，可为 {@code null}
+         */
+        private final ByteBuffer output;
+
+        Chunk(ByteBuffer data, byte[] input, ByteBuffer output) {
+            this.data = data;
+            this.input = input;
+            this.output = output;
+        }
+    }
+
+    /**
+     * 阶段计数器，只统计阶段实际工作的时间，不含在队列上等待的时间
+     */
+    private static final class StageCounter {
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder busyNanos = new LongAdder();
+
+        void record(long byteCount, long nanos) {
+            bytes.add(byteCount);
+            busyNanos.add(nanos);
+        }
+
+        StageStats snapshot(String name, int threads) {
+            return new StageStats(name, threads, bytes.sum(), busyNanos.sum());
+        }
+    }
+
+    /**
+     * 不关闭底层流的输入流包装，用于释放 GZIP 解压器而保留调用方的流
+     */
+    private static final class ShieldedInputStream extends FilterInputStream {
+
+        ShieldedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 不关闭底层流的输出流包装，用于释放 GZIP 压缩器而保留调用方的流
+     */
+    private static final class ShieldedOutputStream extends FilterOutputStream {
+
+        private boolean discarded;
+
+        ShieldedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        /**
+         * 丢弃此后的所有写入
+         */
+        void discard() {
+            discarded = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!discarded) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!discarded) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarded) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * 单个阶段的统计
+     */
+    public static final class StageStats {
+
+        private final String name;
+
+        private final int threads;
+
+        private final long bytes;
+
+        private final long busyNanos;
+
+        StageStats(String name, int threads, long bytes, long busyNanos) {
+            this.name = name;
+            this.threads = threads;
+            this.bytes = bytes;
+            this.busyNanos = busyNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * 阶段处理的未压缩字节数
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * 阶段所有线程实际工作时间之和
+         */
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        /**
+         * 阶段吞吐能力：处理字节数 / 每线程平均工作时间，即该阶段不被上下游阻塞时能达到的速度
+         *
+         * @return MB/s
+         */
+        public double getThroughputMbPerSecond() {
+            return busyNanos == 0 ? Double.POSITIVE_INFINITY
+                    : bytes / (1024.0 * 1024.0) / (busyNanos / (double) threads / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{threads=%d, bytes=%d, busy=%.1fms, throughput=%.1fMB/s}",
+                    name, threads, bytes, busyNanos / 1e6, getThroughputMbPerSecond());
+        }
+    }
+
+    /**
+     * 运行统计
+     */
+    public static final class Stats {
+
+        private final long chunks;
+
+        private final long elapsedNanos;
+
+        private final StageStats inflate;
+
+        private final StageStats mask;
+
+        private final StageStats deflate;
+
+        Stats(long chunks, long elapsedNanos, StageStats inflate, StageStats mask, StageStats deflate) {
+            this.chunks = chunks;
+            this.elapsedNanos = elapsedNanos;
+            this.inflate = inflate;
+            this.mask = mask;
+            this.deflate = deflate;
+        }
+
+        public long getChunks() {
+            return chunks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public StageStats getInflate() {
+            return inflate;
+        }
+
+        public StageStats getMask() {
+            return mask;
+        }
+
+        public StageStats getDeflate() {
+            return deflate;
+        }
+
+        /**
+         * 吞吐能力最低的阶段，即限制整体速度的阶段
+         *
+         * @return 阶段统计
+         */
+        public StageStats getBottleneck() {
+            StageStats slowest = inflate;
+            if (mask.getThroughputMbPerSecond() < slowest.getThroughputMbPerSecond()) {
+                slowest = mask;
+            }
+            if (deflate.getThroughputMbPerSecond() < slowest.getThroughputMbPerSecond()) {
+                slowest = deflate;
+            }
+            return slowest;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{chunks=%d, elapsed=%.1fms, bottleneck=%s, stages=[%s, %s, %s]}",
+                    chunks, elapsedNanos / 1e6, getBottleneck().getName(), inflate, mask, deflate);
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+
+        private final Utf8JsonMasker masker;
+
+        /**
+         * 默认保留两个核给解压与压缩阶段
+         */
+        private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private int queueCapacity;
+
+        private Builder(Utf8JsonMasker masker) {
+            if (masker == null) {
+                throw new IllegalArgumentException("masker must not be null");
+            }
+            this.masker = masker;
+        }
+
+        /**
+         * 脱敏阶段的线程数，默认为 CPU 核数减 2（至少为 1）
+         *
+         * @param parallelism 线程数
+         * @return 当前构建器
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 数据块大小（解压后字节数），默认 {@link #DEFAULT_CHUNK_SIZE}
+         *
+         * @param chunkSize 数据块大小
+         * @return 当前构建器
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 阶段间队列容量（在途数据块数），默认为 {@code 2 × parallelism}
+         *
+         * @param queueCapacity 队列容量
+         * @return 当前构建器
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public GzipNdjsonMasker build() {
+            return new GzipNdjsonMasker(this);
+        }
+    }
+
+}
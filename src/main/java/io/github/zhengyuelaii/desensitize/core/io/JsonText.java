@@ -0,0 +1,139 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.Utf8MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.Utf8Sink;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON 字符串转义与反转义
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class JsonText {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private JsonText() {
+    }
+
+    /**
+     * 将 JSON 字符串内容（不含引号）反转义为字符串
+     */
+    static String unescape(ByteBuffer src, int start, int end) {
+        String raw = Utf8MaskingHandler.decode(src, start, end);
+        int backslash = raw.indexOf('\\');
+        if (backslash < 0) {
+            return raw;
+        }
+        StringBuilder sb = new StringBuilder(raw.length());
+        sb.append(raw, 0, backslash);
+        for (int i = backslash; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = raw.charAt(++i);
+            switch (next) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 >= raw.length()) {
+                        throw new IllegalArgumentException("Malformed JSON: invalid unicode escape in " + raw);
+                    }
+                    sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    // \" \\ \/
+                    sb.append(next);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 对 {@code sink} 中自 {@code from} 起写入的原始文本做 JSON 转义
+     */
+    static void escapeTail(Utf8Sink sink, int from, Utf8JsonMasker.Scratch scratch) {
+        byte[] buf = sink.array();
+        int size = sink.size();
+        int first = from;
+        while (first < size && !needsEscape(buf[first])) {
+            first++;
+        }
+        if (first == size) {
+            return;
+        }
+
+        Utf8Sink tail = scratch.escapeBuffer;
+        if (tail == null) {
+            tail = scratch.escapeBuffer = new Utf8Sink(size - first);
+        }
+        tail.reset();
+        tail.write(buf, first, size - first);
+        sink.truncate(first);
+
+        byte[] raw = tail.array();
+        for (int i = 0; i < tail.size(); i++) {
+            byte b = raw[i];
+            if (!needsEscape(b)) {
+                sink.write(b);
+                continue;
+            }
+            sink.write('\\');
+            switch (b) {
+                case '"':
+                case '\\':
+                    sink.write(b);
+                    break;
+                case '\b':
+                    sink.write('b');
+                    break;
+                case '\f':
+                    sink.write('f');
+                    break;
+                case '\n':
+                    sink.write('n');
+                    break;
+                case '\r':
+                    sink.write('r');
+                    break;
+                case '\t':
+                    sink.write('t');
+                    break;
+                default:
+                    sink.write('u');
+                    sink.write('0');
+                    sink.write('0');
+                    sink.write(HEX[(b >> 4) & 0x0F]);
+                    sink.write(HEX[b & 0x0F]);
+                    break;
+            }
+        }
+    }
+
+    private static boolean needsEscape(byte b) {
+        // UTF-8 多字节序列的字节均为负数，不会被误判
+        return b == '"' || b == '\\' || (b >= 0 && b < 0x20);
+    }
+
+}
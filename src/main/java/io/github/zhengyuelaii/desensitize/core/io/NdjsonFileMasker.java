@@ -0,0 +1,369 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NDJSON 文件脱敏工具
+ * <p>
+ * 面向 GB 级别的 NDJSON（每行一个 JSON 对象）导出文件：输入文件按记录边界（换行符）切分为数据块，
+ * 每个数据块以内存映射方式读取，在多个线程上并行脱敏，再按原始顺序写入输出文件。
+ * 脱敏规则与 {@link Utf8JsonMasker} 相同，无需把记录解析为对象。
+ * </p>
+ * <p>
+ * 内存占用只与并行度和数据块大小相关（同时在途的数据块不超过 {@code 2 × parallelism} 个），与文件大小无关。
+ * 单条记录超过数据块大小时，该数据块会自动扩展到记录结尾。
+ * </p>
+ * <p>
+ * 本类不可变，可在多线程间共享。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class NdjsonFileMasker {
+
+    /**
+     * 默认数据块大小：4 MB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+
+    private final Utf8JsonMasker masker;
+
+    private final int parallelism;
+
+    private final int chunkSize;
+
+    private NdjsonFileMasker(Builder builder) {
+        this.masker = builder.masker;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param handlerMap    字段级脱敏处理器映射表，可为 {@code null}
+     * @param excludeFields 需要跳过脱敏的字段名集合，可为 {@code null}
+     * @return 构建器
+     */
+    public static Builder builder(Map<String, MaskingHandler> handlerMap, Set<String> excludeFields) {
+        return new Builder(new Utf8JsonMasker(handlerMap, excludeFields));
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param masker JSON 字节脱敏器
+     * @return 构建器
+     */
+    public static Builder builder(Utf8JsonMasker masker) {
+        return new Builder(masker);
+    }
+
+    /**
+     * 脱敏输入文件并写出到输出文件（覆盖已有内容）
+     * <p>
+     * 结果先写入输出文件所在目录下的临时文件，全部完成后再替换输出文件（文件系统支持时为原子替换）。
+     * 失败时临时文件被删除，输出文件保持调用前的状态，不会留下看似完整的截断文件。
+     * </p>
+     *
+     * @param input  输入文件
+     * @param output 输出文件，不能与输入文件相同
+     * @return 运行统计
+     * @throws IOException 读写失败时抛出
+     */
+    public Stats mask(Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output file must differ from the input file: " + output);
+        }
+        Path target = output.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        boolean completed = false;
+        try {
+            Stats stats = maskTo(input, temp);
+            replace(temp, target);
+            completed = true;
+            return stats;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private Stats maskTo(Path input, Path output) throws IOException {
+        long startNanos = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, workerFactory());
+        BlockingQueue<ByteBuffer> bufferPool = new ArrayBlockingQueue<>(parallelism * 2);
+        ArrayDeque<Future<ChunkResult>> window = new ArrayDeque<>();
+        long chunks = 0;
+        long bytesWritten = 0;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                MappedByteBuffer chunk = mapChunk(in, position, size);
+                position += chunk.remaining();
+                chunks++;
+                window.addLast(executor.submit(() -> maskChunk(chunk, bufferPool)));
+                if (window.size() >= parallelism * 2) {
+                    bytesWritten += writeNext(window, out, bufferPool);
+                }
+            }
+            while (!window.isEmpty()) {
+                bytesWritten += writeNext(window, out, bufferPool);
+            }
+            return new Stats(size, bytesWritten, chunks, System.nanoTime() - startNanos);
+        } finally {
+            for (Future<ChunkResult> future : window) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 映射从 {@code position} 开始、以换行符结尾的数据块
+     */
+    private MappedByteBuffer mapChunk(FileChannel in, long position, long size) throws IOException {
+        long length = Math.min(chunkSize, size - position);
+        while (true) {
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (position + length == size) {
+                return mapped;
+            }
+            for (int i = (int) length - 1; i >= 0; i--) {
+                if (mapped.get(i) == '\n') {
+                    ((Buffer) mapped).limit(i + 1);
+                    return mapped;
+                }
+            }
+            // 单条记录超过数据块大小，扩大映射范围
+            if (length >= Integer.MAX_VALUE) {
+                throw new IOException("NDJSON record at offset " + position + " exceeds the maximum mappable size");
+            }
+            length = Math.min(Math.min(length * 2, Integer.MAX_VALUE), size - position);
+        }
+    }
+
+    private ChunkResult maskChunk(MappedByteBuffer chunk, BlockingQueue<ByteBuffer> bufferPool) {
+        ByteBuffer dst = bufferPool.poll();
+        // 脱敏结果通常与原文等长，预留少量余量以容纳变长的处理器输出
+        int expected = chunk.remaining() + (chunk.remaining() >> 3) + 1024;
+        if (dst == null || dst.capacity() < expected) {
+            dst = ByteBuffer.allocate(expected);
+        }
+        while (true) {
+            ((Buffer) dst).clear();
+            try {
+                if (masker.mask(chunk, dst) == Utf8JsonMasker.Outcome.IN_PLACE) {
+                    // 无需改写，直接写出映射区域
+                    bufferPool.offer(dst);
+                    return new ChunkResult(chunk, null);
+                }
+                ((Buffer) dst).flip();
+                return new ChunkResult(dst, dst);
+            } catch (BufferOverflowException e) {
+                dst = ByteBuffer.allocate(dst.capacity() * 2);
+            }
+        }
+    }
+
+    private static long writeNext(ArrayDeque<Future<ChunkResult>> window, FileChannel out,
+                                  BlockingQueue<ByteBuffer> bufferPool) throws IOException {
+        ChunkResult result = await(window.removeFirst());
+        long written = 0;
+        while (result.data.hasRemaining()) {
+            written += out.write(result.data);
+        }
+        if (result.pooled != null) {
+            bufferPool.offer(result.pooled);
+        }
+        return written;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while masking NDJSON file", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Failed to mask NDJSON chunk", cause);
+        }
+    }
+
+    private static ThreadFactory workerFactory() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ndjson-masker-" + THREAD_SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 数据块脱敏结果
+     */
+    private static final class ChunkResult {
+
+        private final ByteBuffer data;
+
+        /**
+         * 需要归还缓冲池的缓冲区，直接写出映射区域时为 {@code null}
+         */
+        private final ByteBuffer pooled;
+
+        ChunkResult(ByteBuffer data, ByteBuffer pooled) {
+            this.data = data;
+            this.pooled = pooled;
+        }
+    }
+
+    /**
+     * 运行统计
+     */
+    public static final class Stats {
+
+        private final long bytesRead;
+
+        private final long bytesWritten;
+
+        private final long chunks;
+
+        private final long elapsedNanos;
+
+        Stats(long bytesRead, long bytesWritten, long chunks, long elapsedNanos) {
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.chunks = chunks;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getChunks() {
+            return chunks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 输入吞吐量
+         *
+         * @return MB/s
+         */
+        public double getThroughputMbPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead / (1024.0 * 1024.0) / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{bytesRead=%d, bytesWritten=%d, chunks=%d, elapsed=%.1fms, throughput=%.1fMB/s}",
+                    bytesRead, bytesWritten, chunks, elapsedNanos / 1e6, getThroughputMbPerSecond());
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+
+        private final Utf8JsonMasker masker;
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private Builder(Utf8JsonMasker masker) {
+            if (masker == null) {
+                throw new IllegalArgumentException("masker must not be null");
+            }
+            this.masker = masker;
+        }
+
+        /**
+         * 并行脱敏的线程数，默认为 CPU 核数
+         *
+         * @param parallelism 线程数
+         * @return 当前构建器
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 数据块大小（字节），默认 {@link #DEFAULT_CHUNK_SIZE}
+         *
+         * @param chunkSize 数据块大小
+         * @return 当前构建器
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public NdjsonFileMasker build() {
+            return new NdjsonFileMasker(this);
+        }
+    }
+
+}
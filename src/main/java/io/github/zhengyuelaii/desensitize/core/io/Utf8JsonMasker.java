@@ -0,0 +1,456 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.Utf8MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.Utf8Sink;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UTF-8 JSON 字节脱敏器
+ * <p>
+ * 直接在 {@link ByteBuffer}（堆内或堆外）中的 UTF-8 JSON 字节上按 Key 脱敏，无需解码为字符串再重新编码。
+ * 规则语义与 {@code EasyDesensitize.mask(Map, handlerMap, excludeFields)} 一致：
+ * </p>
+ * <ul>
+ *   <li>Key 命中 {@code handlerMap} 且值为字符串时脱敏，值为对象或数组时继续向内查找</li>
+ *   <li>Key 命中 {@code excludeFields} 时整个值（含嵌套结构）跳过</li>
+ * </ul>
+ * <p>
+ * 输出方式：
+ * </p>
+ * <ul>
+ *   <li>所有脱敏值的字节长度均不变时，直接在源缓冲区中原地改写，返回 {@link Outcome#IN_PLACE}</li>
+ *   <li>否则将完整结果写入调用方提供的目标缓冲区，源缓冲区保持不变，返回 {@link Outcome#COPIED}</li>
+ * </ul>
+ * <p>
+ * Key 查找在构建时编译为按 UTF-8 字节匹配的哈希表；{@link PatternHandlerMap} 的通配符 / 正则规则
+ * 在字节表未命中时按解码后的 Key 匹配。{@code handlerMap} 的精确规则与 {@code excludeFields} 在构建时取快照，
+ * 含转义字符的 Key 解码后同样按快照匹配，之后对原集合的修改不会生效。
+ * 处理器优先使用其 {@link Utf8MaskingHandler} 实现，包含转义字符的值会解码后交给字符串处理器。
+ * 字符串处理器返回 {@code null} 时，该值（含引号）被改写为 JSON 字面量 {@code null}。
+ * </p>
+ * <p>
+ * 本类不可变，可在多线程间共享；单次调用使用的临时缓冲区按线程复用。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class Utf8JsonMasker {
+
+    /**
+     * 脱敏结果的输出方式
+     */
+    public enum Outcome {
+
+        /**
+         * 源缓冲区已被原地改写（或无需改写）
+         */
+        IN_PLACE,
+
+        /**
+         * 结果已写入目标缓冲区，源缓冲区未被修改
+         */
+        COPIED
+    }
+
+    private static final Object EXCLUDED = new Object();
+
+    private static final byte[] NULL_LITERAL = {'n', 'u', 'l', 'l'};
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * 构建时的规则快照（字段名 -&gt; {@link Rule} 或 {@link #EXCLUDED}），供含转义字符的 Key 解码后查找
+     */
+    private final Map<String, Object> names;
+
+    private final Utf8KeyTable keyTable;
+
+    private final PatternHandlerMap patterns;
+
+    private final Map<MaskingHandler, Rule> patternRules = new ConcurrentHashMap<>();
+
+    /**
+     * @param handlerMap 字段级脱敏处理器映射表，Key 为 JSON 字段名
+     */
+    public Utf8JsonMasker(Map<String, MaskingHandler> handlerMap) {
+        this(handlerMap, null);
+    }
+
+    /**
+     * @param handlerMap    字段级脱敏处理器映射表，Key 为 JSON 字段名，可为 {@code null}
+     * @param excludeFields 需要跳过脱敏的字段名集合，可为 {@code null}
+     */
+    public Utf8JsonMasker(Map<String, MaskingHandler> handlerMap, Set<String> excludeFields) {
+        this.patterns = handlerMap instanceof PatternHandlerMap ? (PatternHandlerMap) handlerMap : null;
+
+        Map<String, Object> entries = new HashMap<>();
+        if (handlerMap != null) {
+            for (Map.Entry<String, MaskingHandler> entry : handlerMap.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    entries.put(entry.getKey(), new Rule(entry.getValue()));
+                }
+            }
+        }
+        if (excludeFields != null) {
+            for (String field : excludeFields) {
+                if (field != null) {
+                    entries.put(field, EXCLUDED);
+                }
+            }
+        }
+        this.names = entries;
+        this.keyTable = new Utf8KeyTable(entries);
+    }
+
+    /**
+     * 对缓冲区中 [position, limit) 范围的 JSON 字节脱敏
+     * <p>
+     * 调用前后 {@code src} 的 position 与 limit 均不变；结果为 {@link Outcome#COPIED} 时，
+     * {@code dst} 的 position 前移输出的字节数。只读的源缓冲区总是写入 {@code dst}。
+     * </p>
+     *
+     * @param src 源 JSON 字节
+     * @param dst 目标缓冲区，仅在长度变化或源缓冲区只读时使用，可为 {@code null}
+     * @return 输出方式
+     * @throws IllegalArgumentException 需要目标缓冲区但未提供，或 JSON 字符串未闭合时抛出
+     * @throws BufferOverflowException  目标缓冲区剩余空间不足时抛出，此时源与目标缓冲区均未被修改
+     */
+    public Outcome mask(ByteBuffer src, ByteBuffer dst) {
+        if (dst == src && dst != null) {
+            throw new IllegalArgumentException("Destination buffer must differ from the source buffer");
+        }
+        Scratch scratch = Scratch.acquire();
+        try {
+            int from = src.position();
+            int to = src.limit();
+            scan(src, from, to, scratch);
+            return apply(src, from, to, dst, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private void scan(ByteBuffer src, int from, int to, Scratch scratch) {
+        int i = from;
+        while (i < to) {
+            if (src.get(i) != '"') {
+                i++;
+                continue;
+            }
+            int keyEnd = skipString(src, i, to, scratch);
+            boolean keyEscaped = scratch.escaped;
+            int colon = skipWhitespace(src, keyEnd + 1, to);
+            if (colon >= to || src.get(colon) != ':') {
+                // 非 Key 的字符串值
+                i = keyEnd + 1;
+                continue;
+            }
+
+            Object rule = lookup(src, i + 1, keyEnd, keyEscaped);
+            int valueStart = skipWhitespace(src, colon + 1, to);
+            if (rule == EXCLUDED) {
+                i = skipValue(src, valueStart, to, scratch);
+            } else if (rule != null && valueStart < to && src.get(valueStart) == '"') {
+                int valueEnd = skipString(src, valueStart, to, scratch);
+                maskValue(src, valueStart + 1, valueEnd, scratch.escaped, (Rule) rule, scratch);
+                i = valueEnd + 1;
+            } else {
+                // 未命中，或值为对象 / 数组 / 标量，继续向内扫描
+                i = valueStart;
+            }
+        }
+    }
+
+    private Object lookup(ByteBuffer src, int start, int end, boolean escaped) {
+        String name;
+        if (escaped) {
+            name = JsonText.unescape(src, start, end);
+            Object rule = names.get(name);
+            if (rule != null || patterns == null) {
+                return rule;
+            }
+        } else {
+            Object rule = keyTable.get(src, start, end);
+            if (rule != null || patterns == null) {
+                return rule;
+            }
+            name = Utf8MaskingHandler.decode(src, start, end);
+        }
+        // 精确规则与排除字段均已在快照中，只剩不可变的通配符 / 正则规则
+        MaskingHandler handler = patterns.get(name);
+        return handler == null ? null : patternRules.computeIfAbsent(handler, Rule::new);
+    }
+
+    private static void maskValue(ByteBuffer src, int start, int end, boolean escaped, Rule rule, Scratch scratch) {
+        Utf8Sink sink = scratch.sink;
+        int outStart = sink.size();
+        if (escaped || !rule.nativeUtf8) {
+            String value = escaped ? JsonText.unescape(src, start, end) : Utf8MaskingHandler.decode(src, start, end);
+            String masked = rule.handler.getMaskingValue(value);
+            if (masked == null) {
+                // 与对象脱敏一致：处理器返回 null 时连同引号替换为 JSON null
+                sink.write(NULL_LITERAL, 0, NULL_LITERAL.length);
+                scratch.addEdit(start - 1, end + 1, outStart, NULL_LITERAL.length);
+                return;
+            }
+            sink.writeUtf8(masked);
+        } else {
+            rule.utf8.mask(src, start, end, sink);
+        }
+        JsonText.escapeTail(sink, outStart, scratch);
+
+        int outLength = sink.size() - outStart;
+        if (outLength == end - start && sameBytes(src, start, sink.array(), outStart, outLength)) {
+            // 值未变化，无需改写
+            sink.truncate(outStart);
+            return;
+        }
+        scratch.addEdit(start, end, outStart, outLength);
+    }
+
+    private static Outcome apply(ByteBuffer src, int from, int to, ByteBuffer dst, Scratch scratch) {
+        int count = scratch.editCount;
+        if (count == 0) {
+            return Outcome.IN_PLACE;
+        }
+        int[] edits = scratch.edits;
+        byte[] out = scratch.sink.array();
+
+        if (sameLengthEdits(edits, count) && !src.isReadOnly()) {
+            for (int e = 0; e < count; e++) {
+                int base = e << 2;
+                put(src, edits[base], out, edits[base + 2], edits[base + 3]);
+            }
+            return Outcome.IN_PLACE;
+        }
+
+        if (dst == null) {
+            throw new IllegalArgumentException("Masked payload cannot be rewritten in place, a destination buffer is required");
+        }
+        int delta = 0;
+        for (int e = 0; e < count; e++) {
+            int base = e << 2;
+            delta += edits[base + 3] - (edits[base + 1] - edits[base]);
+        }
+        if (dst.remaining() < to - from + delta) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer view = src.duplicate();
+        int cursor = from;
+        for (int e = 0; e < count; e++) {
+            int base = e << 2;
+            copy(view, cursor, edits[base], dst);
+            dst.put(out, edits[base + 2], edits[base + 3]);
+            cursor = edits[base + 1];
+        }
+        copy(view, cursor, to, dst);
+        return Outcome.COPIED;
+    }
+
+    private static boolean sameLengthEdits(int[] edits, int count) {
+        for (int e = 0; e < count; e++) {
+            int base = e << 2;
+            if (edits[base + 3] != edits[base + 1] - edits[base]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void put(ByteBuffer dst, int index, byte[] src, int offset, int length) {
+        if (dst.hasArray()) {
+            System.arraycopy(src, offset, dst.array(), dst.arrayOffset() + index, length);
+        } else {
+            for (int k = 0; k < length; k++) {
+                dst.put(index + k, src[offset + k]);
+            }
+        }
+    }
+
+    private static void copy(ByteBuffer view, int start, int end, ByteBuffer dst) {
+        if (start == end) {
+            return;
+        }
+        // 兼容 Java 8：通过 Buffer 调用以避免链接到 Java 9+ 的协变返回方法
+        ((Buffer) view).limit(end);
+        ((Buffer) view).position(start);
+        dst.put(view);
+    }
+
+    private static boolean sameBytes(ByteBuffer src, int start, byte[] out, int offset, int length) {
+        for (int k = 0; k < length; k++) {
+            if (src.get(start + k) != out[offset + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过一个字符串，返回闭合引号的下标，并记录是否包含转义
+     */
+    static int skipString(ByteBuffer src, int quote, int to, Scratch scratch) {
+        boolean escaped = false;
+        int i = quote + 1;
+        while (i < to) {
+            byte b = src.get(i);
+            if (b == '"') {
+                scratch.escaped = escaped;
+                return i;
+            }
+            if (b == '\\') {
+                escaped = true;
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        throw new IllegalArgumentException("Malformed JSON: unterminated string at offset " + quote);
+    }
+
+    /**
+     * 跳过一个完整的值（字符串、对象、数组或标量），返回其后的下标
+     */
+    static int skipValue(ByteBuffer src, int start, int to, Scratch scratch) {
+        if (start >= to) {
+            return to;
+        }
+        byte first = src.get(start);
+        if (first == '"') {
+            return skipString(src, start, to, scratch) + 1;
+        }
+        if (first != '{' && first != '[') {
+            int i = start;
+            while (i < to) {
+                byte b = src.get(i);
+                if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+        int depth = 0;
+        int i = start;
+        while (i < to) {
+            byte b = src.get(i);
+            if (b == '"') {
+                i = skipString(src, i, to, scratch);
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return to;
+    }
+
+    static int skipWhitespace(ByteBuffer src, int i, int to) {
+        while (i < to && isWhitespace(src.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * 预先解析的处理器
+     */
+    private static final class Rule {
+
+        private final MaskingHandler handler;
+
+        private final Utf8MaskingHandler utf8;
+
+        /**
+         * 处理器是否原生实现字节接口；桥接实现无法表达 {@code null}，改为直接调用字符串处理器
+         */
+        private final boolean nativeUtf8;
+
+        Rule(MaskingHandler handler) {
+            this.handler = handler;
+            this.utf8 = Utf8MaskingHandler.of(handler);
+            this.nativeUtf8 = handler instanceof Utf8MaskingHandler;
+        }
+    }
+
+    /**
+     * 单次调用的临时状态，按线程复用
+     */
+    static final class Scratch {
+
+        /**
+         * 超过该容量后，调用结束时丢弃缓冲区而非复用
+         */
+        private static final int MAX_RETAINED_BYTES = 1 << 20;
+
+        private static final int MAX_RETAINED_EDITS = 1 << 16;
+
+        Utf8Sink sink = new Utf8Sink(256);
+
+        Utf8Sink escapeBuffer;
+
+        /**
+         * 每个改写占 4 个 int：源起始、源结束、输出起始、输出长度
+         */
+        int[] edits = new int[64];
+
+        int editCount;
+
+        boolean escaped;
+
+        private boolean inUse;
+
+        static Scratch acquire() {
+            Scratch scratch = SCRATCH.get();
+            if (scratch.inUse) {
+                scratch = new Scratch();
+            }
+            scratch.inUse = true;
+            return scratch;
+        }
+
+        void addEdit(int start, int end, int outStart, int outLength) {
+            int base = editCount << 2;
+            if (base + 4 > edits.length) {
+                edits = Arrays.copyOf(edits, edits.length << 1);
+            }
+            edits[base] = start;
+            edits[base + 1] = end;
+            edits[base + 2] = outStart;
+            edits[base + 3] = outLength;
+            editCount++;
+        }
+
+        void release() {
+            editCount = 0;
+            inUse = false;
+            if (sink.capacity() > MAX_RETAINED_BYTES) {
+                sink = new Utf8Sink(256);
+            } else {
+                sink.reset();
+            }
+            if (edits.length > MAX_RETAINED_EDITS) {
+                edits = new int[64];
+            }
+            escapeBuffer = null;
+        }
+    }
+
+}
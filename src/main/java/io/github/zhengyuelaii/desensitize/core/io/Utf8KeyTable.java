@@ -0,0 +1,84 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 以 UTF-8 字节为 Key 的只读开放寻址哈希表
+ * <p>
+ * 可直接用缓冲区中的字节区间查找，无需先解码为字符串。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class Utf8KeyTable {
+
+    private final byte[][] keys;
+
+    private final Object[] values;
+
+    private final int mask;
+
+    Utf8KeyTable(Map<String, ?> entries) {
+        int capacity = 4;
+        while (capacity < entries.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new byte[capacity][];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<String, ?> entry : entries.entrySet()) {
+            put(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue());
+        }
+    }
+
+    /**
+     * 查找缓冲区 [start, end) 范围的字节对应的值
+     *
+     * @return 对应的值，未命中时返回 {@code null}
+     */
+    Object get(ByteBuffer buf, int start, int end) {
+        int index = hash(buf, start, end) & mask;
+        byte[] key;
+        while ((key = keys[index]) != null) {
+            if (matches(key, buf, start, end)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private void put(byte[] key, Object value) {
+        int index = hash(ByteBuffer.wrap(key), 0, key.length) & mask;
+        while (keys[index] != null) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer buf, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buf.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(ByteBuffer buf, int start, int end) {
+        int h = 1;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + buf.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+}
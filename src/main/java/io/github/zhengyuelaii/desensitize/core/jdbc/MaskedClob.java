@@ -0,0 +1,124 @@
+package io.github.zhengyuelaii.desensitize.core.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.NClob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * 持有脱敏后文本的只读大对象
+ * <p>
+ * 由 {@link MaskingResultSet} 对已配置脱敏规则的列返回，内容在创建时已完成脱敏，
+ * 所有写入方法均抛出 {@link SQLFeatureNotSupportedException}。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+final class MaskedClob implements NClob {
+
+    private String value;
+
+    MaskedClob(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public long length() throws SQLException {
+        return content().length();
+    }
+
+    @Override
+    public String getSubString(long pos, int length) throws SQLException {
+        String content = content();
+        int start = checkPosition(pos, content);
+        if (length < 0) {
+            throw new SQLException(String.format("Invalid length: %d", length));
+        }
+        return content.substring(start, Math.min(content.length(), start + length));
+    }
+
+    @Override
+    public Reader getCharacterStream() throws SQLException {
+        return new StringReader(content());
+    }
+
+    @Override
+    public Reader getCharacterStream(long pos, long length) throws SQLException {
+        return new StringReader(getSubString(pos, (int) Math.min(length, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public InputStream getAsciiStream() throws SQLException {
+        return new ByteArrayInputStream(content().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public long position(String searchstr, long start) throws SQLException {
+        String content = content();
+        int index = content.indexOf(searchstr, checkPosition(start, content));
+        return index < 0 ? -1 : index + 1;
+    }
+
+    @Override
+    public long position(Clob searchstr, long start) throws SQLException {
+        return position(searchstr.getSubString(1, (int) searchstr.length()), start);
+    }
+
+    @Override
+    public int setString(long pos, String str) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public int setString(long pos, String str, int offset, int len) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public OutputStream setAsciiStream(long pos) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public Writer setCharacterStream(long pos) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void truncate(long len) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void free() {
+        value = null;
+    }
+
+    private String content() throws SQLException {
+        if (value == null) {
+            throw new SQLException("Clob has been freed");
+        }
+        return value;
+    }
+
+    private static int checkPosition(long pos, String content) throws SQLException {
+        if (pos < 1 || pos > content.length() + 1) {
+            throw new SQLException(String.format("Invalid position: %d", pos));
+        }
+        return (int) (pos - 1);
+    }
+
+    private static SQLFeatureNotSupportedException readOnly() {
+        return new SQLFeatureNotSupportedException("Masked Clob is read-only");
+    }
+
+}
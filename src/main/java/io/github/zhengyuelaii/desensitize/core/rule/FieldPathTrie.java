@@ -0,0 +1,249 @@
+package io.github.zhengyuelaii.desensitize.core.rule;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基于字段路径的脱敏规则树
+ * <p>
+ * 规则以点分路径声明，例如 {@code user.address.name}；集合、数组、迭代器的元素使用 {@code []} 表示，
+ * 例如 {@code users[].mobile}，根对象本身为集合时路径以 {@code []} 开头，例如 {@code [].name}。
+ * Bean 字段与 Map 的 Key 使用相同的路径语法。{@code tags[]} 这类以 {@code []} 结尾的规则作用于字符串元素本身，
+ * 数组与集合中的元素被原位替换，迭代器无法写回元素，遇到时抛出 {@link UnsupportedOperationException}。
+ * </p>
+ * <p>
+ * 所有规则在 {@link Builder#build()} 时编译为一棵不可变的前缀树，遍历时沿树节点逐层下探：
+ * 未被任何规则覆盖的子树整体跳过，命中节点的处理器以 O(1) 的哈希查找获得。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class FieldPathTrie {
+
+    /**
+     * 集合元素路径标记
+     */
+    public static final String ELEMENT = "[]";
+
+    private final Node root;
+
+    private final int nodeCount;
+
+    private FieldPathTrie(Node root, int nodeCount) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * 创建规则树构建器
+     *
+     * @return 规则树构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取根节点（对应待脱敏的根对象）
+     *
+     * @return 根节点
+     */
+    public Node root() {
+        return root;
+    }
+
+    /**
+     * 获取节点总数，节点编号范围为 {@code [0, nodeCount)}
+     *
+     * @return 节点总数
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 规则树节点（不可变）
+     */
+    public static final class Node {
+
+        private final int id;
+
+        private final Map<String, Node> children;
+
+        private final Node elements;
+
+        private final MaskingHandler handler;
+
+        private final boolean excluded;
+
+        private Node(int id, Map<String, Node> children, Node elements, MaskingHandler handler, boolean excluded) {
+            this.id = id;
+            this.children = children;
+            this.elements = elements;
+            this.handler = handler;
+            this.excluded = excluded;
+        }
+
+        /**
+         * 节点编号，在同一棵规则树内唯一
+         *
+         * @return 节点编号
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * 获取字段（或 Map Key）对应的子节点
+         *
+         * @param name 字段名或 Map Key
+         * @return 子节点，未命中任何规则时返回 {@code null}
+         */
+        public Node child(String name) {
+            return children.get(name);
+        }
+
+        /**
+         * 获取集合元素对应的子节点
+         *
+         * @return 元素节点，未声明 {@code []} 规则时返回 {@code null}
+         */
+        public Node elements() {
+            return elements;
+        }
+
+        /**
+         * 获取命中该路径时使用的脱敏处理器
+         *
+         * @return 脱敏处理器，未声明时返回 {@code null}
+         */
+        public MaskingHandler getHandler() {
+            return handler;
+        }
+
+        /**
+         * 该路径是否被排除（排除优先于脱敏）
+         *
+         * @return 是否排除
+         */
+        public boolean isExcluded() {
+            return excluded;
+        }
+
+        @Override
+        public String toString() {
+            return "Node [id=" + id + ", children=" + children.keySet() + ", elements=" + (elements != null)
+                    + ", handler=" + handler + ", excluded=" + excluded + "]";
+        }
+    }
+
+    /**
+     * 规则树构建器
+     */
+    public static final class Builder {
+
+        private final MutableNode root = new MutableNode();
+
+        private Builder() {
+        }
+
+        /**
+         * 声明路径脱敏规则，优先级高于字段注解
+         *
+         * @param path    字段路径，如 {@code user.address.name}、{@code users[].mobile}
+         * @param handler 脱敏处理器
+         * @return 当前构建器
+         */
+        public Builder mask(String path, MaskingHandler handler) {
+            if (handler == null) {
+                throw new IllegalArgumentException("MaskingHandler must not be null for path: " + path);
+            }
+            locate(path).handler = handler;
+            return this;
+        }
+
+        /**
+         * 声明需要跳过脱敏的路径，该路径下的整棵子树都不会被处理
+         *
+         * @param path 字段路径
+         * @return 当前构建器
+         */
+        public Builder exclude(String path) {
+            locate(path).excluded = true;
+            return this;
+        }
+
+        /**
+         * 编译为不可变的规则树
+         *
+         * @return 规则树
+         */
+        public FieldPathTrie build() {
+            int[] counter = new int[1];
+            Node frozen = root.freeze(counter);
+            return new FieldPathTrie(frozen, counter[0]);
+        }
+
+        private MutableNode locate(String path) {
+            if (path == null || path.isEmpty()) {
+                throw new IllegalArgumentException("Field path must not be empty");
+            }
+            MutableNode node = root;
+            for (String segment : path.split("\\.", -1)) {
+                String name = segment;
+                int elementDepth = 0;
+                while (name.endsWith(ELEMENT)) {
+                    name = name.substring(0, name.length() - ELEMENT.length());
+                    elementDepth++;
+                }
+                if (name.isEmpty() && (elementDepth == 0 || node != root)) {
+                    throw new IllegalArgumentException(String.format(
+                            "Invalid field path: '%s' contains an empty segment.", path));
+                }
+                if (!name.isEmpty()) {
+                    node = node.children.computeIfAbsent(name, key -> new MutableNode());
+                }
+                for (int i = 0; i < elementDepth; i++) {
+                    if (node.elements == null) {
+                        node.elements = new MutableNode();
+                    }
+                    node = node.elements;
+                }
+            }
+            return node;
+        }
+    }
+
+    private static final class MutableNode {
+
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+
+        private MutableNode elements;
+
+        private MaskingHandler handler;
+
+        private boolean excluded;
+
+        private Node freeze(int[] counter) {
+            int id = counter[0]++;
+            Map<String, Node> frozenChildren;
+            if (children.isEmpty()) {
+                frozenChildren = Collections.emptyMap();
+            } else {
+                frozenChildren = new HashMap<>(children.size() * 4 / 3 + 1);
+                for (Map.Entry<String, MutableNode> entry : children.entrySet()) {
+                    frozenChildren.put(entry.getKey(), entry.getValue().freeze(counter));
+                }
+            }
+            Node frozenElements = elements == null ? null : elements.freeze(counter);
+            return new Node(id, frozenChildren, frozenElements, handler, excluded);
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+package io.github.zhengyuelaii.desensitize.core.rule;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 基于字段名通配符 / 正则的脱敏处理器映射表
+ * <p>
+ * 适用于敏感字段遵循命名约定的场景，例如 {@code *Phone}、{@code *Mobile}、{@code idCard*}、{@code *_no}，
+ * 无需把每个字段名逐一登记到 {@code handlerMap} 中。本类实现了 {@link Map} 接口，
+ * 可直接作为 {@code handlerMap} 传给 {@code EasyDesensitize.mask}。
+ * </p>
+ * <p>
+ * 匹配规则：
+ * </p>
+ * <ol>
+ *   <li>精确字段名优先</li>
+ *   <li>其次按声明顺序匹配通配符 / 正则规则，先声明者优先</li>
+ * </ol>
+ * <p>
+ * 每条通配符 / 正则规则单独编译并按声明顺序逐条匹配，正则中的反向引用、命名分组均按其原本语义生效；
+ * 匹配结果按字段名缓存，同一个名字只会付出一次匹配开销。
+ * </p>
+ * <p>
+ * 注意：通配符 / 正则规则无法枚举，{@link #entrySet()}、{@link #size()} 及 {@code putAll} 等
+ * 基于枚举的操作只能看到精确字段名规则。使用方必须通过 {@link #get(Object)} 按名字逐个解析，
+ * 不能把本表复制到其他 Map 中使用。
+ * </p>
+ * <p>
+ * 本类不可变，构建完成后可在多线程间共享。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class PatternHandlerMap extends AbstractMap<String, MaskingHandler> {
+
+    /**
+     * 名字缓存上限，防止 Map 载荷中的动态 Key 导致缓存无限增长
+     */
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    /**
+     * 未命中任何规则的占位处理器（ConcurrentHashMap 不允许 null 值）
+     */
+    private static final MaskingHandler NO_MATCH = value -> value;
+
+    private final Map<String, MaskingHandler> exactHandlers;
+
+    /**
+     * 按声明顺序排列的通配符 / 正则规则
+     */
+    private final Pattern[] rules;
+
+    private final MaskingHandler[] ruleHandlers;
+
+    private final Map<String, MaskingHandler> resolved = new ConcurrentHashMap<>();
+
+    private PatternHandlerMap(Map<String, MaskingHandler> exactHandlers, List<Pattern> rules, List<MaskingHandler> handlers) {
+        this.exactHandlers = Collections.unmodifiableMap(new HashMap<>(exactHandlers));
+        this.rules = rules.toArray(new Pattern[0]);
+        this.ruleHandlers = handlers.toArray(new MaskingHandler[0]);
+    }
+
+    /**
+     * 创建映射表构建器
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 解析字段名对应的脱敏处理器
+     *
+     * @param name 字段名或 Map Key
+     * @return 命中的脱敏处理器，未命中时返回 {@code null}
+     */
+    public MaskingHandler resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        MaskingHandler handler = resolved.get(name);
+        if (handler == null) {
+            handler = match(name);
+            if (resolved.size() < MAX_CACHED_NAMES) {
+                resolved.put(name, handler);
+            }
+        }
+        return handler == NO_MATCH ? null : handler;
+    }
+
+    private MaskingHandler match(String name) {
+        MaskingHandler handler = exactHandlers.get(name);
+        if (handler != null) {
+            return handler;
+        }
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].matcher(name).matches()) {
+                return ruleHandlers[i];
+            }
+        }
+        return NO_MATCH;
+    }
+
+    @Override
+    public MaskingHandler get(Object key) {
+        return key instanceof String ? resolve((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 存在通配符 / 正则规则时不为空，即使没有任何精确字段名规则
+     *
+     * @return 是否没有任何规则
+     */
+    @Override
+    public boolean isEmpty() {
+        return exactHandlers.isEmpty() && rules.length == 0;
+    }
+
+    /**
+     * 仅包含精确字段名规则，通配符 / 正则规则无法枚举，使用方应通过 {@link #get(Object)} 解析
+     *
+     * @return 精确字段名规则的只读视图
+     */
+    @Override
+    public Set<Entry<String, MaskingHandler>> entrySet() {
+        return exactHandlers.entrySet();
+    }
+
+    /**
+     * 映射表构建器
+     */
+    public static final class Builder {
+
+        private final Map<String, MaskingHandler> exactHandlers = new LinkedHashMap<>();
+
+        private final List<Pattern> rules = new ArrayList<>();
+
+        private final List<MaskingHandler> handlers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 精确字段名规则
+         *
+         * @param name    字段名
+         * @param handler 脱敏处理器
+         * @return 当前构建器
+         */
+        public Builder exact(String name, MaskingHandler handler) {
+            exactHandlers.put(name, requireHandler(handler, name));
+            return this;
+        }
+
+        /**
+         * 通配符规则，{@code *} 匹配任意长度字符，{@code ?} 匹配单个字符
+         *
+         * @param glob    通配符表达式，如 {@code *Phone}
+         * @param handler 脱敏处理器
+         * @return 当前构建器
+         */
+        public Builder glob(String glob, MaskingHandler handler) {
+            return regex(globToRegex(glob), handler);
+        }
+
+        /**
+         * 正则规则，需完整匹配字段名
+         *
+         * @param regex   正则表达式，如 {@code .*_no}
+         * @param handler 脱敏处理器
+         * @return 当前构建器
+         */
+        public Builder regex(String regex, MaskingHandler handler) {
+            rules.add(Pattern.compile(regex));
+            handlers.add(requireHandler(handler, regex));
+            return this;
+        }
+
+        /**
+         * 构建不可变映射表
+         *
+         * @return 映射表
+         */
+        public PatternHandlerMap build() {
+            return new PatternHandlerMap(exactHandlers, rules, handlers);
+        }
+
+        private static MaskingHandler requireHandler(MaskingHandler handler, String rule) {
+            if (handler == null) {
+                throw new IllegalArgumentException("MaskingHandler must not be null for rule: " + rule);
+            }
+            return handler;
+        }
+
+        private static String globToRegex(String glob) {
+            if (glob == null || glob.isEmpty()) {
+                throw new IllegalArgumentException("Glob pattern must not be empty");
+            }
+            StringBuilder regex = new StringBuilder(glob.length() + 8);
+            int literalStart = -1;
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' || c == '?') {
+                    if (literalStart >= 0) {
+                        regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                        literalStart = -1;
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else if (literalStart < 0) {
+                    literalStart = i;
+                }
+            }
+            if (literalStart >= 0) {
+                regex.append(Pattern.quote(glob.substring(literalStart)));
+            }
+            return regex.toString();
+        }
+    }
+
+}
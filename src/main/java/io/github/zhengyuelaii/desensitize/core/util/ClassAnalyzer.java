@@ -2,24 +2,35 @@ package io.github.zhengyuelaii.desensitize.core.util;
 
 import java.lang.reflect.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.DefaultMaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
 import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandlerFactory;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingParams;
+import io.github.zhengyuelaii.desensitize.core.handler.PartialMaskHandler;
 
 public class ClassAnalyzer {
 
 
     /**
      * 判断给定的类是否为基本数据类型或JDK类
+     * <p>JDK 类不分析字段，遍历时作为叶子值跳过（集合、Map 等容器除外）。</p>
      *
      * @param clazz 要判断的类对象
      * @return 如果是基本数据类型或JDK类（java.*、javax.*、sun.*包下的类）则返回true，否则返回false
      */
-    private static boolean isPrimitiveOrJdkClass(Class<?> clazz) {
+    public static boolean isPrimitiveOrJdkClass(Class<?> clazz) {
         // 检查是否为基本数据类型或JDK标准库中的类
         return clazz.isPrimitive() || clazz.getName().startsWith("java.") || clazz.getName().startsWith("javax.")
                 || clazz.getName().startsWith("sun.");
@@ -37,52 +48,175 @@ public class ClassAnalyzer {
         return Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz) || clazz.isArray();
     }
 
+    /**
+     * 各类自身声明字段的元数据片段
+     * <p>
+     * 继承体系中的每个类只分析一次，子类的字段列表由自身片段与父类片段拼接而成，
+     * 同一个父类字段在所有子类中共享同一个 {@link FieldMeta} 实例。
+     * 片段随类本身保存，类卸载时一并回收，不会因缓存而持有类加载器。
+     * </p>
+     * <p>
+     * {@link #clearCache()} 使版本号递增，已缓存的片段在下次查询时重新分析。
+     * </p>
+     */
+    private static final ClassValue<Segment> DECLARED_SEGMENTS = new ClassValue<Segment>() {
+        @Override
+        protected Segment computeValue(Class<?> type) {
+            // 先读取版本号再分析，并发清空时最多多分析一次
+            int current = segmentVersion;
+            return new Segment(analyzeDeclared(type), current);
+        }
+    };
+
+    private static volatile int segmentVersion;
+
+    private static final FieldMeta[] EMPTY_SEGMENT = new FieldMeta[0];
+
     /**
      * 分析指定类的字段，生成字段元数据信息列表
+     * <p>
+     * 字段顺序为当前类声明的字段在前，父类字段依次在后；继承而来的字段复用父类已分析的元数据。
+     * 父类中依赖类型变量的字段（如 {@code List<T>}）按当前类绑定的实际类型重新判断，结果不同时使用单独的元数据。
+     * </p>
      *
      * @param clazz 需要分析的类对象
      * @return 字段元数据信息列表，如果类为基础类型或JDK类则返回空列表
      */
     public static List<FieldMeta> analyze(Class<?> clazz) {
+        return analyze(clazz, true);
+    }
+
+    /**
+     * 分析指定类的字段，生成字段元数据信息列表
+     *
+     * @param clazz    需要分析的类对象
+     * @param useCache 是否使用各类声明字段的片段缓存；为 {@code false} 时每层都重新分析，不读写缓存
+     * @return 字段元数据信息列表，如果类为基础类型或JDK类则返回空列表
+     * @see #analyze(Class)
+     */
+    public static List<FieldMeta> analyze(Class<?> clazz, boolean useCache) {
         if (isPrimitiveOrJdkClass(clazz)) {
             return Collections.emptyList();
         }
 
+        // 先取出各层片段：任何一层注解非法时在组装前失败
+        int size = 0;
+        int depth = 0;
+        FieldMeta[][] segments = new FieldMeta[8][];
+        Map<TypeVariable<?>, Type> bindings = Collections.emptyMap();
+        for (Class<?> current = clazz; current != null && !current.equals(Object.class); current = current.getSuperclass()) {
+            FieldMeta[] segment = rebind(useCache ? declaredSegment(current) : analyzeDeclared(current), bindings);
+            bindings = bindSuperclass(current, bindings);
+            if (segment.length == 0) {
+                continue;
+            }
+            if (depth == segments.length) {
+                segments = Arrays.copyOf(segments, depth * 2);
+            }
+            segments[depth++] = segment;
+            size += segment.length;
+        }
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<FieldMeta> metas = new ArrayList<>(size);
+        for (int i = 0; i < depth; i++) {
+            Collections.addAll(metas, segments[i]);
+        }
+        return metas;
+    }
+
+    /**
+     * 分析指定类并生成紧凑的类脱敏计划
+     *
+     * @param clazz 需要分析的类对象
+     * @return 类脱敏计划，没有可处理字段时返回 {@link ClassPlan#EMPTY}
+     */
+    public static ClassPlan plan(Class<?> clazz) {
+        return plan(clazz, true);
+    }
+
+    /**
+     * 分析指定类并生成紧凑的类脱敏计划
+     *
+     * @param clazz    需要分析的类对象
+     * @param useCache 是否使用各类声明字段的片段缓存
+     * @return 类脱敏计划，没有可处理字段时返回 {@link ClassPlan#EMPTY}
+     */
+    public static ClassPlan plan(Class<?> clazz, boolean useCache) {
+        return ClassPlan.of(analyze(clazz, useCache));
+    }
+
+    /**
+     * 使所有已缓存的声明字段片段失效
+     */
+    public static synchronized void clearCache() {
+        segmentVersion++;
+    }
+
+    private static FieldMeta[] declaredSegment(Class<?> clazz) {
+        Segment segment = DECLARED_SEGMENTS.get(clazz);
+        if (segment.version != segmentVersion) {
+            DECLARED_SEGMENTS.remove(clazz);
+            segment = DECLARED_SEGMENTS.get(clazz);
+        }
+        return segment.metas;
+    }
+
+    /**
+     * 分析类自身声明的字段（不含父类）
+     *
+     * @param clazz 类对象
+     * @return 字段元数据片段
+     */
+    private static FieldMeta[] analyzeDeclared(Class<?> clazz) {
         List<FieldMeta> metas = new ArrayList<>();
-        // 获取当前类及其所有父类的字段（直到Object）
-        Class<?> currentClass = clazz;
-        while (currentClass != null && !currentClass.equals(Object.class)) {
-            Field[] fields = currentClass.getDeclaredFields();
-            for (Field field : fields) {
-                // 排除掉static 和 final 字段
-                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
-                    continue;
-                }
+        for (Field field : clazz.getDeclaredFields()) {
+            // 排除掉static 和 final 字段
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
 
-                field.setAccessible(true); // Pre-authorize for performance
-                FieldMeta fieldMeta = new FieldMeta(field);
-
-                MaskingField annotation = field.getAnnotation(MaskingField.class);
-                if (annotation != null) {
-                    // 标记了脱敏注解的字段
-                    if (field.getType().equals(String.class)) {
-                        fieldMeta.setTypeHandler(MaskingHandlerFactory.getHandler(annotation.typeHandler()));
-                    } else {
-                        throw new RuntimeException(String.format(
-                                "Invalid @MaskingField usage: Field '%s' in class '%s' must be of type java.lang.String, but found %s.",
-                                field.getName(), field.getDeclaringClass().getName(), field.getType().getSimpleName()));
-                    }
-                }
+            field.setAccessible(true); // Pre-authorize for performance
+            FieldMeta fieldMeta = new FieldMeta(field);
 
-                if (isNestedType(field)) {
-                    // 未标记注解，运行时递归处理
-                    fieldMeta.setNested(true);
+            MaskingField annotation = field.getAnnotation(MaskingField.class);
+            if (annotation != null) {
+                // 标记了脱敏注解的字段
+                if (field.getType().equals(String.class)) {
+                    fieldMeta.setTypeHandler(resolveHandler(annotation));
+                } else {
+                    throw new RuntimeException(String.format(
+                            "Invalid @MaskingField usage: Field '%s' in class '%s' must be of type java.lang.String, but found %s.",
+                            field.getName(), field.getDeclaringClass().getName(), field.getType().getSimpleName()));
                 }
-                metas.add(fieldMeta);
             }
-            currentClass = currentClass.getSuperclass();
+
+            if (isNestedType(field)) {
+                // 未标记注解，运行时递归处理；元素不可能含有脱敏内容的集合在此剪除
+                applyGenericType(fieldMeta, Collections.<TypeVariable<?>, Type>emptyMap());
+            }
+            metas.add(fieldMeta);
         }
-        return metas.isEmpty() ? Collections.emptyList() : metas;
+        return metas.isEmpty() ? EMPTY_SEGMENT : metas.toArray(EMPTY_SEGMENT);
+    }
+
+    /**
+     * 解析注解声明的处理器，相同类型与参数的字段共享同一实例
+     *
+     * @param annotation 脱敏注解
+     * @return 脱敏处理器
+     */
+    private static MaskingHandler resolveHandler(MaskingField annotation) {
+        MaskingParams params = MaskingParams.of(annotation.prefix(), annotation.suffix(), annotation.maskChar(),
+                annotation.pattern());
+        Class<? extends MaskingHandler> handlerClass = annotation.typeHandler();
+        if (handlerClass == DefaultMaskingHandler.class && params.hasKeepLengths()) {
+            // 仅声明了保留位数，使用内置的保留前后缀处理器
+            handlerClass = PartialMaskHandler.class;
+        }
+        return MaskingHandlerFactory.getHandler(handlerClass, params);
     }
 
     /**
@@ -110,4 +244,221 @@ public class ClassAnalyzer {
         return !isPrimitiveOrJdkClass(type);
     }
 
+
+    /**
+     * 按字段声明的泛型类型设置嵌套标记与元素类型
+     *
+     * @param meta     字段元数据
+     * @param bindings 已知的类型变量绑定
+     */
+    private static void applyGenericType(FieldMeta meta, Map<TypeVariable<?>, Type> bindings) {
+        Type type = meta.getField().getGenericType();
+        boolean nested = mayHoldMaskable(type, bindings);
+        meta.setNested(nested);
+        meta.setElementType(nested ? finalElementType(type, bindings) : null);
+    }
+
+    /**
+     * 按子类绑定的类型变量重新判断父类片段中依赖类型变量的嵌套字段
+     *
+     * @param segment  父类片段
+     * @param bindings 子类对父类类型变量的绑定
+     * @return 没有变化时返回原片段，否则返回替换了相应元数据的副本
+     */
+    private static FieldMeta[] rebind(FieldMeta[] segment, Map<TypeVariable<?>, Type> bindings) {
+        if (bindings.isEmpty()) {
+            return segment;
+        }
+        FieldMeta[] result = segment;
+        for (int i = 0; i < segment.length; i++) {
+            FieldMeta meta = segment[i];
+            // 声明处含未绑定类型变量的字段一定被判定为嵌套
+            if (!meta.isNested() || !hasTypeVariable(meta.getField().getGenericType())) {
+                continue;
+            }
+            FieldMeta bound = new FieldMeta(meta.getField(), meta.getTypeHandler(), true);
+            applyGenericType(bound, bindings);
+            if (bound.isNested() == meta.isNested() && bound.getElementType() == meta.getElementType()) {
+                continue;
+            }
+            if (result == segment) {
+                result = segment.clone();
+            }
+            result[i] = bound;
+        }
+        return result;
+    }
+
+    /**
+     * 记录子类在 extends 子句中为父类类型变量绑定的实际类型
+     * <p>
+     * 绑定累积保存，实际类型中引用的子类类型变量在判断时继续查找。
+     * </p>
+     */
+    private static Map<TypeVariable<?>, Type> bindSuperclass(Class<?> clazz, Map<TypeVariable<?>, Type> bindings) {
+        Type superclass = clazz.getGenericSuperclass();
+        if (!(superclass instanceof ParameterizedType)) {
+            return Collections.emptyMap();
+        }
+        TypeVariable<?>[] variables = clazz.getSuperclass().getTypeParameters();
+        Type[] arguments = ((ParameterizedType) superclass).getActualTypeArguments();
+        Map<TypeVariable<?>, Type> result = new HashMap<>(bindings);
+        for (int i = 0; i < variables.length; i++) {
+            result.put(variables[i], arguments[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 沿绑定解析类型变量，未绑定时返回类型变量本身
+     */
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        // 绑定链长度不超过继承深度，计数只为防御异常的自引用
+        for (int i = 0; type instanceof TypeVariable && i < 64; i++) {
+            Type bound = bindings.get(type);
+            if (bound == null) {
+                return type;
+            }
+            type = bound;
+        }
+        return type;
+    }
+
+    private static boolean hasTypeVariable(Type type) {
+        if (type instanceof TypeVariable) {
+            return true;
+        }
+        if (type instanceof GenericArrayType) {
+            return hasTypeVariable(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            return hasTypeVariable(wildcard.getUpperBounds()[0])
+                    || wildcard.getLowerBounds().length > 0 && hasTypeVariable(wildcard.getLowerBounds()[0]);
+        }
+        if (type instanceof ParameterizedType) {
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                if (hasTypeVariable(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断嵌套字段的值是否可能含有可脱敏内容
+     * <p>
+     * 集合、数组与内置容器中的 String 元素不会被脱敏，只有元素类型能确定为值类型时才返回 {@code false}；
+     * Map 的 String 值可按 handlerMap 脱敏，因此值类型为 String 的 Map 始终保留。
+     * 未绑定的类型变量、非 final 的类型以及自定义泛型类均按可能含有处理。
+     * 判断基于声明类型，通过未检查转换放入的其他类型元素不会被访问。
+     * </p>
+     *
+     * @param type     字段或元素的声明类型
+     * @param bindings 已知的类型变量绑定
+     * @return 可能含有可脱敏内容时返回 {@code true}
+     */
+    private static boolean mayHoldMaskable(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type resolved = resolve(type, bindings);
+        if (resolved instanceof Class) {
+            Class<?> clazz = (Class<?>) resolved;
+            return clazz.isArray() ? mayHoldMaskable(clazz.getComponentType(), bindings) : !isValueType(clazz);
+        }
+        if (resolved instanceof GenericArrayType) {
+            return mayHoldMaskable(((GenericArrayType) resolved).getGenericComponentType(), bindings);
+        }
+        if (resolved instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) resolved;
+            return wildcard.getLowerBounds().length > 0 || mayHoldMaskable(wildcard.getUpperBounds()[0], bindings);
+        }
+        if (!(resolved instanceof ParameterizedType)) {
+            // 未绑定的类型变量
+            return true;
+        }
+        ParameterizedType parameterized = (ParameterizedType) resolved;
+        Class<?> raw = (Class<?>) parameterized.getRawType();
+        Type[] arguments = parameterized.getActualTypeArguments();
+        if (!isPrimitiveOrJdkClass(raw)) {
+            return true;
+        }
+        if (arguments.length == 1 && isSingleElementContainer(raw)) {
+            return mayHoldMaskable(arguments[0], bindings);
+        }
+        if (arguments.length == 2 && Map.class.isAssignableFrom(raw)) {
+            // 非 String 键在运行时会报错，保留原有行为
+            return resolve(arguments[0], bindings) != String.class || resolve(arguments[1], bindings) == String.class
+                    || mayHoldMaskable(arguments[1], bindings);
+        }
+        return true;
+    }
+
+    /**
+     * 获取集合、迭代器或数组字段的元素类型，仅当其为 final 的 Bean 类时返回
+     *
+     * @param type     字段的声明类型
+     * @param bindings 已知的类型变量绑定
+     * @return 元素类型，无法确定时返回 {@code null}
+     */
+    private static Class<?> finalElementType(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type resolved = resolve(type, bindings);
+        Type element = null;
+        if (resolved instanceof Class && ((Class<?>) resolved).isArray()) {
+            element = ((Class<?>) resolved).getComponentType();
+        } else if (resolved instanceof GenericArrayType) {
+            element = ((GenericArrayType) resolved).getGenericComponentType();
+        } else if (resolved instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) resolved;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            if (isPrimitiveOrJdkClass(raw) && parameterized.getActualTypeArguments().length == 1
+                    && (Collection.class.isAssignableFrom(raw) || Iterator.class.isAssignableFrom(raw))) {
+                element = parameterized.getActualTypeArguments()[0];
+            }
+        }
+        element = resolve(element, bindings);
+        if (element instanceof WildcardType && ((WildcardType) element).getLowerBounds().length == 0) {
+            element = resolve(((WildcardType) element).getUpperBounds()[0], bindings);
+        }
+        if (element instanceof ParameterizedType) {
+            element = ((ParameterizedType) element).getRawType();
+        }
+        if (!(element instanceof Class)) {
+            return null;
+        }
+        Class<?> clazz = (Class<?>) element;
+        boolean bean = !clazz.isArray() && !clazz.isEnum() && !isPrimitiveOrJdkClass(clazz);
+        return bean && Modifier.isFinal(clazz.getModifiers()) ? clazz : null;
+    }
+
+    /**
+     * 元素类型即唯一类型参数的 JDK 容器：集合、迭代器与内置适配的容器
+     */
+    private static boolean isSingleElementContainer(Class<?> raw) {
+        return Collection.class.isAssignableFrom(raw) || Iterator.class.isAssignableFrom(raw) || raw == Optional.class
+                || raw == AtomicReference.class;
+    }
+
+    /**
+     * 值类型：运行时只会是 JDK 值对象或枚举常量，遍历时作为叶子跳过
+     */
+    private static boolean isValueType(Class<?> clazz) {
+        if (clazz.isPrimitive() || Enum.class.isAssignableFrom(clazz) || clazz == UUID.class) {
+            return true;
+        }
+        String name = clazz.getName();
+        return Modifier.isFinal(clazz.getModifiers()) && (name.startsWith("java.lang.") || name.startsWith("java.time."));
+    }
+
+    private static final class Segment {
+
+        private final FieldMeta[] metas;
+
+        private final int version;
+
+        private Segment(FieldMeta[] metas, int version) {
+            this.metas = metas;
+            this.version = version;
+        }
+    }
+
 }
@@ -0,0 +1,401 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+
+/**
+ * 类脱敏计划
+ * <p>
+ * 由 {@link ClassAnalyzer#analyze(Class)} 的结果压缩而成，字段布局不可变，按用途将字段分为连续的三组：
+ * </p>
+ * <ol>
+ *   <li>注解字段：声明了 {@code @MaskingField} 的 String 字段，下标 [0, {@link #handlerMapStart()})</li>
+ *   <li>规则字段：可能持有 String 且未声明注解的字段，仅在传入 handlerMap 时访问，
+ *   下标 [{@link #handlerMapStart()}, {@link #nestedStart()})</li>
+ *   <li>嵌套字段：需要递归处理的对象、集合与泛型字段，下标 [{@link #nestedStart()}, {@link #size()})</li>
+ * </ol>
+ * <p>
+ * 既不可能持有 String 也无需递归的字段（如 {@code int}、{@code Date}）不进入计划，遍历时被整体跳过。
+ * 字段与字段名以平行数组连续存放，注解处理器数组只覆盖第一组，空组不占用额外空间。
+ * </p>
+ * <p>
+ * 每个嵌套字段位置另有一个至多两项的内联缓存（运行时类型 -&gt; 计划）：声明为 Object、接口或类型变量的字段
+ * 实际通常只出现一两种类型，命中时遍历可直接进入目标计划，无需再按类型分派与查询元数据缓存。
+ * 出现第三种类型后该位置退化为不再缓存。
+ * </p>
+ * <p>
+ * 集合与数组字段声明的元素类型为 final 的 Bean 类时，元素类型随位置记录，遍历引擎据此预先确定元素的计划。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class ClassPlan {
+
+	private static final Field[] NO_FIELDS = new Field[0];
+
+	private static final String[] NO_NAMES = new String[0];
+
+	private static final MaskingHandler[] NO_HANDLERS = new MaskingHandler[0];
+
+	private static final InlineCache[] NO_SITES = new InlineCache[0];
+
+	private static final PatternMatch[] NO_MATCHES = new PatternMatch[0];
+
+	/**
+	 * 每个计划最多缓存匹配结果的规则表数量，多个规则表交替使用时不必反复重新匹配
+	 */
+	private static final int MAX_PATTERN_MATCHES = 4;
+
+	/**
+	 * 不含任何可处理字段的计划
+	 */
+	public static final ClassPlan EMPTY = new ClassPlan(NO_FIELDS, NO_NAMES, NO_HANDLERS, 0, null);
+
+	/**
+	 * 内联缓存中表示"运行时类型不是普通 Bean（集合、Map、数组等），需按容器类型分派"的标记
+	 */
+	public static final ClassPlan DISPATCH = new ClassPlan(NO_FIELDS, NO_NAMES, NO_HANDLERS, 0, null);
+
+	/**
+	 * 已出现两种以上运行时类型的位置
+	 */
+	private static final InlineCache MEGAMORPHIC = new InlineCache(null, null, null, null);
+
+	private final Field[] fields;
+
+	private final String[] names;
+
+	private final MaskingHandler[] typeHandlers;
+
+	private final int nestedStart;
+
+	/**
+	 * 嵌套字段位置的内联缓存，下标为 {@code index - nestedStart}；元素不可变，整体替换，竞争时最多丢失一次记录
+	 */
+	private final InlineCache[] sites;
+
+	/**
+	 * 嵌套字段声明的元素类型，下标同 {@link #sites}；没有任何位置记录元素类型时为 {@code null}
+	 */
+	private final Class<?>[] elementTypes;
+
+	/**
+	 * 元素类型对应的计划，由遍历引擎首次使用时写入
+	 */
+	private final ClassPlan[] elementPlans;
+
+	/**
+	 * 最近使用的若干规则表的匹配结果，按规则表实例区分，超出 {@link #MAX_PATTERN_MATCHES} 时淘汰最早的一项
+	 */
+	private volatile PatternMatch[] patternMatches = NO_MATCHES;
+
+	private ClassPlan(Field[] fields, String[] names, MaskingHandler[] typeHandlers, int nestedStart,
+			Class<?>[] elementTypes) {
+		this.fields = fields;
+		this.names = names;
+		this.typeHandlers = typeHandlers;
+		this.nestedStart = nestedStart;
+		this.sites = fields.length == nestedStart ? NO_SITES : new InlineCache[fields.length - nestedStart];
+		this.elementTypes = elementTypes;
+		this.elementPlans = elementTypes == null ? null : new ClassPlan[elementTypes.length];
+	}
+
+	/**
+	 * 由字段元数据列表构建计划，各组内保持原有字段顺序
+	 *
+	 * @param metas 字段元数据列表
+	 * @return 类脱敏计划
+	 */
+	public static ClassPlan of(List<FieldMeta> metas) {
+		List<FieldMeta> masked = new ArrayList<>();
+		List<FieldMeta> eligible = new ArrayList<>();
+		List<FieldMeta> nested = new ArrayList<>();
+		for (FieldMeta meta : metas) {
+			if (meta.getTypeHandler() != null) {
+				masked.add(meta);
+			} else if (meta.isNested()) {
+				nested.add(meta);
+			} else if (meta.getField().getType().isAssignableFrom(String.class)) {
+				eligible.add(meta);
+			}
+		}
+		int size = masked.size() + eligible.size() + nested.size();
+		if (size == 0) {
+			return EMPTY;
+		}
+
+		Field[] fields = new Field[size];
+		String[] names = new String[size];
+		MaskingHandler[] typeHandlers = masked.isEmpty() ? NO_HANDLERS : new MaskingHandler[masked.size()];
+		int i = 0;
+		for (FieldMeta meta : masked) {
+			typeHandlers[i] = meta.getTypeHandler();
+			i = put(meta, fields, names, i);
+		}
+		for (FieldMeta meta : eligible) {
+			i = put(meta, fields, names, i);
+		}
+		int nestedStart = i;
+		Class<?>[] elementTypes = null;
+		for (FieldMeta meta : nested) {
+			if (meta.getElementType() != null) {
+				if (elementTypes == null) {
+					elementTypes = new Class<?>[nested.size()];
+				}
+				elementTypes[i - nestedStart] = meta.getElementType();
+			}
+			i = put(meta, fields, names, i);
+		}
+		return new ClassPlan(fields, names, typeHandlers, nestedStart, elementTypes);
+	}
+
+	private static int put(FieldMeta meta, Field[] fields, String[] names, int i) {
+		fields[i] = meta.getField();
+		// 字段名已被 JVM 驻留，此处只保存引用
+		names[i] = meta.getField().getName();
+		return i + 1;
+	}
+
+	/**
+	 * 计划内的字段总数
+	 *
+	 * @return 字段数
+	 */
+	public int size() {
+		return fields.length;
+	}
+
+	/**
+	 * 规则字段组的起始下标，同时也是注解字段的数量
+	 *
+	 * @return 下标
+	 */
+	public int handlerMapStart() {
+		return typeHandlers.length;
+	}
+
+	/**
+	 * 嵌套字段组的起始下标
+	 *
+	 * @return 下标
+	 */
+	public int nestedStart() {
+		return nestedStart;
+	}
+
+	public boolean isEmpty() {
+		return fields.length == 0;
+	}
+
+	public Field field(int index) {
+		return fields[index];
+	}
+
+	public String name(int index) {
+		return names[index];
+	}
+
+	/**
+	 * 注解字段的处理器
+	 *
+	 * @param index 下标，需小于 {@link #handlerMapStart()}
+	 * @return 脱敏处理器
+	 */
+	public MaskingHandler typeHandler(int index) {
+		return typeHandlers[index];
+	}
+
+	/**
+	 * 获取字段名在通配符 / 正则规则表中命中的处理器
+	 * <p>
+	 * 同一规则表对整个计划只匹配一次，结果按下标缓存；最近使用的 {@value #MAX_PATTERN_MATCHES} 个规则表同时保留。
+	 * </p>
+	 *
+	 * @param rules 规则表
+	 * @param index 字段下标
+	 * @return 命中的脱敏处理器，未命中时返回 {@code null}
+	 */
+	public MaskingHandler patternHandler(PatternHandlerMap rules, int index) {
+		PatternMatch[] matches = patternMatches;
+		for (PatternMatch match : matches) {
+			if (match.rules == rules) {
+				return match.handlers[index];
+			}
+		}
+
+		MaskingHandler[] handlers = new MaskingHandler[names.length];
+		for (int i = 0; i < names.length; i++) {
+			handlers[i] = rules.resolve(names[i]);
+		}
+		// 写时复制，并发未命中时可能丢失一项，下次重新匹配即可
+		int keep = Math.min(matches.length, MAX_PATTERN_MATCHES - 1);
+		PatternMatch[] updated = new PatternMatch[keep + 1];
+		System.arraycopy(matches, matches.length - keep, updated, 0, keep);
+		updated[keep] = new PatternMatch(rules, handlers);
+		patternMatches = updated;
+		return handlers[index];
+	}
+
+	/**
+	 * 将排除字段集合解析为按字段下标的位图
+	 * <p>
+	 * 每次调用都按集合当前内容重新解析，结果不在计划中缓存；
+	 * 调用方（如单次脱敏调用的遍历状态）可自行在调用范围内复用结果。
+	 * </p>
+	 *
+	 * @param excludeFields 排除字段集合
+	 * @return 位图，第 i 位为 1 表示下标 i 的字段被排除；没有字段被排除时返回 {@code null}
+	 */
+	public long[] excludeMask(Set<String> excludeFields) {
+		long[] bits = null;
+		for (int i = 0; i < names.length; i++) {
+			if (excludeFields.contains(names[i])) {
+				if (bits == null) {
+					bits = new long[(names.length + 63) >>> 6];
+				}
+				bits[i >>> 6] |= 1L << i;
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * 判断位图中字段是否被排除
+	 *
+	 * @param mask  {@link #excludeMask(Set)} 的结果，可为 {@code null}
+	 * @param index 字段下标
+	 * @return 被排除时返回 {@code true}
+	 */
+	public static boolean isExcluded(long[] mask, int index) {
+		return mask != null && (mask[index >>> 6] & 1L << index) != 0;
+	}
+
+	/**
+	 * 查询嵌套字段位置的内联缓存
+	 *
+	 * @param index 嵌套字段下标
+	 * @param type  字段值的运行时类型
+	 * @return 缓存的计划、{@link #EMPTY} 或 {@link #DISPATCH}，未命中时返回 {@code null}
+	 */
+	public ClassPlan cachedPlan(int index, Class<?> type) {
+		InlineCache cache = sites[index - nestedStart];
+		if (cache == null) {
+			return null;
+		}
+		if (cache.type0 == type) {
+			return cache.plan0;
+		}
+		return cache.type1 == type ? cache.plan1 : null;
+	}
+
+	/**
+	 * 记录嵌套字段位置观察到的运行时类型
+	 *
+	 * @param index 嵌套字段下标
+	 * @param type  字段值的运行时类型
+	 * @param plan  该类型的计划，叶子类型传入 {@link #EMPTY}，集合、Map 等需分派的类型传入 {@link #DISPATCH}
+	 */
+	public void cachePlan(int index, Class<?> type, ClassPlan plan) {
+		int slot = index - nestedStart;
+		InlineCache cache = sites[slot];
+		if (cache == null) {
+			sites[slot] = new InlineCache(type, plan, null, null);
+		} else if (cache == MEGAMORPHIC || cache.type0 == type || cache.type1 == type) {
+			return;
+		} else if (cache.type1 == null) {
+			sites[slot] = new InlineCache(cache.type0, cache.plan0, type, plan);
+		} else {
+			sites[slot] = MEGAMORPHIC;
+		}
+	}
+
+	/**
+	 * 嵌套字段声明的元素类型
+	 *
+	 * @param index 嵌套字段下标
+	 * @return final 的 Bean 元素类型，未知时返回 {@code null}
+	 */
+	public Class<?> elementType(int index) {
+		return elementTypes == null ? null : elementTypes[index - nestedStart];
+	}
+
+	/**
+	 * 查询嵌套字段元素类型的计划
+	 *
+	 * @param index 嵌套字段下标，需已记录元素类型
+	 * @return 计划，尚未写入时返回 {@code null}
+	 */
+	public ClassPlan elementPlan(int index) {
+		return elementPlans[index - nestedStart];
+	}
+
+	/**
+	 * 记录嵌套字段元素类型的计划，竞争时以最后一次写入为准（结果相同）
+	 *
+	 * @param index 嵌套字段下标，需已记录元素类型
+	 * @param plan  元素类型的计划
+	 */
+	public void cacheElementPlan(int index, ClassPlan plan) {
+		elementPlans[index - nestedStart] = plan;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ClassPlan [masked=");
+		appendNames(sb, 0, handlerMapStart());
+		sb.append(", handlerMap=");
+		appendNames(sb, handlerMapStart(), nestedStart);
+		sb.append(", nested=");
+		appendNames(sb, nestedStart, fields.length);
+		return sb.append(']').toString();
+	}
+
+	private void appendNames(StringBuilder sb, int from, int to) {
+		sb.append('[');
+		for (int i = from; i < to; i++) {
+			if (i > from) {
+				sb.append(", ");
+			}
+			sb.append(names[i]);
+		}
+		sb.append(']');
+	}
+
+	private static final class InlineCache {
+
+		private final Class<?> type0;
+
+		private final ClassPlan plan0;
+
+		private final Class<?> type1;
+
+		private final ClassPlan plan1;
+
+		private InlineCache(Class<?> type0, ClassPlan plan0, Class<?> type1, ClassPlan plan1) {
+			this.type0 = type0;
+			this.plan0 = plan0;
+			this.type1 = type1;
+			this.plan1 = plan1;
+		}
+	}
+
+	private static final class PatternMatch {
+
+		private final PatternHandlerMap rules;
+
+		private final MaskingHandler[] handlers;
+
+		private PatternMatch(PatternHandlerMap rules, MaskingHandler[] handlers) {
+			this.rules = rules;
+			this.handlers = handlers;
+		}
+	}
+
+}
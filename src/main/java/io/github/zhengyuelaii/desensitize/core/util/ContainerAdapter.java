@@ -0,0 +1,26 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+/**
+ * 容器适配器
+ * <p>
+ * 用于遍历既不是集合、Map、数组也不是普通 Bean 的包装类型（如 {@code Optional}、{@code AtomicReference}
+ * 或第三方库中的容器），通过其公开 API 取出内容，而不是反射读取内部字段。
+ * 适配器只负责展开内容，容器中直接持有的 String 不会被替换。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface ContainerAdapter<T> {
+
+	/**
+	 * 取出容器当前持有的内容
+	 *
+	 * @param container 容器对象
+	 * @return 单个对象、集合、Map、数组或迭代器，没有内容时返回 {@code null}
+	 */
+	Object unwrap(T container);
+
+}
@@ -21,6 +21,11 @@ public class FieldMeta {
 	 */
 	private boolean isNested;
 
+	/**
+	 * 集合 / 数组字段声明的元素类型，仅当其为 final 的 Bean 类时记录
+	 */
+	private Class<?> elementType;
+
 	public FieldMeta() {}
 
 	public FieldMeta(Field field) {
@@ -59,9 +64,17 @@ public class FieldMeta {
 		isNested = nested;
 	}
 
+	public Class<?> getElementType() {
+		return elementType;
+	}
+
+	public void setElementType(Class<?> elementType) {
+		this.elementType = elementType;
+	}
+
 	@Override
 	public String toString() {
 		return "FieldMeta [field=" + field + ", typeHandler=" + typeHandler + ", isNested=" + isNested + "]";
 	}
-	
+
 }
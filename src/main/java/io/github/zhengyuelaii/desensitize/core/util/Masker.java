@@ -23,6 +23,7 @@ public class Masker {
 	 * 1. 如果输入为空，返回原值。
 	 * 2. 自动修正索引边界：如果结束索引超过长度，则取字符串长度。
 	 * 3. 索引校验：若开始位置无效或范围错误，返回原值。
+	 * 4. 索引与掩码数量按代码点计算，代理对（emoji、生僻字）不会被拆开；只含 BMP 字符时等同于按 char 计算。
 	 * </p>
 	 *
 	 * @param str          待处理的字符序列
@@ -44,6 +45,11 @@ public class Masker {
 
 		final int strLength = str.length();
 
+		// 含代理对时按代码点处理，其余输入走逐 char 的快速路径
+		if (!TextUnits.isSimple(str, 0, strLength, false)) {
+			return hideUnits(str, maskChar, startInclude, endExclude, false);
+		}
+
 		// 参数校验：确保索引有效
 		if (startInclude < 0 || startInclude >= endExclude || endExclude < 0) {
 			return String.valueOf(str);
@@ -67,21 +73,137 @@ public class Masker {
 
 		// 构建结果：拼接前缀 + 掩码 + 后缀
 		StringBuilder sb = new StringBuilder(strLength);
-		sb.append(str, 0, startInclude);
+		appendMasked(str, 0, strLength, maskChar, startInclude, endExclude, replacedLength, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * 按字素簇（用户感知的字符）隐藏指定范围，组合字符（如 e + U+0301）与代理对均按一个字符计数
+	 * <p>
+	 * 规则同 {@link #hide(CharSequence, String, int, int)}；输入只含 U+0300 以下字符时直接走逐 char 的快速路径。
+	 * </p>
+	 *
+	 * @param str          待处理的字符序列
+	 * @param maskChar     自定义遮罩字符（若为 null 则使用默认 "*"）
+	 * @param startInclude 开始索引（包含），按字素簇计算
+	 * @param endExclude   结束索引（不包含），按字素簇计算
+	 * @return 脱敏后的字符串
+	 */
+	public static String hideGraphemes(CharSequence str, String maskChar, int startInclude, int endExclude) {
+		if (str == null) {
+			return null;
+		}
+		if (TextUnits.isSimple(str, 0, str.length(), true)) {
+			return hide(str, maskChar, startInclude, endExclude);
+		}
+		return hideUnits(str, maskChar == null ? DEFAULT_MASK_CHAR : maskChar, startInclude, endExclude, true);
+	}
+
+	/**
+	 * 按代码点或字素簇计算索引的慢速路径
+	 */
+	private static String hideUnits(CharSequence str, String maskChar, int startInclude, int endExclude,
+									boolean graphemes) {
+		final int strLength = str.length();
+		int[] bounds = TextUnits.boundaries(str, 0, strLength, graphemes);
+		int end = clampEnd(startInclude, endExclude, bounds.length - 1);
+		if (end < 0) {
+			return String.valueOf(str);
+		}
+		StringBuilder sb = new StringBuilder(strLength);
+		appendMasked(str, 0, strLength, maskChar, bounds[startInclude], bounds[end], end - startInclude, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * 校验索引并将结束索引修正到 {@code length} 以内
+	 *
+	 * @return 修正后的结束索引，索引无效时返回 -1
+	 */
+	private static int clampEnd(int startInclude, int endExclude, int length) {
+		if (startInclude < 0 || startInclude >= endExclude) {
+			return -1;
+		}
+		int end = Math.min(endExclude, length);
+		return startInclude >= end ? -1 : end;
+	}
+
+	/**
+	 * 对字符序列的 [from, to) 区间按 {@link #hide(CharSequence, String, int, int)} 的规则脱敏，并将结果追加到 {@code out}
+	 * <p>
+	 * 与 {@code hide} 相比不创建结果字符串，适用于直接写入 JSON、日志等输出缓冲区的场景。
+	 * 索引 {@code startInclude} / {@code endExclude} 相对于 {@code from} 计算；索引无效时原样追加该区间，
+	 * {@code str} 为 {@code null} 时不追加任何内容。
+	 * </p>
+	 *
+	 * @param str          待处理的字符序列
+	 * @param from         区间起始下标（包含）
+	 * @param to           区间结束下标（不包含）
+	 * @param maskChar     自定义遮罩字符（若为 null 则使用默认 "*"）
+	 * @param startInclude 开始索引（包含），相对于 {@code from}
+	 * @param endExclude   结束索引（不包含），相对于 {@code from}
+	 * @param out          输出缓冲区
+	 */
+	public static void hideTo(CharSequence str, int from, int to, String maskChar, int startInclude, int endExclude,
+							  StringBuilder out) {
+		if (str == null || from >= to) {
+			return;
+		}
+		if (null == maskChar) {
+			maskChar = DEFAULT_MASK_CHAR;
+		}
+		if (!TextUnits.isSimple(str, from, to, false)) {
+			int[] bounds = TextUnits.boundaries(str, from, to, false);
+			int end = clampEnd(startInclude, endExclude, bounds.length - 1);
+			if (end < 0) {
+				out.append(str, from, to);
+				return;
+			}
+			appendMasked(str, from, to, maskChar, bounds[startInclude], bounds[end], end - startInclude, out);
+			return;
+		}
+		int end = clampEnd(startInclude, endExclude, to - from);
+		if (end < 0) {
+			out.append(str, from, to);
+			return;
+		}
+		appendMasked(str, from, to, maskChar, from + startInclude, from + end, end - startInclude, out);
+	}
+
+	/**
+	 * 对整个字符序列脱敏并追加到 {@code out}，规则同 {@link #hide(CharSequence, int, int)}
+	 *
+	 * @param str          待处理的字符序列
+	 * @param startInclude 开始索引（包含），从 0 开始
+	 * @param endExclude   结束索引（不包含）
+	 * @param out          输出缓冲区
+	 */
+	public static void hideTo(CharSequence str, int startInclude, int endExclude, StringBuilder out) {
+		if (str != null) {
+			hideTo(str, 0, str.length(), null, startInclude, endExclude, out);
+		}
+	}
+
+	/**
+	 * 追加 [from, maskStart) 原文 + {@code replacedLength} 个掩码 + [maskEnd, to) 原文，下标均为绝对下标且已校验
+	 */
+	private static void appendMasked(CharSequence str, int from, int to, String maskChar, int maskStart, int maskEnd,
+									 int replacedLength, StringBuilder out) {
+		out.append(str, from, maskStart);
 
 		// 如果遮罩字符长度为1，直接重复该字符；否则重复整个遮罩字符串
 		if (maskChar.length() == 1) {
+			char c = maskChar.charAt(0);
 			for (int i = 0; i < replacedLength; i++) {
-				sb.append(maskChar.charAt(0));
+				out.append(c);
 			}
 		} else {
 			for (int i = 0; i < replacedLength; i++) {
-				sb.append(maskChar);
+				out.append(maskChar);
 			}
 		}
 
-		sb.append(str, endExclude, strLength);
-		return sb.toString();
+		out.append(str, maskEnd, to);
 	}
 
 }
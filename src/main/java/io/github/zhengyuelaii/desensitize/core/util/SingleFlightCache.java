@@ -0,0 +1,166 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 单飞（single-flight）加载缓存
+ * <p>
+ * 同一个 Key 在任意时刻只会有一个线程执行加载，其余并发请求等待并共享该次加载的结果；
+ * 不同 Key 的加载互不阻塞，可并行进行。与 {@link ConcurrentHashMap#computeIfAbsent} 不同，
+ * 加载过程不持有哈希桶锁，因此加载函数内部可以安全地读取本缓存中的其他 Key。
+ * </p>
+ * <p>
+ * 加载失败时异常会传递给所有等待者，且不会缓存失败结果，下一次请求将重新加载。
+ * 同一线程对正在加载的 Key 发起重入请求时直接执行加载，不会自我死锁。
+ * </p>
+ * <p>
+ * 每次 {@link #clear()} 使代数递增：清空前开始的加载结果仍返回给其等待者，但不会写入缓存，
+ * 清空后的请求也不会加入这些加载，而是重新加载。
+ * </p>
+ *
+ * @param <K> Key 类型
+ * @param <V> Value 类型
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class SingleFlightCache<K, V> {
+
+    private final ConcurrentHashMap<K, V> values = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存代数，每次清空时递增
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * 获取缓存值，未命中时加载
+     *
+     * @param key    Key
+     * @param loader 加载函数，不允许返回 {@code null}
+     * @return 缓存值
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        int current = generation.get();
+        Flight<V> flight = new Flight<>(() -> loader.apply(key), current);
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null && existing.generation != current && existing.owner != Thread.currentThread()
+                && inFlight.replace(key, existing, flight)) {
+            // 清空前开始的加载不再共享，由当前线程重新加载
+            existing = null;
+        }
+        if (existing == null) {
+            try {
+                // 抢占成功后再检查一次，防止与刚结束的加载擦肩而过
+                value = values.get(key);
+                if (value != null) {
+                    return value;
+                }
+                flight.run();
+                value = await(flight);
+                if (generation.get() == current) {
+                    values.put(key, value);
+                    // 写入后再确认一次，写入与清空交错时撤销本次写入
+                    if (generation.get() != current) {
+                        values.remove(key, value);
+                    }
+                }
+                return value;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        if (existing.owner == Thread.currentThread()) {
+            // 加载函数内部重入同一个 Key
+            return loader.apply(key);
+        }
+        return await(existing);
+    }
+
+    /**
+     * 获取已缓存的值，不触发加载
+     *
+     * @param key Key
+     * @return 缓存值，未命中时返回 {@code null}
+     */
+    public V getIfPresent(K key) {
+        return values.get(key);
+    }
+
+    /**
+     * 缓存的条目数量（不含正在加载的 Key）
+     *
+     * @return 条目数量
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * 清空已缓存的值；正在进行的加载照常完成，但其结果不会写入缓存
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        values.clear();
+    }
+
+    private static <V> V await(Flight<V> flight) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    V value = flight.get();
+                    if (value == null) {
+                        throw new IllegalStateException("SingleFlightCache loader must not return null");
+                    }
+                    return value;
+                } catch (InterruptedException e) {
+                    // 加载结果会被其他线程复用，不能因为单个等待者被中断而放弃
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 一次进行中的加载，记录执行线程以识别重入
+     */
+    private static final class Flight<V> extends FutureTask<V> {
+
+        private final Thread owner = Thread.currentThread();
+
+        private final int generation;
+
+        Flight(Callable<V> callable, int generation) {
+            super(callable);
+            this.generation = generation;
+        }
+    }
+
+}
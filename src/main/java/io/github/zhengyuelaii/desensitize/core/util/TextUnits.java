@@ -0,0 +1,103 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+import java.text.BreakIterator;
+import java.util.Locale;
+
+/**
+ * 文本单位工具
+ * <p>
+ * 内置处理器与 {@link Masker} 按"字符"计数时，以代码点（可选字素簇）为单位，避免把代理对（emoji、生僻字）
+ * 或组合字符拆开。绝大多数输入只包含 BMP 字符，此时代码点与 {@code char} 一一对应，
+ * 调用方先通过 {@link #isSimple(CharSequence, int, int, boolean)} 快速判断，只在必要时计算单位边界。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class TextUnits {
+
+	/**
+	 * 第一个组合变音符号（U+0300），低于该值的字符各自构成一个字素簇（CR 除外）
+	 */
+	private static final char FIRST_COMBINING_MARK = '\u0300';
+
+	private TextUnits() {
+	}
+
+	/**
+	 * 判断 [from, to) 区间内每个 {@code char} 是否恰好是一个文本单位
+	 * <p>
+	 * 按代码点计数时只需不含代理字符；按字素簇计数时要求所有字符低于 U+0300 且不含 CR（CR LF 构成一个字素簇）。
+	 * </p>
+	 *
+	 * @param text      文本
+	 * @param from      起始下标（包含）
+	 * @param to        结束下标（不包含）
+	 * @param graphemes 是否按字素簇计数
+	 * @return 可按 {@code char} 直接处理时返回 {@code true}
+	 */
+	public static boolean isSimple(CharSequence text, int from, int to, boolean graphemes) {
+		if (graphemes) {
+			for (int i = from; i < to; i++) {
+				char c = text.charAt(i);
+				if (c >= FIRST_COMBINING_MARK || c == '\r') {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (int i = from; i < to; i++) {
+			if (Character.isSurrogate(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 计算 [from, to) 区间内各文本单位的起始下标
+	 *
+	 * @param text      文本
+	 * @param from      起始下标（包含）
+	 * @param to        结束下标（不包含）
+	 * @param graphemes 是否按字素簇划分，否则按代码点划分
+	 * @return 长度为"单位数 + 1"的数组，第 i 个单位为 [result[i], result[i + 1])，最后一个元素为 {@code to}
+	 */
+	public static int[] boundaries(CharSequence text, int from, int to, boolean graphemes) {
+		if (graphemes) {
+			BreakIterator iterator = BreakIterator.getCharacterInstance(Locale.ROOT);
+			iterator.setText(text.subSequence(from, to).toString());
+			int[] result = new int[to - from + 1];
+			int count = 0;
+			for (int b = iterator.first(); b != BreakIterator.DONE; b = iterator.next()) {
+				result[count++] = from + b;
+			}
+			return trim(result, count);
+		}
+		int[] result = new int[Character.codePointCount(text, from, to) + 1];
+		int count = 0;
+		int i = from;
+		while (i < to) {
+			result[count++] = i;
+			// 区间末尾的高代理按单独的单位处理，不越界读取
+			if (Character.isHighSurrogate(text.charAt(i)) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+				i += 2;
+			} else {
+				i++;
+			}
+		}
+		result[count] = to;
+		return result;
+	}
+
+	private static int[] trim(int[] array, int length) {
+		if (array.length == length) {
+			return array;
+		}
+		int[] trimmed = new int[length];
+		System.arraycopy(array, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+}
@@ -0,0 +1,167 @@
+package benchmark;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 首次调用（冷启动）延迟测试
+ * <p>
+ * 每次调用前都通过新的类加载器重新定义测试模型，
+ * 因此每次测量的都是"从未见过的类"的首次脱敏：包含类结构分析与注解解析。
+ * 自定义处理器由父加载器加载：处理器实例由 {@code MaskingHandlerFactory} 按类永久缓存，
+ * 若每次重新定义处理器类，缓存会持有每一个废弃的类加载器。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, batchSize = 1)
+@Measurement(iterations = 200, batchSize = 1)
+public class ColdStartBenchmark {
+
+    /**
+     * 每次调用时需要重新定义的类（不含 {@link ColdHandler}，见类注释）
+     */
+    private static final Class<?>[] ISOLATED_CLASSES = {ColdOrder.class, ColdCustomer.class};
+
+    private Map<String, byte[]> definitions;
+
+    private Object order;
+
+    @Setup(Level.Trial)
+    public void loadDefinitions() throws IOException {
+        definitions = new HashMap<>();
+        for (Class<?> clazz : ISOLATED_CLASSES) {
+            definitions.put(clazz.getName(), readClassBytes(clazz));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshClass() throws Exception {
+        ClassLoader loader = new IsolatingClassLoader(ColdStartBenchmark.class.getClassLoader(), definitions);
+        order = loader.loadClass(ColdOrder.class.getName()).getDeclaredConstructor().newInstance();
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseClass() {
+        // 类脱敏计划与字段元数据缓存引用了模型类，清空后废弃的类加载器才能被回收
+        EasyDesensitize.clearCache();
+        order = null;
+    }
+
+    @Benchmark
+    public void firstCall(Blackhole bh) {
+        EasyDesensitize.mask(order);
+        bh.consume(order);
+    }
+
+    @Benchmark
+    public void firstCallWithoutGlobalCache(Blackhole bh) {
+        EasyDesensitize.mask(order, null, null, false);
+        bh.consume(order);
+    }
+
+    private static byte[] readClassBytes(Class<?> clazz) throws IOException {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Class file not found: " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(ColdStartBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * 子优先类加载器，对指定的类使用字节码重新定义，其余类委托给父加载器
+     */
+    static final class IsolatingClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> definitions;
+
+        IsolatingClassLoader(ClassLoader parent, Map<String, byte[]> definitions) {
+            super(parent);
+            this.definitions = definitions;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytes = definitions.get(name);
+                    clazz = bytes == null ? super.loadClass(name, false) : defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+    }
+
+    public static class ColdHandler implements MaskingHandler {
+        @Override
+        public String getMaskingValue(String value) {
+            return value.length() <= 4 ? "****" : "****" + value.substring(value.length() - 4);
+        }
+    }
+
+    public static class ColdCustomer {
+
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name = "张老三";
+
+        @MaskingField(typeHandler = ColdHandler.class)
+        private String mobile = "13700001234";
+
+        private Integer level = 3;
+    }
+
+    public static class ColdOrder {
+
+        private Long id = 1L;
+
+        private String orderNo = "SO20261019000001";
+
+        @MaskingField(typeHandler = ColdHandler.class)
+        private String bankCard = "6222020200001234567";
+
+        private ColdCustomer customer = new ColdCustomer();
+
+        private List<ColdCustomer> contacts = Arrays.asList(new ColdCustomer(), new ColdCustomer());
+    }
+}
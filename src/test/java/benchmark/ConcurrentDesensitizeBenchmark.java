@@ -0,0 +1,140 @@
+package benchmark;
+
+import benchmark.ListDesensitizeBenchmark.Address;
+import benchmark.ListDesensitizeBenchmark.User;
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandlerFactory;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程并发脱敏吞吐量测试
+ * <p>
+ * 所有线程共享全局元数据缓存与 {@code MaskingHandlerFactory} 的处理器缓存，
+ * 每个线程脱敏各自的数据，用于观察线程数增加时共享缓存上的竞争。
+ * 通过 {@link #main(String[])} 运行时会依次以 1、2、4 … 2 倍 CPU 核数的线程数执行并汇总结果。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ConcurrentDesensitizeBenchmark {
+
+    private Map<String, MaskingHandler> handlers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        handlers = new HashMap<>();
+        handlers.put("mobile", value -> Masker.hide(value, 3, 7));
+        handlers.put("idCard", value -> Masker.hide(value, 1, value.length() - 2));
+    }
+
+    /**
+     * 每个线程独立的一份请求数据，模拟单次请求返回的小批量 DTO
+     */
+    @State(Scope.Thread)
+    public static class RequestData {
+
+        @Param({"1", "20"})
+        private int size;
+
+        private List<User> users;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            users = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                users.add(getUser(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sharedGlobalCache(RequestData data, Blackhole bh) {
+        EasyDesensitize.mask(data.users, handlers);
+        bh.consume(data.users);
+    }
+
+    @Benchmark
+    public void globalCacheDisabled(RequestData data, Blackhole bh) {
+        // 每次调用都重新分析类结构
+        EasyDesensitize.mask(data.users, null, handlers, false);
+        bh.consume(data.users);
+    }
+
+    @Benchmark
+    public MaskingHandler handlerFactoryLookup() {
+        return MaskingHandlerFactory.getHandler(KeepFirstAndLastHandler.class);
+    }
+
+    private static User getUser(int i) {
+        User user = new User();
+        user.setId((long) i);
+        user.setUsername("user_" + i);
+        user.setRealName("测试员" + i);
+        user.setMobile("1370000123" + (i % 10));
+        user.setEmail(i + "test@example.com");
+        user.setIdCard("31011519900101000" + (i % 10));
+        user.setAge(i % 100);
+        user.setBalance(new BigDecimal("1000.50"));
+        user.setCreateTime(new Date());
+        user.setVip(i % 2 == 0);
+
+        Address address = new Address();
+        address.setProvince("上海");
+        address.setCity("上海市");
+        address.setDetail("浦东新区长清路" + i + "号");
+        user.setAddress(address);
+        return user;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = Runtime.getRuntime().availableProcessors() * 2;
+        Map<String, StringBuilder> summary = new TreeMap<>();
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            Options opt = new OptionsBuilder()
+                    .include(ConcurrentDesensitizeBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            for (RunResult result : new Runner(opt).run()) {
+                String name = result.getParams().getBenchmark() + paramsOf(result);
+                summary.computeIfAbsent(name, key -> new StringBuilder())
+                        .append(String.format("  threads=%-4d %12.3f %s%n", threads,
+                                result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreUnit()));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Thread scaling summary:");
+        for (Map.Entry<String, StringBuilder> entry : summary.entrySet()) {
+            System.out.println(entry.getKey());
+            System.out.print(entry.getValue());
+        }
+    }
+
+    private static String paramsOf(RunResult result) {
+        StringBuilder params = new StringBuilder();
+        for (String key : result.getParams().getParamsKeys()) {
+            params.append(params.length() == 0 ? " (" : ", ").append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return params.length() == 0 ? "" : params.append(')').toString();
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 泛型集合字段的脱敏性能测试
+ * <p>
+ * 每个 Profile 带有元素不可能含有脱敏内容的集合字段（标签、计数、编号数组），
+ * 以及元素类型为 final Bean 的联系人列表。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class GenericFieldBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private List<Profile> profiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        profiles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Profile profile = new Profile();
+            profile.name = "用户" + i;
+            profile.tags = Arrays.asList("vip", "tag" + i % 10, "level" + i % 5, "active");
+            profile.counters = new HashMap<>();
+            profile.counters.put("login", i);
+            profile.counters.put("order", i % 7);
+            profile.codes = new String[]{"A" + i, "B" + i};
+            profile.contacts = Arrays.asList(new Contact("张老三"), new Contact("李小四"));
+            profiles.add(profile);
+        }
+    }
+
+    @Benchmark
+    public void maskProfiles(Blackhole bh) {
+        EasyDesensitize.mask(profiles);
+        bh.consume(profiles);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(GenericFieldBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    /* ========= 测试模型 ========= */
+
+    public static class Profile {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+        private List<String> tags;
+        private Map<String, Integer> counters;
+        private String[] codes;
+        private List<Contact> contacts;
+    }
+
+    public static final class Contact {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+
+        public Contact(String name) {
+            this.name = name;
+        }
+    }
+
+}
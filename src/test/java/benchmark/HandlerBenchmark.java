@@ -0,0 +1,148 @@
+package benchmark;
+
+import io.github.zhengyuelaii.desensitize.core.handler.DefaultMaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.PseudonymHandler;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内置处理器与 {@link Masker} 微基准测试
+ * <p>
+ * 覆盖 ASCII、CJK（BMP 内的中文）、代理对（emoji 等补充平面字符）与组合字符四类输入，以及不同的输入长度。
+ * ASCII / CJK 走逐 char 的快速路径，代理对走代码点路径；{@code *Graphemes} 方法对组合字符输入走字素簇路径，
+ * 对其余输入可观察快速路径判断的开销。建议配合 {@code -prof gc} 运行以同时观察每次调用的分配量。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HandlerBenchmark {
+
+    @Param({"ASCII", "CJK", "SURROGATE", "COMBINING"})
+    private String charset;
+
+    @Param({"4", "11", "64", "512"})
+    private int length;
+
+    private String value;
+
+    private final MaskingHandler fixedMask = new FixedMaskHandler();
+
+    private final MaskingHandler keepFirstAndLast = new KeepFirstAndLastHandler();
+
+    private final MaskingHandler keepFirstAndLastGraphemes = new KeepFirstAndLastHandler(true);
+
+    private final MaskingHandler defaultHandler = new DefaultMaskingHandler();
+
+    private final MaskingHandler pseudonymToken = PseudonymHandler
+            .builder("benchmark-key-0123456789abcdef".getBytes(StandardCharsets.UTF_8)).build();
+
+    private final MaskingHandler pseudonymFormat = PseudonymHandler
+            .builder("benchmark-key-0123456789abcdef".getBytes(StandardCharsets.UTF_8)).preserveFormat(true).build();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        value = sample(charset, length);
+    }
+
+    /**
+     * 构造指定字符集、指定 char 长度的测试输入
+     */
+    static String sample(String charset, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        int i = 0;
+        while (sb.length() < length) {
+            switch (charset) {
+                case "ASCII":
+                    sb.append((char) ('0' + i % 10));
+                    break;
+                case "CJK":
+                    sb.append((char) ('一' + i % 500));
+                    break;
+                case "COMBINING":
+                    // 拉丁字母与组合变音符号交替出现
+                    sb.append(i % 2 == 0 ? (char) ('a' + i % 26) : (char) (0x0300 + i % 16));
+                    break;
+                default:
+                    // 代理对与 BMP 字符交替出现，长度不足两个 char 时以 BMP 字符补齐
+                    if (i % 2 == 0 && sb.length() + 2 <= length) {
+                        sb.appendCodePoint(0x1F600 + i % 64);
+                    } else {
+                        sb.append((char) ('一' + i % 500));
+                    }
+                    break;
+            }
+            i++;
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String maskerHideMiddle() {
+        return Masker.hide(value, 1, value.length() - 1);
+    }
+
+    @Benchmark
+    public String maskerHideWithMaskString() {
+        return Masker.hide(value, "**", 1, value.length() - 1);
+    }
+
+    @Benchmark
+    public String maskerHideGraphemes() {
+        return Masker.hideGraphemes(value, null, 1, value.length() - 1);
+    }
+
+    @Benchmark
+    public String pseudonymToken() {
+        return pseudonymToken.getMaskingValue(value);
+    }
+
+    @Benchmark
+    public String pseudonymPreserveFormat() {
+        return pseudonymFormat.getMaskingValue(value);
+    }
+
+    @Benchmark
+    public String fixedMaskHandler() {
+        return fixedMask.getMaskingValue(value);
+    }
+
+    @Benchmark
+    public String keepFirstAndLastHandler() {
+        return keepFirstAndLast.getMaskingValue(value);
+    }
+
+    @Benchmark
+    public String keepFirstAndLastGraphemes() {
+        return keepFirstAndLastGraphemes.getMaskingValue(value);
+    }
+
+    @Benchmark
+    public String defaultMaskingHandler() {
+        return defaultHandler.getMaskingValue(value);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(HandlerBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(opt).run();
+    }
+}
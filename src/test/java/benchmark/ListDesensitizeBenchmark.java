@@ -43,6 +43,8 @@ public class ListDesensitizeBenchmark {
 
     private List<User> userList;
 
+    private List<Wrapper<Object>> wrapperList;
+
     @Setup(Level.Trial)
     public void setup() {
         // 构建测试数据
@@ -50,6 +52,13 @@ public class ListDesensitizeBenchmark {
         for (int i = 0; i < size; i++) {
             userList.add(getUser(i));
         }
+        // 泛型包装：data 字段交替持有两种类型（双态位置）
+        wrapperList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Wrapper<Object> wrapper = new Wrapper<>();
+            wrapper.data = i % 2 == 0 ? getUser(i) : getUser(i).getAddress();
+            wrapperList.add(wrapper);
+        }
         // 构造解析器
         handlers = new HashMap<>();
         handlers.put("mobile", value -> Masker.hide(value, 3, 7));
@@ -83,6 +92,12 @@ public class ListDesensitizeBenchmark {
         bh.consume(userList);
     }
 
+    @Benchmark
+    public void testGenericWrappers(Blackhole bh) {
+        EasyDesensitize.mask(wrapperList, handlers);
+        bh.consume(wrapperList);
+    }
+
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include(ListDesensitizeBenchmark.class.getSimpleName())
@@ -117,6 +132,11 @@ public class ListDesensitizeBenchmark {
         }
     }
 
+    public static class Wrapper<T> {
+        private String code = "OK";
+        private T data;
+    }
+
     public static class User {
 
         private Long id;
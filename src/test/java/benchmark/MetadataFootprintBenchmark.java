@@ -0,0 +1,116 @@
+package benchmark;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.util.ClassAnalyzer;
+import io.github.zhengyuelaii.desensitize.core.util.ClassPlan;
+import io.github.zhengyuelaii.desensitize.core.util.FieldMeta;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 类元数据内存占用对比
+ * <p>
+ * JMH 只能统计分配量，无法统计常驻内存，因此本类以普通 main 方法运行：
+ * 分别构建大量相同结构的 {@code List<FieldMeta>}（每个字段一个可变元数据对象）与 {@link ClassPlan}（平行数组），
+ * 全部持有后强制 GC，按堆使用量之差计算每个类的常驻字节数。
+ * {@link java.lang.reflect.Field} 与处理器实例在两种布局间共享，不计入结果。
+ * </p>
+ * <p>
+ * 运行方式：{@code java -cp target/classes:target/test-classes benchmark.MetadataFootprintBenchmark}
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MetadataFootprintBenchmark {
+
+    private static final int COPIES = 50_000;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        for (Class<?> clazz : new Class<?>[]{Customer.class, Order.class, Audit.class}) {
+            List<FieldMeta> metas = ClassAnalyzer.analyze(clazz);
+            long fieldMeta = retainedPerCopy(() -> copyOf(metas));
+            long plan = retainedPerCopy(() -> ClassPlan.of(metas));
+            System.out.printf("%-10s fields=%2d  List<FieldMeta>=%5d B  ClassPlan=%5d B  (%.0f%%)%n",
+                    clazz.getSimpleName(), metas.size(), fieldMeta, plan, 100.0 * plan / fieldMeta);
+        }
+    }
+
+    /**
+     * 构建 {@link #COPIES} 份元数据并全部持有，返回每份的平均常驻字节数
+     */
+    private static long retainedPerCopy(Supplier<Object> factory) {
+        Object[] holder = new Object[COPIES];
+        long before = usedAfterGc();
+        for (int i = 0; i < COPIES; i++) {
+            holder[i] = factory.get();
+        }
+        long after = usedAfterGc();
+        if (holder[COPIES - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / COPIES;
+    }
+
+    /**
+     * 每个类各自持有的字段元数据列表（与按类复制的旧布局一致）
+     */
+    private static List<FieldMeta> copyOf(List<FieldMeta> metas) {
+        List<FieldMeta> copy = new ArrayList<>(metas.size());
+        for (FieldMeta meta : metas) {
+            copy.add(new FieldMeta(meta.getField(), meta.getTypeHandler(), meta.isNested()));
+        }
+        return copy;
+    }
+
+    private static long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Customer {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+        @MaskingField(prefix = 3, suffix = 4)
+        private String mobile;
+        private String remark;
+    }
+
+    static class Audit {
+        private Long id;
+        private Date createdAt;
+        private Date updatedAt;
+        private String createdBy;
+        private String updatedBy;
+        private int version;
+        private boolean deleted;
+    }
+
+    static class Order extends Audit {
+        private String orderNo;
+        @MaskingField(typeHandler = FixedMaskHandler.class)
+        private String address;
+        private BigDecimal amount;
+        private int status;
+        private Customer customer;
+        private List<Customer> contacts;
+        private Map<String, Object> attributes;
+    }
+
+}
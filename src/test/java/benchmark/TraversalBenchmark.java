@@ -0,0 +1,99 @@
+package benchmark;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.RecursiveReferenceMasker;
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 显式栈遍历与递归遍历的性能对比
+ * <p>
+ * deep：单条 2000 层的链表（递归实现在此深度下尚不会栈溢出）；
+ * wide：10000 个节点的列表，每个节点带 3 个子节点。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TraversalBenchmark {
+
+    @Param({"deep", "wide"})
+    private String shape;
+
+    private Object graph;
+
+    private RecursiveReferenceMasker recursive;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("deep".equals(shape)) {
+            Node head = null;
+            for (int i = 0; i < 2000; i++) {
+                Node node = new Node("node" + i);
+                node.next = head;
+                head = node;
+            }
+            graph = head;
+        } else {
+            List<Node> nodes = new ArrayList<>(10000);
+            for (int i = 0; i < 10000; i++) {
+                Node node = new Node("node" + i);
+                for (int c = 0; c < 3; c++) {
+                    node.children.add(new Node("child" + c));
+                }
+                nodes.add(node);
+            }
+            graph = nodes;
+        }
+        recursive = new RecursiveReferenceMasker(null, null);
+    }
+
+    @Benchmark
+    public void iterative(Blackhole bh) {
+        EasyDesensitize.mask(graph);
+        bh.consume(graph);
+    }
+
+    @Benchmark
+    public void recursive(Blackhole bh) {
+        recursive.mask(graph);
+        bh.consume(graph);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(TraversalBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    /* ========= 测试模型 ========= */
+
+    public static class Node {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+        private Node next;
+        private List<Node> children = new ArrayList<>();
+
+        public Node(String name) {
+            this.name = name;
+        }
+    }
+
+}
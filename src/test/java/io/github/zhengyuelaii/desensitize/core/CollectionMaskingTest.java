@@ -100,6 +100,47 @@ public class CollectionMaskingTest {
         assertThat(p.getName()).isEqualTo("张*三");
     }
 
+    @Test
+    @DisplayName("元素类型交替变化时每个元素都应按自身类型脱敏")
+    void should_mask_mixed_element_types() {
+        Person first = new Person("张老三", "13700001234", "110101199001011234");
+        Person second = new Person("李小四", "13800005678", "110101199001015678");
+        List<Object> inner = new ArrayList<>(Collections.singletonList(new Person("王五", "13900009999", null)));
+        List<Object> list = new ArrayList<>(Arrays.asList(first, "hello", inner, new Employee("赵老六"), second, first));
+
+        EasyDesensitize.mask(list);
+
+        assertThat(first.getName()).isEqualTo("张*三");
+        assertThat(second.getName()).isEqualTo("李*四");
+        assertThat(((Person) inner.get(0)).getName()).isEqualTo("王*");
+        assertThat(((Employee) list.get(3)).name).isEqualTo("赵*六");
+    }
+
+    @Test
+    @DisplayName("非随机访问的 List 应按迭代器脱敏")
+    void should_mask_linked_list() {
+        List<Person> list = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            list.add(new Person("张老三", "13700001234", "110101199001011234"));
+        }
+
+        EasyDesensitize.mask(list);
+
+        for (Person person : list) {
+            assertThat(person.getName()).isEqualTo("张*三");
+            assertThat(person.getMobile()).isEqualTo("137****1234");
+        }
+    }
+
+    static class Employee {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+
+        Employee(String name) {
+            this.name = name;
+        }
+    }
+
     static class Person {
 
         @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
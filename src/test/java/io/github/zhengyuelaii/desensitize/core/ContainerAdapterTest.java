@@ -0,0 +1,144 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.FieldPathTrie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 节点分类与容器适配器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class ContainerAdapterTest {
+
+    @Test
+    @DisplayName("Optional 与 AtomicReference 中的对象应被脱敏")
+    void should_unwrap_builtin_containers() {
+        Holder holder = new Holder();
+        holder.optional = Optional.of(new Person("张老三"));
+        holder.reference = new AtomicReference<>(new Person("李小四"));
+        holder.nested = Arrays.asList(Optional.of(new Person("王老五")), Optional.empty());
+
+        EasyDesensitize.mask(holder);
+
+        assertThat(holder.optional.get().name).isEqualTo("张*三");
+        assertThat(holder.reference.get().name).isEqualTo("李*四");
+        assertThat(holder.nested.get(0).get().name).isEqualTo("王*五");
+    }
+
+    @Test
+    @DisplayName("注册的适配器应通过公开 API 展开自定义容器，而不是反射其字段")
+    void should_use_registered_adapter() {
+        EasyDesensitize.registerContainerAdapter(Box.class, Box::get);
+        Box box = new Box(new Person("张老三"));
+
+        EasyDesensitize.mask(Arrays.asList(box, box));
+
+        assertThat(box.get().name).isEqualTo("张*三");
+        assertThat(box.label).isEqualTo("标签内容");
+    }
+
+    @Test
+    @DisplayName("按路径脱敏时容器对路径透明")
+    void should_unwrap_containers_in_path_mode() {
+        Holder holder = new Holder();
+        holder.optional = Optional.of(new Person("张老三"));
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("optional.name", new KeepFirstAndLastHandler())
+                .build();
+
+        EasyDesensitize.mask(holder, rules);
+
+        assertThat(holder.optional.get().name).isEqualTo("张*三");
+    }
+
+    @Test
+    @DisplayName("叶子值不计入节点数，枚举常量不应被修改")
+    void should_skip_leaf_values() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add("value" + i);
+            list.add(i);
+            list.add(new BigDecimal(i));
+            list.add(LocalDate.of(2026, 1, 1).plusDays(i));
+            list.add(new int[]{i});
+            list.add(Level.HIGH);
+        }
+        list.add(new Person("张老三"));
+
+        EasyDesensitize.setTraversalLimits(Integer.MAX_VALUE, 2);
+        try {
+            EasyDesensitize.mask(list);
+        } finally {
+            EasyDesensitize.setTraversalLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+
+        assertThat(((Person) list.get(list.size() - 1)).name).isEqualTo("张*三");
+        assertThat(Level.HIGH.label).isEqualTo("高风险");
+    }
+
+    @Test
+    @DisplayName("注册参数为空时应抛出异常")
+    void should_reject_null_adapter() {
+        assertThatThrownBy(() -> EasyDesensitize.registerContainerAdapter(Box.class, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Person {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+
+        Person(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Holder {
+        private Optional<Person> optional;
+        private AtomicReference<Person> reference;
+        private List<Optional<Person>> nested;
+    }
+
+    static class Box {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String label = "标签内容";
+        private final Person content;
+
+        Box(Person content) {
+            this.content = content;
+        }
+
+        Person get() {
+            return content;
+        }
+    }
+
+    enum Level {
+        HIGH("高风险");
+
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private final String label;
+
+        Level(String label) {
+            this.label = label;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 深层结构与显式栈遍历测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class DeepStructureMaskingTest {
+
+    @AfterEach
+    void resetLimits() {
+        EasyDesensitize.setTraversalLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("超长链表不应耗尽线程栈")
+    void should_mask_long_linked_list() {
+        Node head = chain(200_000);
+
+        EasyDesensitize.mask(head);
+
+        int count = 0;
+        for (Node node = head; node != null; node = node.next) {
+            assertThat(node.name).isEqualTo("N*");
+            count++;
+        }
+        assertThat(count).isEqualTo(200_000);
+    }
+
+    @Test
+    @DisplayName("深层嵌套的集合与 Map 应全部处理")
+    void should_mask_deeply_nested_containers() {
+        Node leaf = new Node("No");
+        Object root = leaf;
+        for (int i = 0; i < 50_000; i++) {
+            root = i % 2 == 0 ? Collections.singletonList(root) : Collections.singletonMap("k", root);
+        }
+
+        EasyDesensitize.mask(root);
+
+        assertThat(leaf.name).isEqualTo("N*");
+    }
+
+    @Test
+    @DisplayName("访问顺序、脱敏结果与循环引用语义应与递归实现一致")
+    void should_match_recursive_reference() {
+        for (long seed = 0; seed < 50; seed++) {
+            List<String> iterativeLog = new ArrayList<>();
+            List<String> recursiveLog = new ArrayList<>();
+            Object iterativeGraph = randomGraph(new Random(seed));
+            Object recursiveGraph = randomGraph(new Random(seed));
+            Set<String> excludes = seed % 3 == 0 ? Collections.singleton("alias") : null;
+
+            EasyDesensitize.mask(iterativeGraph, handlers(iterativeLog), excludes);
+            new RecursiveReferenceMasker(handlers(recursiveLog), excludes).mask(recursiveGraph);
+
+            assertThat(iterativeLog).isEqualTo(recursiveLog);
+            assertThat(dump(iterativeGraph)).isEqualTo(dump(recursiveGraph));
+        }
+    }
+
+    @Test
+    @DisplayName("超过深度或节点数限制时应抛出异常，并且不影响后续调用")
+    void should_enforce_traversal_limits() {
+        EasyDesensitize.setTraversalLimits(100, Integer.MAX_VALUE);
+        assertThatThrownBy(() -> EasyDesensitize.mask(chain(101)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum depth of 100");
+        EasyDesensitize.mask(chain(50));
+
+        EasyDesensitize.setTraversalLimits(Integer.MAX_VALUE, 10);
+        List<Node> wide = new ArrayList<>();
+        // 每个 Node 连同其 children 列表计为 2 个节点，外层列表计为 1 个
+        for (int i = 0; i < 5; i++) {
+            wide.add(new Node("No"));
+        }
+        assertThatThrownBy(() -> EasyDesensitize.mask(wide))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum of 10 nodes");
+        EasyDesensitize.mask(wide.subList(0, 4));
+
+        assertThatThrownBy(() -> EasyDesensitize.setTraversalLimits(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Node chain(int length) {
+        Node head = null;
+        for (int i = 0; i < length; i++) {
+            Node node = new Node("No");
+            node.next = head;
+            head = node;
+        }
+        return head;
+    }
+
+    private static Map<String, MaskingHandler> handlers(List<String> log) {
+        Map<String, MaskingHandler> handlers = new HashMap<>();
+        MaskingHandler logging = value -> {
+            log.add(value);
+            return value + "#";
+        };
+        handlers.put("alias", logging);
+        handlers.put("code", logging);
+        return handlers;
+    }
+
+    /**
+     * 生成包含共享引用、循环引用、数组、迭代器与 Map 的随机对象图
+     */
+    private static Object randomGraph(Random random) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Node node = new Node("Node" + i);
+            node.id = i;
+            node.alias = random.nextBoolean() ? "alias" + i : null;
+            nodes.add(node);
+        }
+        for (Node node : nodes) {
+            node.next = random.nextInt(3) == 0 ? null : nodes.get(random.nextInt(nodes.size()));
+            int children = random.nextInt(4);
+            for (int c = 0; c < children; c++) {
+                node.children.add(nodes.get(random.nextInt(nodes.size())));
+            }
+            switch (random.nextInt(4)) {
+                case 0:
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put("code", "c" + random.nextInt(100));
+                    map.put("node", nodes.get(random.nextInt(nodes.size())));
+                    node.extra = map;
+                    break;
+                case 1:
+                    node.extra = new Object[]{nodes.get(random.nextInt(nodes.size())), "plain", null};
+                    break;
+                case 2:
+                    node.extra = Collections.singletonList(nodes.get(random.nextInt(nodes.size()))).iterator();
+                    break;
+                default:
+                    node.extra = "code" + random.nextInt(100);
+            }
+        }
+        return nodes.subList(0, 5);
+    }
+
+    private static String dump(Object graph) {
+        StringBuilder sb = new StringBuilder();
+        dump(graph, sb, new HashSet<>());
+        return sb.toString();
+    }
+
+    private static void dump(Object data, StringBuilder sb, Set<Integer> seen) {
+        if (data instanceof List) {
+            for (Object element : (List<?>) data) {
+                dump(element, sb, seen);
+            }
+        } else if (data instanceof Node) {
+            Node node = (Node) data;
+            if (!seen.add(node.id)) {
+                return;
+            }
+            sb.append(node.id).append(':').append(node.name).append('/').append(node.alias).append(';');
+            if (node.extra instanceof Map) {
+                sb.append(((Map<?, ?>) node.extra).get("code")).append(';');
+            }
+            dump(node.next, sb, seen);
+            dump(node.children, sb, seen);
+        }
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Node {
+        private int id;
+        @MaskingField(typeHandler = io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler.class)
+        private String name;
+        private String alias;
+        private Node next;
+        private List<Node> children = new ArrayList<>();
+        private Object extra;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+}
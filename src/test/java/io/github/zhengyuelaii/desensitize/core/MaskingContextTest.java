@@ -0,0 +1,132 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 线程复用遍历状态测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MaskingContextTest {
+
+    @Test
+    @DisplayName("同一线程应复用遍历状态，且调用间互不影响")
+    void should_reuse_context_and_clear_between_calls() {
+        MaskingContext first = MaskingContext.acquire(null, null, true);
+        first.release();
+        MaskingContext second = MaskingContext.acquire(null, null, true);
+        second.release();
+        assertThat(second).isSameAs(first);
+
+        // 上一次调用的已访问记录不应导致下一次调用跳过同一对象
+        Map<String, MaskingHandler> handlerMap = Collections.singletonMap("name", value -> value + "*");
+        Account account = new Account("张老三", null);
+        EasyDesensitize.mask(account, handlerMap);
+        EasyDesensitize.mask(account, handlerMap);
+
+        assertThat(account.name).isEqualTo("张老三**");
+        assertThat(first.visited.isEmpty()).isTrue();
+        assertThat(first.localCache.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("处理器内部重入脱敏应使用独立的遍历状态")
+    void should_support_reentrant_mask() {
+        Account inner = new Account("李老四", null);
+        Map<String, MaskingHandler> handlerMap = new HashMap<>();
+        handlerMap.put("name", value -> {
+            EasyDesensitize.mask(inner);
+            return value;
+        });
+
+        Account outer = new Account("张老三", "浦东新区长清路");
+        EasyDesensitize.mask(Collections.singletonList(outer), handlerMap);
+
+        assertThat(inner.address).isNull();
+        assertThat(outer.address).isEqualTo("浦*****路");
+        assertThat(inner.name).isEqualTo("李老四");
+    }
+
+    @Test
+    @DisplayName("处理器抛出异常后遍历状态应被归还")
+    void should_release_context_on_failure() {
+        Map<String, MaskingHandler> handlerMap = Collections.singletonMap("name", value -> {
+            throw new IllegalStateException("boom");
+        });
+        assertThatThrownBy(() -> EasyDesensitize.mask(new Account("张老三", null), handlerMap))
+                .isInstanceOf(IllegalStateException.class);
+
+        MaskingContext context = MaskingContext.acquire(null, null, true);
+        context.release();
+        MaskingContext again = MaskingContext.acquire(null, null, true);
+        again.release();
+        assertThat(again).isSameAs(context);
+    }
+
+    @Test
+    @DisplayName("超大调用结束后应丢弃膨胀的已访问集合")
+    void should_shrink_oversized_state() {
+        MaskingContext context = MaskingContext.acquire(null, null, true);
+        context.release();
+        IdentityHashMap<Object, Boolean> retained = context.visited;
+
+        List<Account> small = new ArrayList<>();
+        small.add(new Account("张老三", null));
+        EasyDesensitize.mask(small);
+        assertThat(context.visited).isSameAs(retained);
+
+        List<Account> large = new ArrayList<>();
+        for (int i = 0; i <= MaskingContext.MAX_RETAINED_SIZE; i++) {
+            large.add(new Account("张老三", "浦东新区长清路"));
+        }
+        EasyDesensitize.mask(large);
+        assertThat(context.visited).isNotSameAs(retained);
+        assertThat(context.visited.isEmpty()).isTrue();
+        assertThat(large.get(0).address).isEqualTo("浦*****路");
+    }
+
+    @Test
+    @DisplayName("数组应按下标遍历，基本类型数组应直接跳过")
+    void should_mask_arrays() {
+        Account[] accounts = {new Account("张老三", "浦东新区长清路"), null};
+        Map<String, Object> data = new HashMap<>();
+        data.put("accounts", accounts);
+        data.put("scores", new int[]{1, 2, 3});
+
+        EasyDesensitize.mask(data);
+
+        assertThat(accounts[0].address).isEqualTo("浦*****路");
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Account {
+
+        private String name;
+
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String address;
+
+        Account(String name, String address) {
+            this.name = name;
+            this.address = address;
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,8 +77,57 @@ public class NestedObjectMaskingTest {
         assertThat(user.getContact()).isNull();
     }
 
+    @Test
+    @DisplayName("按声明泛型剪除或预判元素类型后，脱敏结果应保持不变")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void should_mask_generic_fields() {
+        Profile profile = new Profile();
+        profile.tags = new ArrayList<>(Arrays.asList("tag1", "tag2"));
+        profile.attributes = new HashMap<>();
+        profile.attributes.put("mobile", "13700001234");
+        profile.members = new ArrayList<>(Arrays.asList(new Member("张老三"), new Member("李小四")));
+        // 未检查转换放入的其他类型元素仍按实际类型处理
+        ((List) profile.members).add(new User("王老五", (Contact) null));
+        profile.page = new MemberPage();
+        profile.page.items = Arrays.asList(new Member("赵老六"));
+        Map<String, MaskingHandler> handlerMap = new HashMap<>();
+        handlerMap.put("mobile", value -> Masker.hide(value, 3, 7));
+
+        EasyDesensitize.mask(profile, handlerMap);
+
+        assertThat(profile.tags).isEqualTo(Arrays.asList("tag1", "tag2"));
+        assertThat(profile.attributes.get("mobile")).isEqualTo("137****1234");
+        assertThat(profile.members.get(0).name).isEqualTo("张*三");
+        assertThat(profile.members.get(1).name).isEqualTo("李*四");
+        assertThat(((User) (Object) profile.members.get(2)).getName()).isEqualTo("王*五");
+        assertThat(profile.page.items.get(0).name).isEqualTo("赵*六");
+    }
+
     /* ========= 测试模型 ========= */
 
+    static class Profile {
+        private List<String> tags;
+        private Map<String, String> attributes;
+        private List<Member> members;
+        private MemberPage page;
+    }
+
+    static final class Member {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+
+        Member(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Page<T> {
+        List<T> items;
+    }
+
+    static class MemberPage extends Page<Member> {
+    }
+
     static class User {
 
         @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
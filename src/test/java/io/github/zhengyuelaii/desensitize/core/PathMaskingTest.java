@@ -0,0 +1,275 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.FieldPathTrie;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 字段路径规则脱敏测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PathMaskingTest {
+
+    @Test
+    @DisplayName("同名字段应能按路径区分处理")
+    void should_distinguish_same_field_name_by_path() {
+        User user = new User("张老三", "13700001234", new Address("李老四", "浦东新区长清路"));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("address.name", new KeepFirstAndLastHandler())
+                .build();
+        EasyDesensitize.mask(user, rules);
+
+        assertThat(user.getName()).isEqualTo("张老三");
+        assertThat(user.getAddress().getName()).isEqualTo("李*四");
+    }
+
+    @Test
+    @DisplayName("应能通过 [] 匹配集合元素")
+    void should_match_collection_elements() {
+        List<User> users = new ArrayList<>();
+        users.add(new User("张老三", "13700001234", null));
+        users.add(new User("李老四", "13800005678", null));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("[].mobile", value -> Masker.hide(value, 3, 7))
+                .build();
+        EasyDesensitize.mask(users, rules);
+
+        assertThat(users.get(0).getMobile()).isEqualTo("137****1234");
+        assertThat(users.get(1).getMobile()).isEqualTo("138****5678");
+    }
+
+    @Test
+    @DisplayName("应能按路径处理 Map 与嵌套集合")
+    void should_mask_map_and_nested_collection() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "张老三");
+        data.put("users", Arrays.asList(new User("李老四", "13800005678", null)));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("name", new FixedMaskHandler())
+                .mask("users[].name", new KeepFirstAndLastHandler())
+                .build();
+        EasyDesensitize.mask(data, rules);
+
+        assertThat(data.get("name")).isEqualTo("******");
+        @SuppressWarnings("unchecked")
+        List<User> users = (List<User>) data.get("users");
+        assertThat(users.get(0).getName()).isEqualTo("李*四");
+        assertThat(users.get(0).getMobile()).isEqualTo("13800005678");
+    }
+
+    @Test
+    @DisplayName("未被路径覆盖的子树应整体跳过")
+    void should_skip_unmatched_subtree() {
+        User user = new User("张老三", "13700001234", new Address("李老四", "浦东新区长清路"));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("mobile", value -> Masker.hide(value, 3, 7))
+                .build();
+        EasyDesensitize.mask(user, rules);
+
+        assertThat(user.getMobile()).isEqualTo("137****1234");
+        // address 未被任何路径覆盖，其注解字段不会被访问
+        assertThat(user.getAddress().getDetail()).isEqualTo("浦东新区长清路");
+    }
+
+    @Test
+    @DisplayName("被访问 Bean 的注解字段仍应生效，排除路径应优先")
+    void should_apply_annotations_and_respect_exclusion() {
+        User user = new User("张老三", "13700001234", new Address("李老四", "浦东新区长清路"));
+        User excluded = new User("王老五", "13900009999", new Address("赵老六", "徐汇区漕溪路"));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("address.name", new KeepFirstAndLastHandler())
+                .build();
+        EasyDesensitize.mask(user, rules);
+        assertThat(user.getAddress().getDetail()).isEqualTo("浦*****路");
+
+        FieldPathTrie excludeRules = FieldPathTrie.builder()
+                .mask("address.name", new KeepFirstAndLastHandler())
+                .exclude("address")
+                .build();
+        EasyDesensitize.mask(excluded, excludeRules);
+        assertThat(excluded.getAddress().getName()).isEqualTo("赵老六");
+        assertThat(excluded.getAddress().getDetail()).isEqualTo("徐汇区漕溪路");
+    }
+
+    @Test
+    @DisplayName("同一对象在同一路径下只应脱敏一次")
+    void should_mask_shared_object_once_per_path() {
+        User user = new User("张老三", "13700001234", null);
+        List<User> users = Arrays.asList(user, user);
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("[].name", value -> value + "*")
+                .build();
+        EasyDesensitize.mask(users, rules);
+
+        assertThat(user.getName()).isEqualTo("张老三*");
+    }
+
+    @Test
+    @DisplayName("同一对象经多条路径可达时注解字段只应脱敏一次")
+    void should_mask_annotations_once_across_paths() {
+        Tag tag = new Tag("内部标签");
+        Map<String, Object> data = new HashMap<>();
+        data.put("primary", tag);
+        data.put("backup", tag);
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("primary.name", value -> value)
+                .mask("backup.name", value -> value)
+                .build();
+        EasyDesensitize.mask(data, rules);
+
+        assertThat(tag.code).isEqualTo("T-001*");
+    }
+
+    @Test
+    @DisplayName("按路径脱敏同样受遍历深度限制")
+    void should_respect_traversal_limits() {
+        List<User> users = Arrays.asList(new User("张老三", "13700001234", new Address("李老四", "浦东新区长清路")));
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("[].address.name", new KeepFirstAndLastHandler())
+                .build();
+
+        EasyDesensitize.setTraversalLimits(2, Integer.MAX_VALUE);
+        try {
+            assertThatThrownBy(() -> EasyDesensitize.mask(users, rules))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("maximum depth of 2");
+        } finally {
+            EasyDesensitize.setTraversalLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    @DisplayName("[] 规则应原位脱敏集合与数组中的字符串元素")
+    void should_mask_string_elements_in_place() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("tags", new ArrayList<>(Arrays.asList("张老三", "李老四")));
+        data.put("codes", new String[]{"13700001234", "13800005678"});
+        data.put("labels", new HashSet<>(Arrays.asList("王老五")));
+
+        FieldPathTrie rules = FieldPathTrie.builder()
+                .mask("tags[]", new KeepFirstAndLastHandler())
+                .mask("codes[]", value -> Masker.hide(value, 3, 7))
+                .mask("labels[]", new KeepFirstAndLastHandler())
+                .build();
+        EasyDesensitize.mask(data, rules);
+
+        assertThat(data.get("tags")).isEqualTo(Arrays.asList("张*三", "李*四"));
+        assertThat((String[]) data.get("codes")).containsExactly("137****1234", "138****5678");
+        assertThat(data.get("labels")).isEqualTo(new HashSet<>(Arrays.asList("王*五")));
+
+        List<String> root = new ArrayList<>(Arrays.asList("张老三", "李老四"));
+        EasyDesensitize.mask(root, FieldPathTrie.builder().mask("[]", new KeepFirstAndLastHandler()).build());
+        assertThat(root).isEqualTo(Arrays.asList("张*三", "李*四"));
+
+        assertThatThrownBy(() -> EasyDesensitize.mask(Arrays.asList("张老三").iterator(),
+                FieldPathTrie.builder().mask("[]", new KeepFirstAndLastHandler()).build()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("非法路径应抛出异常")
+    void should_reject_invalid_path() {
+        assertThatThrownBy(() -> FieldPathTrie.builder().exclude("user..name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid field path");
+        assertThatThrownBy(() -> FieldPathTrie.builder().exclude(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class User {
+
+        private String name;
+        private String mobile;
+        private Address address;
+
+        public User(String name, String mobile, Address address) {
+            this.name = name;
+            this.mobile = mobile;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getMobile() {
+            return mobile;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    static class Tag {
+
+        private String name;
+
+        @MaskingField(typeHandler = SuffixHandler.class)
+        private String code = "T-001";
+
+        Tag(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 非幂等处理器，重复脱敏时结果可见
+     */
+    public static class SuffixHandler implements MaskingHandler {
+
+        @Override
+        public String getMaskingValue(String value) {
+            return value + "*";
+        }
+    }
+
+    static class Address {
+
+        private String name;
+
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String detail;
+
+        public Address(String name, String detail) {
+            this.name = name;
+            this.detail = detail;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package io.github.zhengyuelaii.desensitize.core;
+
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import io.github.zhengyuelaii.desensitize.core.util.ClassAnalyzer;
+import io.github.zhengyuelaii.desensitize.core.util.ClassPlan;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 递归遍历的参考实现
+ * <p>
+ * 保留显式栈引擎之前的递归写法，仅用于验证两者的访问顺序、脱敏结果与循环引用语义一致，
+ * 以及在基准测试中对比两者的性能。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public final class RecursiveReferenceMasker {
+
+    private final Map<String, MaskingHandler> handlerMap;
+
+    private final Set<String> excludeFields;
+
+    private final IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+
+    private final IdentityHashMap<Class<?>, ClassPlan> plans = new IdentityHashMap<>();
+
+    public RecursiveReferenceMasker(Map<String, MaskingHandler> handlerMap, Set<String> excludeFields) {
+        this.handlerMap = handlerMap;
+        this.excludeFields = excludeFields;
+    }
+
+    public void mask(Object data) {
+        visited.clear();
+        visit(data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visit(Object data) {
+        if (data == null || visited.put(data, Boolean.TRUE) != null) {
+            return;
+        }
+        if (data instanceof Object[]) {
+            for (Object element : (Object[]) data) {
+                visit(element);
+            }
+        } else if (data instanceof Iterator) {
+            visitIterator((Iterator<?>) data);
+        } else if (data instanceof Collection) {
+            visitIterator(((Collection<?>) data).iterator());
+        } else if (data instanceof Map) {
+            visitMap((Map<?, Object>) data);
+        } else if (!data.getClass().isArray()) {
+            visitBean(data);
+        }
+    }
+
+    private void visitIterator(Iterator<?> iterator) {
+        while (iterator.hasNext()) {
+            visit(iterator.next());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visitMap(Map<?, Object> data) {
+        for (Map.Entry<?, Object> entry : data.entrySet()) {
+            Object key = entry.getKey();
+            if (key != null && !(key instanceof String)) {
+                throw new RuntimeException("Unsupported Map Key type: " + key.getClass().getName());
+            }
+            if (excludeFields != null && excludeFields.contains(key)) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            MaskingHandler handler = handlerMap == null ? null : handlerMap.get(key);
+            if (handler != null && value instanceof String) {
+                ((Map<Object, Object>) data).put(key, handler.getMaskingValue((String) value));
+            } else {
+                visit(value);
+            }
+        }
+    }
+
+    private void visitBean(Object data) {
+        ClassPlan plan = plans.computeIfAbsent(data.getClass(), ClassAnalyzer::plan);
+        try {
+            for (int i = 0; i < plan.size(); i++) {
+                if (excludeFields != null && excludeFields.contains(plan.name(i))) {
+                    continue;
+                }
+                boolean annotated = i < plan.handlerMapStart();
+                boolean nested = i >= plan.nestedStart();
+                Object value = plan.field(i).get(data);
+                if (value instanceof String) {
+                    MaskingHandler handler = lookup(plan, i);
+                    if (handler == null && annotated) {
+                        handler = plan.typeHandler(i);
+                    }
+                    if (handler != null) {
+                        String masked = handler.getMaskingValue((String) value);
+                        if (!Objects.equals(value, masked)) {
+                            plan.field(i).set(data, masked);
+                        }
+                    }
+                } else if (nested && value != null) {
+                    visit(value);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MaskingHandler lookup(ClassPlan plan, int index) {
+        if (handlerMap == null) {
+            return null;
+        }
+        if (handlerMap instanceof PatternHandlerMap) {
+            return plan.patternHandler((PatternHandlerMap) handlerMap, index);
+        }
+        return handlerMap.get(plan.name(index));
+    }
+
+}
@@ -0,0 +1,200 @@
+package io.github.zhengyuelaii.desensitize.core.cache;
+
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 脱敏快照缓存测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MaskedSnapshotCacheTest {
+
+    private AtomicInteger copies;
+
+    private UnaryOperator<Merchant> copier;
+
+    @BeforeEach
+    void setUp() {
+        copies = new AtomicInteger();
+        copier = source -> {
+            copies.incrementAndGet();
+            return new Merchant(source.name, source.contactMobile);
+        };
+    }
+
+    @Test
+    @DisplayName("源对象未变化时应直接返回快照且不修改源对象")
+    void should_return_cached_snapshot() {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        Merchant merchant = new Merchant("张老三", "13700001234");
+
+        Merchant first = cache.get(merchant, 1L, copier);
+        Merchant second = cache.get(merchant, 1L, copier);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.name).isEqualTo("张*三");
+        assertThat(merchant.name).isEqualTo("张老三");
+        assertThat(copies.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("版本戳变化时应重新生成快照")
+    void should_refresh_on_stamp_change() {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        Merchant merchant = new Merchant("张老三", "13700001234");
+
+        Merchant first = cache.get(merchant, 1L, copier);
+        merchant.name = "李老四";
+        Merchant second = cache.get(merchant, 2L, copier);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.name).isEqualTo("李*四");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("不同规则集应分别缓存")
+    void should_key_by_rule_set() {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        Merchant merchant = new Merchant("张老三", "13700001234");
+        Map<String, MaskingHandler> handlerMap = Collections.singletonMap("contactMobile", new FixedMaskHandler());
+
+        Merchant annotated = cache.get(merchant, 1L, copier);
+        Merchant withRules = cache.get(merchant, 1L, copier, handlerMap, null);
+        Merchant excluded = cache.get(merchant, 1L, copier, handlerMap, Collections.singleton("name"));
+
+        assertThat(annotated.contactMobile).isEqualTo("13700001234");
+        assertThat(withRules.contactMobile).isEqualTo("******");
+        assertThat(excluded.name).isEqualTo("张老三");
+        assertThat(cache.get(merchant, 1L, copier, handlerMap, null)).isSameAs(withRules);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("超过容量时应淘汰最久未访问的条目")
+    void should_evict_least_recently_used() {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(2);
+        Merchant a = new Merchant("张老三", null);
+        Merchant b = new Merchant("李老四", null);
+        Merchant c = new Merchant("王老五", null);
+
+        Merchant snapshotA = cache.get(a, null, copier);
+        cache.get(b, null, copier);
+        cache.get(a, null, copier);
+        cache.get(c, null, copier);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(a, null, copier)).isSameAs(snapshotA);
+        cache.get(b, null, copier);
+        assertThat(copies.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("并发命中应返回同一快照且计数准确")
+    void should_serve_concurrent_hits() throws Exception {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        Merchant merchant = new Merchant("张老三", "13700001234");
+        Merchant snapshot = cache.get(merchant, 1L, copier);
+
+        int threads = 8;
+        int rounds = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    boolean same = true;
+                    for (int i = 0; i < rounds; i++) {
+                        same &= cache.get(merchant, 1L, copier) == snapshot;
+                    }
+                    return same;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(copies.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo((long) threads * rounds);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("源对象被回收后条目应自动清除")
+    void should_expunge_collected_sources() throws InterruptedException {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        for (int i = 0; i < 8; i++) {
+            cache.get(new Merchant("张老三", null), null, copier);
+        }
+
+        for (int i = 0; i < 50 && cache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("失效与非法参数")
+    void should_invalidate_and_validate() {
+        MaskedSnapshotCache cache = new MaskedSnapshotCache(16);
+        Merchant merchant = new Merchant("张老三", null);
+        cache.get(merchant, null, copier);
+        cache.invalidate(merchant);
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get(null, null, copier)).isNull();
+
+        assertThatThrownBy(() -> new MaskedSnapshotCache(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get(merchant, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get(merchant, null, UnaryOperator.identity()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(merchant.name).isEqualTo("张老三");
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Merchant {
+
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+
+        private String contactMobile;
+
+        Merchant(String name, String contactMobile) {
+            this.name = name;
+            this.contactMobile = contactMobile;
+        }
+    }
+
+}
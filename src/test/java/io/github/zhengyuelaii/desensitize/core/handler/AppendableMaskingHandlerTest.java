@@ -0,0 +1,89 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.CharBuffer;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 追加式脱敏处理器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class AppendableMaskingHandlerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "张三", "欧阳锋", "13700001234", "a😀b"})
+    @DisplayName("内置处理器的追加式实现应与字符串实现结果一致")
+    void builtins_should_match_string_semantics(String value) {
+        assertSameResult(new KeepFirstAndLastHandler(), value);
+        assertSameResult(new FixedMaskHandler(), value);
+        assertSameResult(new FixedMaskHandler("＊＊"), value);
+        assertSameResult(new DefaultMaskingHandler(), value);
+        assertSameResult(MaskingChain.builder().trim().keep(1, 1).build(), " " + value + " ");
+    }
+
+    @Test
+    @DisplayName("普通处理器应通过桥接实现，并保留返回 null 的语义")
+    void of_should_bridge_plain_handlers() {
+        KeepFirstAndLastHandler builtin = new KeepFirstAndLastHandler();
+        assertThat(AppendableMaskingHandler.of(builtin)).isSameAs(builtin);
+
+        AppendableMaskingHandler upper = AppendableMaskingHandler.of(String::toUpperCase);
+        StringBuilder out = new StringBuilder("x=");
+        upper.maskTo("[abc]", 1, 4, out);
+        assertThat(out.toString()).isEqualTo("x=ABC");
+
+        AppendableMaskingHandler nullable = AppendableMaskingHandler.of(value -> null);
+        assertThat(nullable.getMaskingValue("abc")).isNull();
+        assertThat(nullable.maskTo("abc", 0, 3, new char[0], 0)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("应支持任意字符序列与数组偏移")
+    void should_support_char_sequences_and_offsets() {
+        CharBuffer src = CharBuffer.wrap("--13700001234--");
+        char[] dst = new char[16];
+        dst[0] = '>';
+
+        int written = new KeepFirstAndLastHandler().maskTo(src, 2, 13, dst, 1);
+
+        assertThat(written).isEqualTo(11);
+        assertThat(new String(dst, 0, 1 + written)).isEqualTo(">1*********4");
+    }
+
+    @Test
+    @DisplayName("目标数组空间不足时应抛出异常且不修改数组")
+    void should_reject_small_destination() {
+        char[] dst = {'a', 'b', 'c'};
+
+        assertThatThrownBy(() -> new FixedMaskHandler().maskTo("13700001234", 0, 11, dst, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> new KeepFirstAndLastHandler().maskTo("1234", 0, 4, dst, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        AppendableMaskingHandler lambda = (src, start, end, out) -> out.append("1234");
+        assertThatThrownBy(() -> lambda.maskTo("x", 0, 1, dst, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(new String(dst)).isEqualTo("abc");
+    }
+
+    private static void assertSameResult(AppendableMaskingHandler handler, String value) {
+        String expected = handler.getMaskingValue(value);
+        String wrapped = "<" + value + ">";
+
+        StringBuilder out = new StringBuilder("#");
+        handler.maskTo(wrapped, 1, 1 + value.length(), out);
+        assertThat(out.toString()).isEqualTo("#" + expected);
+
+        char[] dst = new char[expected.length() + 2];
+        int written = handler.maskTo(wrapped, 1, 1 + value.length(), dst, 2);
+        assertThat(new String(dst, 2, written)).isEqualTo(expected);
+    }
+
+}
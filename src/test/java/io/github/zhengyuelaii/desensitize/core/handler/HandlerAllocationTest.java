@@ -0,0 +1,157 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 处理器热路径分配量回归测试
+ * <p>
+ * 通过 {@code com.sun.management.ThreadMXBean} 统计当前线程的分配字节数，
+ * 计算每次调用的平均分配量并与上限比较。上限按"结果字符串 + 一个构建缓冲区"估算并留有余量，
+ * 用于捕获明显的分配回归（如引入中间字符串、装箱或逐字符拼接字符串）。
+ * JVM 不支持线程分配统计时跳过。
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class HandlerAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+
+    private static final int MEASURED_CALLS = 20_000;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    /**
+     * 防止调用结果被优化掉
+     */
+    private static volatile Object sink;
+
+    @BeforeAll
+    static void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Thread allocation counters are not available");
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    @DisplayName("固定掩码处理器不应产生分配")
+    void fixedMaskHandler_should_not_allocate() {
+        FixedMaskHandler handler = new FixedMaskHandler();
+        assertThat(bytesPerCall(handler::getMaskingValue, "13700001234")).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("默认处理器不应产生分配")
+    void defaultMaskingHandler_should_not_allocate() {
+        DefaultMaskingHandler handler = new DefaultMaskingHandler();
+        assertThat(bytesPerCall(handler::getMaskingValue, "13700001234")).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("保留首尾处理器的分配量应与结果长度成正比")
+    void keepFirstAndLastHandler_should_stay_within_ceiling() {
+        KeepFirstAndLastHandler handler = new KeepFirstAndLastHandler();
+        assertThat(bytesPerCall(handler::getMaskingValue, "13700001234")).isLessThan(ceiling(11));
+        assertThat(bytesPerCall(handler::getMaskingValue, "欧阳锋")).isLessThan(ceiling(3));
+        assertThat(bytesPerCall(handler::getMaskingValue, repeat('x', 256))).isLessThan(ceiling(256));
+    }
+
+    @Test
+    @DisplayName("假名化处理器只应分配结果字符串")
+    void pseudonymHandler_should_stay_within_ceiling() {
+        byte[] key = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+        PseudonymHandler token = PseudonymHandler.builder(key).build();
+        PseudonymHandler format = PseudonymHandler.builder(key).preserveFormat(true).build();
+        assertThat(bytesPerCall(token::getMaskingValue, "13700001234")).isLessThan(ceiling(16));
+        assertThat(bytesPerCall(format::getMaskingValue, "137-0000-1234")).isLessThan(ceiling(13));
+    }
+
+    @Test
+    @DisplayName("Masker.hide 的分配量应与结果长度成正比")
+    void maskerHide_should_stay_within_ceiling() {
+        assertThat(bytesPerCall(value -> Masker.hide(value, 3, 7), "13700001234")).isLessThan(ceiling(11));
+        assertThat(bytesPerCall(value -> Masker.hide(value, 1, 2), "张老三")).isLessThan(ceiling(3));
+        assertThat(bytesPerCall(value -> Masker.hide(value, 4, 250), repeat('x', 256))).isLessThan(ceiling(256));
+    }
+
+    @Test
+    @DisplayName("融合组合处理器只应分配一个结果字符串")
+    void maskingChain_should_allocate_single_result() {
+        MaskingHandler chain = MaskingChain.builder()
+                .trim()
+                .toHalfWidth()
+                .remove(c -> c == '-')
+                .keep(3, 4)
+                .build();
+        // 上限只计一份结果字符串，逐步调用时的中间字符串会超出
+        assertThat(bytesPerCall(chain::getMaskingValue, " １３７-００００-１２３４ ")).isLessThan(2.0 * 11 + 64 + 32);
+        assertThat(bytesPerCall(chain::getMaskingValue, repeat('x', 256))).isLessThan(2.0 * 256 + 64 + 32);
+    }
+
+    @Test
+    @DisplayName("追加式接口写入复用的缓冲区时不应产生分配")
+    void appendableHandlers_should_not_allocate() {
+        StringBuilder out = new StringBuilder(64);
+        KeepFirstAndLastHandler keep = new KeepFirstAndLastHandler();
+        MaskingChain chain = MaskingChain.builder().trim().keep(3, 4).build();
+
+        assertThat(bytesPerCall(value -> {
+            out.setLength(0);
+            keep.maskTo(value, 0, value.length(), out);
+            return null;
+        }, "13700001234")).isLessThan(1.0);
+        assertThat(bytesPerCall(value -> {
+            out.setLength(0);
+            chain.maskTo(value, 0, value.length(), out);
+            return null;
+        }, " 13700001234 ")).isLessThan(1.0);
+        assertThat(bytesPerCall(value -> {
+            out.setLength(0);
+            Masker.hideTo(value, 3, 7, out);
+            return null;
+        }, "13700001234")).isLessThan(1.0);
+    }
+
+    /**
+     * 单次调用的分配上限：按 UTF-16 计算结果字符串与构建缓冲区各一份，外加对象头等固定开销
+     */
+    private static double ceiling(int length) {
+        return 2 * (2.0 * length + 64) + 64;
+    }
+
+    private static double bytesPerCall(UnaryOperator<String> call, String input) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = call.apply(input);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink = call.apply(input);
+        }
+        long after = threadBean.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / MEASURED_CALLS;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+}
@@ -89,4 +89,28 @@ public class KeepFirstAndLastHandlerTest {
         assertThat(result.length()).isEqualTo(input.length());
     }
 
+    @Test
+    @DisplayName("应按代码点处理代理对，不拆分 emoji 与生僻字")
+    void shouldKeepSurrogatePairsIntact() {
+        assertThat(handler.getMaskingValue("😀")).isEqualTo("*");
+        assertThat(handler.getMaskingValue("😀a")).isEqualTo("😀*");
+        assertThat(handler.getMaskingValue("𠀀老𠀁")).isEqualTo("𠀀*𠀁");
+        assertThat(handler.getMaskingValue("a😀😀b")).isEqualTo("a**b");
+
+        StringBuilder out = new StringBuilder();
+        handler.maskTo("[😀x😀]", 1, 6, out);
+        assertThat(out.toString()).isEqualTo("😀*😀");
+    }
+
+    @Test
+    @DisplayName("字素簇模式应保持组合字符完整")
+    void shouldKeepGraphemeClustersIntactWhenEnabled() {
+        KeepFirstAndLastHandler graphemes = new KeepFirstAndLastHandler(true);
+        String combining = "e\u0301abe\u0301";
+
+        assertThat(graphemes.getMaskingValue(combining)).isEqualTo("e\u0301**e\u0301");
+        assertThat(graphemes.getMaskingValue("Hello")).isEqualTo("H***o");
+        assertThat(handler.getMaskingValue(combining)).isEqualTo("e****\u0301");
+    }
+
 }
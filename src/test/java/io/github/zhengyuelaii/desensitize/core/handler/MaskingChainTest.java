@@ -0,0 +1,129 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 组合处理器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MaskingChainTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "　", "１３７００００１２３４", " 137-0000-1234 ", "　１３７　", "ab", "a", "张老三", "😀x😀"})
+    @DisplayName("融合结果应与逐步调用一致")
+    void fused_chain_should_match_sequential_application(String value) {
+        MaskingHandler fused = MaskingChain.builder()
+                .toHalfWidth()
+                .trim()
+                .remove(c -> c == '-')
+                .keep(3, 4)
+                .then(new KeepFirstAndLastHandler())
+                .build();
+
+        String expected = new KeepFirstAndLastHandler().getMaskingValue(
+                keep(toHalfWidth(value).trim().replace("-", ""), 3, 4));
+        assertThat(fused.getMaskingValue(value)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("无法融合的步骤应按顺序调用，其后的步骤开始新的片段")
+    void should_fall_back_for_opaque_steps() {
+        AtomicInteger calls = new AtomicInteger();
+        MaskingHandler chain = MaskingChain.builder()
+                .trim()
+                .then(value -> {
+                    calls.incrementAndGet();
+                    return "[" + value + "]";
+                })
+                .hide(1, 3)
+                .map(Character::toUpperCase)
+                .build();
+
+        assertThat(chain.getMaskingValue("  abcd ")).isEqualTo("[**CD]");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(chain.getMaskingValue(null)).isNull();
+        assertThat(MaskingChain.builder().then(value -> null).trim().build().getMaskingValue("x")).isNull();
+    }
+
+    @Test
+    @DisplayName("hide 应与 Masker.hide 语义一致，嵌套组合应被展开")
+    void hide_should_match_masker_semantics() {
+        MaskingHandler inner = MaskingChain.builder().hide(3, 7).build();
+        MaskingHandler outer = MaskingChain.builder().trim().then(inner).then(new DefaultMaskingHandler()).build();
+
+        for (String value : new String[]{"13700001234", "1370", "137", "", "12345678"}) {
+            assertThat(outer.getMaskingValue(" " + value + " ")).isEqualTo(Masker.hide(value, 3, 7));
+        }
+        assertThat(MaskingChain.builder().hide(5, 2).build().getMaskingValue("abcdefg")).isEqualTo("abcdefg");
+        assertThat(MaskingChain.builder().hide(1, 3, '#').build().getMaskingValue("abcd")).isEqualTo("a##d");
+    }
+
+    @Test
+    @DisplayName("融合掩码应按代码点计数并与 Masker 一致")
+    void fused_masks_should_count_code_points() {
+        MaskingHandler hide = MaskingChain.builder().trim().hide(1, 3).build();
+        MaskingHandler keep = MaskingChain.builder().keep(1, 1).then(new KeepFirstAndLastHandler()).build();
+
+        for (String value : new String[]{"😀😀😀😀", "a😀b😀c", "😀", "😀a"}) {
+            assertThat(hide.getMaskingValue(" " + value)).isEqualTo(Masker.hide(value, 1, 3));
+            assertThat(keep.getMaskingValue(value))
+                    .isEqualTo(new KeepFirstAndLastHandler().getMaskingValue(keep(value, 1, 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("输入未被改变时应返回原字符串")
+    void should_return_same_instance_when_unchanged() {
+        MaskingHandler chain = MaskingChain.builder().trim().toHalfWidth().keep(3, 4).build();
+        String value = "1234567";
+
+        assertThat(chain.getMaskingValue(value)).isSameAs(value);
+        assertThat(MaskingChain.builder().build().getMaskingValue(value)).isSameAs(value);
+    }
+
+    @Test
+    @DisplayName("转换函数内部嵌套调用组合处理器时结果应正确")
+    void should_support_reentrant_calls() {
+        MaskingHandler inner = MaskingChain.builder().keep(1, 1).build();
+        MaskingHandler outer = MaskingChain.builder()
+                .map(c -> inner.getMaskingValue("xyz").charAt(1) == '*' ? Character.toUpperCase(c) : c)
+                .keep(1, 0)
+                .build();
+
+        assertThat(outer.getMaskingValue("abc")).isEqualTo("A**");
+    }
+
+    @Test
+    @DisplayName("非法参数应抛出异常")
+    void should_reject_invalid_arguments() {
+        assertThatThrownBy(() -> MaskingChain.builder().keep(-1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MaskingChain.builder().then(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MaskingChain.builder().map(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String toHalfWidth(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            sb.append(c == '　' ? ' ' : c >= '！' && c <= '～' ? (char) (c - 0xFEE0) : c);
+        }
+        return sb.toString();
+    }
+
+    private static String keep(String value, int front, int back) {
+        int units = value.codePointCount(0, value.length());
+        return units <= front + back ? value : Masker.hide(value, front, units - back);
+    }
+
+}
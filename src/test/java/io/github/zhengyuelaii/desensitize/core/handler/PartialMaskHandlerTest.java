@@ -0,0 +1,67 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 保留前后缀处理器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PartialMaskHandlerTest {
+
+    @Test
+    @DisplayName("应保留前后缀，字符数不足时返回原值")
+    void should_keep_prefix_and_suffix() {
+        PartialMaskHandler handler = new PartialMaskHandler(3, 4);
+
+        assertThat(handler.getMaskingValue("13700001234")).isEqualTo("137****1234");
+        assertThat(handler.getMaskingValue("1234567")).isEqualTo("1234567");
+        assertThat(handler.getMaskingValue("😀😀😀😀😀😀😀😀")).isEqualTo("😀😀😀*😀😀😀😀");
+        assertThat(new PartialMaskHandler(1, 0, '#').getMaskingValue("张三丰")).isEqualTo("张##");
+        assertThat(handler.getMaskingValue(null)).isNull();
+        assertThat(handler.getMaskingValue("")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "1234567", "13700001234", "a😀b😀c😀d😀"})
+    @DisplayName("追加式实现与组合处理器融合后应与字符串实现一致")
+    void appendable_and_fused_should_match(String value) {
+        PartialMaskHandler handler = new PartialMaskHandler(MaskingParams.of(3, 4, '#', ""));
+        String expected = handler.getMaskingValue(value);
+
+        StringBuilder out = new StringBuilder();
+        handler.maskTo("<" + value + ">", 1, 1 + value.length(), out);
+        assertThat(out.toString()).isEqualTo(expected);
+        assertThat(MaskingChain.builder().then(handler).build().getMaskingValue(value)).isEqualTo(expected);
+        if (value.length() > 7) {
+            assertThat(expected).isEqualTo(Masker.hide(value, "#", 3, value.codePointCount(0, value.length()) - 4));
+        }
+    }
+
+    @Test
+    @DisplayName("参数缓存应按类型与参数区分实例")
+    void factory_should_cache_by_class_and_params() {
+        MaskingParams params = MaskingParams.of(3, 4, '*', "");
+
+        PartialMaskHandler first = MaskingHandlerFactory.getHandler(PartialMaskHandler.class, params);
+
+        assertThat(MaskingHandlerFactory.getHandler(PartialMaskHandler.class, MaskingParams.of(3, 4, '*', "")))
+                .isSameAs(first);
+        assertThat(MaskingHandlerFactory.getHandler(PartialMaskHandler.class, MaskingParams.of(3, 3, '*', "")))
+                .isNotSameAs(first);
+        assertThat(MaskingHandlerFactory.getHandler(FixedMaskHandler.class, MaskingParams.DEFAULT))
+                .isSameAs(MaskingHandlerFactory.getHandler(FixedMaskHandler.class));
+        assertThatThrownBy(() -> MaskingParams.of(-2, 0, '*', "")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PartialMaskHandler(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
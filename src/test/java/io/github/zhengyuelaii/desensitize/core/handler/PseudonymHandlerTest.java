@@ -0,0 +1,146 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 确定性假名化处理器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PseudonymHandlerTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("同一密钥下相同输入应得到相同令牌，不同输入或密钥应得到不同令牌")
+    void should_be_deterministic_per_key() {
+        PseudonymHandler handler = PseudonymHandler.builder(KEY).build();
+        PseudonymHandler other = PseudonymHandler.builder("another-key".getBytes(StandardCharsets.UTF_8)).build();
+
+        String token = handler.getMaskingValue("13700001234");
+
+        assertThat(token).hasSize(PseudonymHandler.DEFAULT_TOKEN_LENGTH).matches("[A-Za-z0-9_-]+");
+        assertThat(PseudonymHandler.builder(KEY).build().getMaskingValue("13700001234")).isEqualTo(token);
+        assertThat(handler.getMaskingValue("13700001235")).isNotEqualTo(token);
+        assertThat(other.getMaskingValue("13700001234")).isNotEqualTo(token);
+        assertThat(PseudonymHandler.builder(KEY).tokenLength(8).build().getMaskingValue("13700001234"))
+                .isEqualTo(token.substring(0, 8));
+        assertThat(handler.getMaskingValue(null)).isNull();
+        assertThat(handler.getMaskingValue("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("保留格式时应等长且字符类别不变，分隔符原样保留")
+    void should_preserve_format() {
+        PseudonymHandler handler = PseudonymHandler.builder(KEY).preserveFormat(true).build();
+
+        String phone = handler.getMaskingValue("137-0000-1234");
+        String email = handler.getMaskingValue("Zhang.San@example.com");
+        String name = handler.getMaskingValue("张三😀");
+
+        assertThat(phone).matches("\\d{3}-\\d{4}-\\d{4}").isNotEqualTo("137-0000-1234");
+        assertThat(email).matches("[A-Z][a-z]{4}\\.[A-Z][a-z]{2}@[a-z]{7}\\.[a-z]{3}");
+        assertThat(name).hasSize(4).endsWith("😀");
+        assertThat(name.charAt(0)).isBetween('一', '龥');
+        assertThat(handler.getMaskingValue("137-0000-1234")).isEqualTo(phone);
+    }
+
+    @Test
+    @DisplayName("超过摘要长度的值应继续生成随机量")
+    void should_extend_stream_for_long_values() {
+        PseudonymHandler handler = PseudonymHandler.builder(KEY).preserveFormat(true).build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            sb.append((char) ('0' + i % 10));
+        }
+
+        String masked = handler.getMaskingValue(sb.toString());
+
+        assertThat(masked).hasSize(300).matches("\\d+");
+        // 尾部应仍为伪随机数字，而不是重复首块
+        assertThat(masked.substring(200)).isNotEqualTo(masked.substring(0, 100));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "13700001234", "137-0000-1234", "张三", "a😀b", "Zhang.San@example.com"})
+    @DisplayName("追加式与字节级实现应与字符串实现结果一致")
+    void all_paths_should_agree(String value) {
+        for (boolean preserveFormat : new boolean[]{false, true}) {
+            PseudonymHandler handler = PseudonymHandler.builder(KEY).preserveFormat(preserveFormat).build();
+            String expected = handler.getMaskingValue(value);
+
+            StringBuilder out = new StringBuilder("#");
+            handler.maskTo("<" + value + ">", 1, 1 + value.length(), out);
+            assertThat(out.toString()).isEqualTo("#" + expected);
+
+            byte[] bytes = ("<" + value + ">").getBytes(StandardCharsets.UTF_8);
+            for (ByteBuffer src : new ByteBuffer[]{ByteBuffer.wrap(bytes), direct(bytes)}) {
+                Utf8Sink sink = new Utf8Sink();
+                handler.mask(src, 1, bytes.length - 1, sink);
+                assertThat(new String(sink.array(), 0, sink.size(), StandardCharsets.UTF_8)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("多线程并发调用结果应一致")
+    void should_be_thread_safe() throws Exception {
+        PseudonymHandler handler = PseudonymHandler.builder(KEY).preserveFormat(true).build();
+        String expected = handler.getMaskingValue("13700001234");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (!expected.equals(handler.getMaskingValue("13700001234"))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("非法参数应抛出异常")
+    void should_reject_invalid_arguments() {
+        assertThatThrownBy(() -> PseudonymHandler.builder(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PseudonymHandler.builder(KEY).algorithm("NoSuchMac").build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PseudonymHandler.builder(KEY).tokenLength(33).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(PseudonymHandler.builder(KEY).algorithm("HmacSHA512").tokenLength(64).build()
+                .getMaskingValue("x")).hasSize(64);
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+}
@@ -0,0 +1,72 @@
+package io.github.zhengyuelaii.desensitize.core.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * 字节级脱敏处理器测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class Utf8MaskingHandlerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "张三", "欧阳锋", "13700001234", "é€x", "a😀b", "😀bc", "ab😀"})
+    @DisplayName("内置处理器的字节级实现应与字符串实现结果一致")
+    void builtins_should_match_string_semantics(String value) {
+        assertSameResult(new KeepFirstAndLastHandler(), value);
+        assertSameResult(new FixedMaskHandler(), value);
+        assertSameResult(new FixedMaskHandler("＊＊"), value);
+        assertSameResult(new DefaultMaskingHandler(), value);
+    }
+
+    @Test
+    @DisplayName("普通处理器应通过桥接实现，原生实现应直接返回自身")
+    void of_should_bridge_plain_handlers() {
+        KeepFirstAndLastHandler builtin = new KeepFirstAndLastHandler();
+        assertThat(Utf8MaskingHandler.of(builtin)).isSameAs(builtin);
+
+        MaskingHandler upper = String::toUpperCase;
+        Utf8MaskingHandler bridged = Utf8MaskingHandler.of(upper);
+        assertThat(run(bridged, "abc")).isEqualTo("ABC");
+    }
+
+    @Test
+    @DisplayName("输出缓冲区应能增长并按 UTF-8 编码")
+    void sink_should_grow_and_encode() {
+        Utf8Sink sink = new Utf8Sink(1);
+        sink.writeUtf8("张😀a");
+        sink.writeRepeated('*', 40);
+        sink.write(ByteBuffer.allocateDirect(3), 0, 2);
+
+        assertThat(sink.size()).isEqualTo(3 + 4 + 1 + 40 + 2);
+        sink.truncate(8);
+        assertThat(sink.toString()).isEqualTo("张😀a");
+    }
+
+    private static void assertSameResult(MaskingHandler handler, String value) {
+        String expected = handler.getMaskingValue(value);
+        // 按 UTF-8 编码后比较（孤立代理字符编码为 ?）
+        String encoded = expected == null ? "" : new String(expected.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertThat(run((Utf8MaskingHandler) handler, value)).isEqualTo(encoded);
+    }
+
+    private static String run(Utf8MaskingHandler handler, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer src = ByteBuffer.allocateDirect(bytes.length + 2);
+        src.put((byte) 'x').put(bytes).put((byte) 'x');
+        Utf8Sink sink = new Utf8Sink();
+        handler.mask(src, 1, 1 + bytes.length, sink);
+        return sink.toString();
+    }
+
+}
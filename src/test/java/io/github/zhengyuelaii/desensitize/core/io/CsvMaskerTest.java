@@ -0,0 +1,156 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * CSV 流式脱敏测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class CsvMaskerTest {
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    @BeforeEach
+    void setUp() {
+        handlerMap = new HashMap<>();
+        handlerMap.put("mobile", value -> Masker.hide(value, 3, 7));
+        handlerMap.put("name", new KeepFirstAndLastHandler());
+    }
+
+    @Test
+    @DisplayName("应只脱敏配置的列，其余内容原样输出")
+    void should_mask_configured_columns_only() throws IOException {
+        String csv = "id,name,mobile,remark\r\n"
+                + "1,张老三,13700001234,普通客户\r\n"
+                + "2,李四,13800005678,\r\n";
+
+        StringWriter out = new StringWriter();
+        long rows = CsvMasker.builder(handlerMap).build().mask(new StringReader(csv), out);
+
+        assertThat(rows).isEqualTo(2L);
+        assertThat(out.toString()).isEqualTo("id,name,mobile,remark\r\n"
+                + "1,张*三,137****1234,普通客户\r\n"
+                + "2,李*,138****5678,\r\n");
+    }
+
+    @Test
+    @DisplayName("应正确处理引号、转义与字段内换行")
+    void should_handle_rfc4180_quoting() throws IOException {
+        handlerMap.put("address", value -> value.substring(0, 2) + "\"***\"");
+        String csv = "\"name\",address,\"note\"\n"
+                + "\"Alice\",\"上海,浦东\n世纪大道\",\"say \"\"hi\"\", ok\"\n"
+                + "Bob,北京,\"\"\n"
+                + "\"\",杭州,x";
+
+        StringWriter out = new StringWriter();
+        CsvMasker.builder(handlerMap).build().mask(new StringReader(csv), out);
+
+        assertThat(out.toString()).isEqualTo("\"name\",address,\"note\"\n"
+                + "\"A***e\",\"上海\"\"***\"\"\",\"say \"\"hi\"\", ok\"\n"
+                + "B*b,\"北京\"\"***\"\"\",\"\"\n"
+                + "\"\",\"杭州\"\"***\"\"\",x");
+    }
+
+    @Test
+    @DisplayName("应支持自定义分隔符、通配符列名与表头 BOM")
+    void should_support_delimiter_patterns_and_bom() throws IOException {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Mobile", value -> Masker.hide(value, 3, 7))
+                .exact("idCard", new FixedMaskHandler())
+                .build();
+        String csv = "\uFEFFidCard;homeMobile;city\n310115199001010001;13700001234;上海;多余列\n;;\n";
+
+        StringWriter out = new StringWriter();
+        CsvMasker.builder(rules).delimiter(';').build().mask(new StringReader(csv), out);
+
+        assertThat(out.toString()).isEqualTo("\uFEFFidCard;homeMobile;city\n******;137****1234;上海;多余列\n;;\n");
+    }
+
+    @Test
+    @DisplayName("超过读缓冲区大小的输入应以固定缓冲区流式处理")
+    void should_stream_large_input() throws IOException {
+        StringBuilder csv = new StringBuilder("name,mobile\n");
+        StringBuilder expected = new StringBuilder("name,mobile\n");
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            longName.append('x');
+        }
+        csv.append(longName).append(",13700001234\n");
+        expected.append('x').append(longName.substring(2).replace('x', '*')).append("x,137****1234\n");
+        for (int i = 0; i < 10000; i++) {
+            String mobile = String.format("137%08d", i);
+            csv.append("王小").append(i % 10).append(',').append(mobile).append('\n');
+            expected.append("王*").append(i % 10).append(',').append(Masker.hide(mobile, 3, 7)).append('\n');
+        }
+
+        StringWriter out = new StringWriter();
+        // 每次最多返回 7 个字符，覆盖记录跨越读缓冲区的情况
+        long rows = CsvMasker.builder(handlerMap).build().mask(new ChunkedReader(csv.toString(), 7), out);
+
+        assertThat(rows).isEqualTo(10001L);
+        assertThat(out.toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    @DisplayName("空输入与非法配置")
+    void should_handle_empty_input_and_reject_invalid_options() throws IOException {
+        StringWriter out = new StringWriter();
+        assertThat(CsvMasker.builder(handlerMap).build().mask(new StringReader(""), out)).isEqualTo(0L);
+        assertThat(out.toString()).isEmpty();
+
+        assertThatThrownBy(() -> CsvMasker.builder(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CsvMasker.builder(handlerMap).delimiter('"')).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class ChunkedReader extends Reader {
+
+        private final String text;
+
+        private final int chunk;
+
+        private int position;
+
+        ChunkedReader(String text, int chunk) {
+            this.text = text;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= text.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, chunk), text.length() - position);
+            text.getChars(position, position + n, cbuf, off);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
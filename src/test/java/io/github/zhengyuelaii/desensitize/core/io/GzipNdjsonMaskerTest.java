@@ -0,0 +1,187 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * GZIP NDJSON 流水线脱敏测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class GzipNdjsonMaskerTest {
+
+    @TempDir
+    Path dir;
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    @BeforeEach
+    void setUp() {
+        handlerMap = new HashMap<>();
+        handlerMap.put("mobile", value -> Masker.hide(value, 3, 7));
+        handlerMap.put("name", new KeepFirstAndLastHandler());
+    }
+
+    @Test
+    @DisplayName("流水线脱敏后解压结果应与逐行脱敏一致且保持顺序")
+    void should_mask_gzip_file_in_order() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            String mobile = String.format("137%08d", i);
+            input.append("{\"id\":").append(i).append(",\"name\":\"张老").append(i % 10)
+                    .append("\",\"mobile\":\"").append(mobile).append("\"}\n");
+            expected.append("{\"id\":").append(i).append(",\"name\":\"张*").append(i % 10)
+                    .append("\",\"mobile\":\"").append(Masker.hide(mobile, 3, 7)).append("\"}\n");
+        }
+        Path source = dir.resolve("export.ndjson.gz");
+        Files.write(source, gzip(input.toString()));
+        Path target = dir.resolve("masked.ndjson.gz");
+
+        GzipNdjsonMasker.Stats stats = GzipNdjsonMasker.builder(handlerMap, null)
+                .parallelism(3)
+                .chunkSize(4096)
+                .queueCapacity(4)
+                .build()
+                .mask(source, target);
+
+        assertThat(gunzip(Files.readAllBytes(target))).isEqualTo(expected.toString());
+        long rawBytes = input.toString().getBytes(StandardCharsets.UTF_8).length;
+        assertThat(stats.getChunks()).isGreaterThan(100L);
+        assertThat(stats.getInflate().getBytes()).isEqualTo(rawBytes);
+        assertThat(stats.getMask().getBytes()).isEqualTo(rawBytes);
+        assertThat(stats.getMask().getThreads()).isEqualTo(3);
+        assertThat(stats.getBottleneck()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("超长记录与缺少末尾换行时应完整输出，且不关闭调用方的流")
+    void should_handle_long_records_without_closing_streams() throws IOException {
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longName.append('x');
+        }
+        String input = "{\"name\":\"" + longName + "\"}\n{\"mobile\":\"13800005678\"}";
+        TrackingInputStream in = new TrackingInputStream(gzip(input));
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        GzipNdjsonMasker.builder(handlerMap, null).parallelism(2).chunkSize(128).build().mask(in, out);
+
+        assertThat(in.closed).isFalse();
+        assertThat(out.closed).isFalse();
+        String maskedName = "x" + longName.substring(2).replace('x', '*') + "x";
+        assertThat(gunzip(out.toByteArray()))
+                .isEqualTo("{\"name\":\"" + maskedName + "\"}\n{\"mobile\":\"138****5678\"}");
+    }
+
+    @Test
+    @DisplayName("空压缩流应输出合法的空 GZIP 流")
+    void should_handle_empty_input() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        GzipNdjsonMasker.Stats stats = GzipNdjsonMasker.builder(handlerMap, null).build()
+                .mask(new ByteArrayInputStream(gzip("")), out);
+
+        assertThat(stats.getChunks()).isEqualTo(0L);
+        assertThat(gunzip(out.toByteArray())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("非法的 GZIP 输入与相同的输入输出文件应抛出异常")
+    void should_reject_invalid_input() throws IOException {
+        GzipNdjsonMasker masker = GzipNdjsonMasker.builder(handlerMap, null).build();
+
+        assertThatThrownBy(() -> masker.mask(new ByteArrayInputStream("not gzip".getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+
+        Path source = dir.resolve("same.ndjson.gz");
+        Files.write(source, gzip("{}\n"));
+        assertThatThrownBy(() -> masker.mask(source, source)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("记录非法时输出不应带有 GZIP 尾部，无法被当作完整文件解压")
+    void should_not_finish_gzip_on_failure() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            input.append("{\"id\":").append(i).append(",\"mobile\":\"13700001234\"}\n");
+        }
+        input.append("{\"name\":\"unterminated");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GzipNdjsonMasker masker = GzipNdjsonMasker.builder(handlerMap, null).chunkSize(1024).build();
+
+        assertThatThrownBy(() -> masker.mask(new ByteArrayInputStream(gzip(input.toString())), out))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed JSON");
+        assertThatThrownBy(() -> gunzip(out.toByteArray())).isInstanceOf(IOException.class);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                bytes.write(buf, 0, n);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class TrackingInputStream extends ByteArrayInputStream {
+
+        boolean closed;
+
+        TrackingInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    static class TrackingOutputStream extends ByteArrayOutputStream {
+
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * NDJSON 文件脱敏测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class NdjsonFileMaskerTest {
+
+    @TempDir
+    Path dir;
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    @BeforeEach
+    void setUp() {
+        handlerMap = new HashMap<>();
+        handlerMap.put("mobile", value -> Masker.hide(value, 3, 7));
+        handlerMap.put("name", new KeepFirstAndLastHandler());
+        handlerMap.put("idCard", new FixedMaskHandler());
+    }
+
+    @Test
+    @DisplayName("多线程分块脱敏后应保持记录顺序")
+    void should_mask_chunks_in_parallel_and_keep_order() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            String mobile = String.format("137%08d", i);
+            input.append("{\"id\":").append(i).append(",\"name\":\"张老").append(i % 10)
+                    .append("\",\"mobile\":\"").append(mobile).append("\",\"idCard\":\"31011519900101").append(i % 10).append("\"}\n");
+            expected.append("{\"id\":").append(i).append(",\"name\":\"张*").append(i % 10)
+                    .append("\",\"mobile\":\"").append(Masker.hide(mobile, 3, 7)).append("\",\"idCard\":\"******\"}\n");
+        }
+        Path source = write("export.ndjson", input.toString());
+        Path target = dir.resolve("masked.ndjson");
+
+        NdjsonFileMasker.Stats stats = NdjsonFileMasker.builder(handlerMap, null)
+                .parallelism(4)
+                .chunkSize(1024)
+                .build()
+                .mask(source, target);
+
+        assertThat(read(target)).isEqualTo(expected.toString());
+        assertThat(stats.getChunks()).isGreaterThan(100L);
+        assertThat(stats.getBytesRead()).isEqualTo(Files.size(source));
+        assertThat(stats.getBytesWritten()).isEqualTo(Files.size(target));
+    }
+
+    @Test
+    @DisplayName("超长记录、缺少末尾换行与排除字段应正确处理")
+    void should_handle_long_records_and_exclusions() throws IOException {
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            longName.append('x');
+        }
+        String input = "{\"name\":\"" + longName + "\"}\n"
+                + "{\"raw\":{\"mobile\":\"13700001234\"},\"mobile\":\"13800005678\"}";
+        Path source = write("long.ndjson", input);
+        Path target = dir.resolve("long-masked.ndjson");
+
+        NdjsonFileMasker.builder(handlerMap, Collections.singleton("raw"))
+                .parallelism(2)
+                .chunkSize(64)
+                .build()
+                .mask(source, target);
+
+        String maskedName = "x" + longName.substring(2).replace('x', '*') + "x";
+        assertThat(read(target)).isEqualTo("{\"name\":\"" + maskedName + "\"}\n"
+                + "{\"raw\":{\"mobile\":\"13700001234\"},\"mobile\":\"138****5678\"}");
+    }
+
+    @Test
+    @DisplayName("未命中规则与空文件应原样输出")
+    void should_copy_untouched_content() throws IOException {
+        Path empty = write("empty.ndjson", "");
+        Path emptyOut = dir.resolve("empty-out.ndjson");
+        NdjsonFileMasker masker = NdjsonFileMasker.builder(handlerMap, null).build();
+
+        assertThat(masker.mask(empty, emptyOut).getChunks()).isEqualTo(0L);
+        assertThat(read(emptyOut)).isEmpty();
+
+        Path plain = write("plain.ndjson", "{\"age\":18}\n{\"city\":\"上海\"}\n");
+        Path plainOut = dir.resolve("plain-out.ndjson");
+        masker.mask(plain, plainOut);
+        assertThat(read(plainOut)).isEqualTo("{\"age\":18}\n{\"city\":\"上海\"}\n");
+    }
+
+    @Test
+    @DisplayName("输出文件与输入文件相同时应抛出异常")
+    void should_reject_same_file() throws IOException {
+        Path source = write("same.ndjson", "{\"name\":\"张老三\"}\n");
+        NdjsonFileMasker masker = NdjsonFileMasker.builder(handlerMap, null).build();
+
+        assertThatThrownBy(() -> masker.mask(source, source)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NdjsonFileMasker.builder(handlerMap, null).parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("脱敏失败时应保留原输出文件且不留下临时文件")
+    void should_keep_previous_output_on_failure() throws IOException {
+        Path source = write("broken.ndjson", "{\"name\":\"张老三\"}\n{\"name\":\"李老四\"}\n");
+        Path target = write("masked.ndjson", "previous\n");
+        handlerMap.put("name", value -> {
+            if (value.startsWith("李")) {
+                throw new IllegalStateException("boom");
+            }
+            return value;
+        });
+        NdjsonFileMasker masker = NdjsonFileMasker.builder(handlerMap, null).chunkSize(16).build();
+
+        assertThatThrownBy(() -> masker.mask(source, target)).hasMessageContaining("boom");
+        assertThat(read(target)).isEqualTo("previous\n");
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count()).isEqualTo(2L);
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,206 @@
+package io.github.zhengyuelaii.desensitize.core.io;
+
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * UTF-8 JSON 字节脱敏测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class Utf8JsonMaskerTest {
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    @BeforeEach
+    void setUp() {
+        handlerMap = new HashMap<>();
+        handlerMap.put("mobile", value -> Masker.hide(value, 3, 7));
+        handlerMap.put("name", new KeepFirstAndLastHandler());
+        handlerMap.put("idCard", new FixedMaskHandler());
+    }
+
+    @Test
+    @DisplayName("字节长度不变时应在堆内与堆外缓冲区中原地改写")
+    void should_rewrite_in_place() {
+        String json = "{\"name\":\"Alice\",\"mobile\":\"13700001234\",\"age\":18,\"tags\":[\"mobile\"]}";
+        String expected = "{\"name\":\"A***e\",\"mobile\":\"137****1234\",\"age\":18,\"tags\":[\"mobile\"]}";
+        Utf8JsonMasker masker = new Utf8JsonMasker(handlerMap);
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes(json));
+        assertThat(masker.mask(heap, null)).isEqualTo(Utf8JsonMasker.Outcome.IN_PLACE);
+        assertThat(text(heap)).isEqualTo(expected);
+
+        ByteBuffer direct = direct(json);
+        assertThat(masker.mask(direct, null)).isEqualTo(Utf8JsonMasker.Outcome.IN_PLACE);
+        assertThat(text(direct)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("长度变化时应写入目标缓冲区且不修改源缓冲区")
+    void should_stream_into_destination_when_length_changes() {
+        String json = "{\"user\": {\"idCard\" : \"310115199001010001\", \"name\":\"李老四\"}}";
+        ByteBuffer src = direct(json);
+        ByteBuffer dst = ByteBuffer.allocate(128);
+
+        Utf8JsonMasker.Outcome outcome = new Utf8JsonMasker(handlerMap).mask(src, dst);
+
+        assertThat(outcome).isEqualTo(Utf8JsonMasker.Outcome.COPIED);
+        assertThat(text(src)).isEqualTo(json);
+        dst.flip();
+        assertThat(text(dst)).isEqualTo("{\"user\": {\"idCard\" : \"******\", \"name\":\"李*四\"}}");
+    }
+
+    @Test
+    @DisplayName("目标缓冲区缺失或不足时应抛出异常且源数据保持不变")
+    void should_reject_missing_or_small_destination() {
+        String json = "{\"idCard\":\"310115199001010001\",\"name\":\"张老三\"}";
+        Utf8JsonMasker masker = new Utf8JsonMasker(handlerMap);
+
+        ByteBuffer src = ByteBuffer.wrap(bytes(json));
+        assertThatThrownBy(() -> masker.mask(src, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> masker.mask(src, ByteBuffer.allocate(8))).isInstanceOf(BufferOverflowException.class);
+        assertThat(text(src)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("排除字段应跳过整个值，嵌套结构中的字段应继续匹配")
+    void should_respect_exclusion_and_nesting() {
+        String json = "{\"contact\":{\"name\":\"Alice\",\"mobile\":\"13700001234\"},"
+                + "\"raw\":{\"name\":\"李老四\",\"list\":[{\"mobile\":\"13800005678\"}]},"
+                + "\"items\":[{\"name\":\"Bobby\"}]}";
+        ByteBuffer src = ByteBuffer.wrap(bytes(json));
+
+        new Utf8JsonMasker(handlerMap, Collections.singleton("raw")).mask(src, null);
+
+        assertThat(text(src)).isEqualTo("{\"contact\":{\"name\":\"A***e\",\"mobile\":\"137****1234\"},"
+                + "\"raw\":{\"name\":\"李老四\",\"list\":[{\"mobile\":\"13800005678\"}]},"
+                + "\"items\":[{\"name\":\"B***y\"}]}");
+    }
+
+    @Test
+    @DisplayName("转义字符应被正确解码与重新转义")
+    void should_handle_escapes() {
+        Map<String, MaskingHandler> rules = new HashMap<>();
+        rules.put("name", new KeepFirstAndLastHandler());
+        rules.put("note", value -> "\"" + value.length() + "\"");
+        String json = "{\"na\\u006de\":\"a\\\"bc\",\"note\":\"x\\ny\"}";
+        ByteBuffer dst = ByteBuffer.allocate(64);
+
+        new Utf8JsonMasker(rules).mask(ByteBuffer.wrap(bytes(json)), dst);
+
+        dst.flip();
+        assertThat(text(dst)).isEqualTo("{\"na\\u006de\":\"a**c\",\"note\":\"\\\"3\\\"\"}");
+    }
+
+    @Test
+    @DisplayName("应支持通配符规则与只读缓冲区")
+    void should_support_patterns_and_read_only_source() {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Mobile", value -> Masker.hide(value, 3, 7))
+                .exact("name", new KeepFirstAndLastHandler())
+                .build();
+        String json = "{\"homeMobile\":\"13700001234\",\"name\":\"张老三\",\"remark\":\"x\"}";
+        ByteBuffer src = ByteBuffer.wrap(bytes(json)).asReadOnlyBuffer();
+        ByteBuffer dst = ByteBuffer.allocateDirect(64);
+
+        assertThat(new Utf8JsonMasker(rules).mask(src, dst)).isEqualTo(Utf8JsonMasker.Outcome.COPIED);
+
+        dst.flip();
+        assertThat(text(dst)).isEqualTo("{\"homeMobile\":\"137****1234\",\"name\":\"张*三\",\"remark\":\"x\"}");
+    }
+
+    @Test
+    @DisplayName("构建后修改规则集合不应影响含转义与不含转义的 Key")
+    void should_snapshot_rules_for_escaped_keys() {
+        Set<String> excludeFields = new HashSet<>();
+        Utf8JsonMasker masker = new Utf8JsonMasker(handlerMap, excludeFields);
+        handlerMap.remove("name");
+        handlerMap.put("remark", new FixedMaskHandler());
+        excludeFields.add("mobile");
+
+        String json = "{\"na\\u006de\":\"Alice\",\"name\":\"Alice\",\"mo\\u0062ile\":\"13700001234\",\"rem\\u0061rk\":\"abcdef\"}";
+        ByteBuffer src = ByteBuffer.wrap(bytes(json));
+
+        assertThat(masker.mask(src, null)).isEqualTo(Utf8JsonMasker.Outcome.IN_PLACE);
+        assertThat(text(src)).isEqualTo(
+                "{\"na\\u006de\":\"A***e\",\"name\":\"A***e\",\"mo\\u0062ile\":\"137****1234\",\"rem\\u0061rk\":\"abcdef\"}");
+    }
+
+    @Test
+    @DisplayName("应只处理 position 与 limit 之间的字节")
+    void should_honor_buffer_window() {
+        byte[] payload = bytes("xx{\"name\":\"Alice\"}yy");
+        ByteBuffer src = ByteBuffer.wrap(payload, 2, payload.length - 4);
+
+        new Utf8JsonMasker(handlerMap).mask(src, null);
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo("xx{\"name\":\"A***e\"}yy");
+        assertThat(src.position()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("处理器返回 null 时应写出 JSON null")
+    void should_write_json_null_when_handler_returns_null() {
+        handlerMap.put("secret", value -> null);
+        Utf8JsonMasker masker = new Utf8JsonMasker(handlerMap);
+
+        ByteBuffer sameLength = ByteBuffer.wrap(bytes("{\"secret\":\"ab\",\"age\":18}"));
+        assertThat(masker.mask(sameLength, null)).isEqualTo(Utf8JsonMasker.Outcome.IN_PLACE);
+        assertThat(text(sameLength)).isEqualTo("{\"secret\":null,\"age\":18}");
+
+        ByteBuffer dst = ByteBuffer.allocate(64);
+        String json = "{\"secret\": \"a\\\"bcdef\", \"name\":\"Alice\"}";
+        assertThat(masker.mask(direct(json), dst)).isEqualTo(Utf8JsonMasker.Outcome.COPIED);
+        dst.flip();
+        assertThat(text(dst)).isEqualTo("{\"secret\": null, \"name\":\"A***e\"}");
+    }
+
+    @Test
+    @DisplayName("未闭合的字符串应抛出异常")
+    void should_reject_unterminated_string() {
+        assertThatThrownBy(() -> new Utf8JsonMasker(handlerMap).mask(ByteBuffer.wrap(bytes("{\"name\":\"abc")), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unterminated string");
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer direct(String s) {
+        byte[] bytes = bytes(s);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,293 @@
+package io.github.zhengyuelaii.desensitize.core.jdbc;
+
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * MaskingResultSet 读取时脱敏测试
+ *
+ * <p>
+ * 基于内存中的伪造 ResultSet 验证，不依赖真实数据库
+ * </p>
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class MaskingResultSetTest {
+
+    private Map<String, MaskingHandler> handlerMap;
+
+    @BeforeEach
+    void setUp() {
+        handlerMap = new HashMap<>();
+        handlerMap.put("name", new KeepFirstAndLastHandler());
+        handlerMap.put("MOBILE", value -> Masker.hide(value, 3, 7));
+    }
+
+    @Test
+    @DisplayName("应在读取时按列标签脱敏")
+    void should_mask_configured_columns_on_fetch() throws SQLException {
+        FakeResultSet fake = new FakeResultSet(new String[]{"id", "name", "mobile"},
+                new Object[]{1L, "张老三", "13700001234"},
+                new Object[]{2L, "李老四", "13800005678"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.next()).isTrue();
+        assertThat(rs.getObject("id")).isEqualTo(1L);
+        assertThat(rs.getString("name")).isEqualTo("张*三");
+        assertThat(rs.getString(3)).isEqualTo("137****1234");
+
+        assertThat(rs.next()).isTrue();
+        assertThat(rs.getObject(2)).isEqualTo("李*四");
+        assertThat(rs.getObject("mobile", String.class)).isEqualTo("138****5678");
+
+        assertThat(rs.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("未配置的列与 null 值应原样返回")
+    void should_return_raw_value_for_unconfigured_columns_and_null() throws SQLException {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name", "remark"},
+                new Object[]{null, "备注信息"});
+        ResultSet rs = new MaskingResultSet(fake.proxy(), handlerMap);
+
+        assertThat(rs.next()).isTrue();
+        assertThat(rs.getString("name")).isNull();
+        assertThat(rs.getString("remark")).isEqualTo("备注信息");
+    }
+
+    @Test
+    @DisplayName("字符流取值也应返回脱敏结果")
+    void should_mask_character_stream() throws Exception {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name"}, new Object[]{"欧阳锋"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.next()).isTrue();
+        try (BufferedReader reader = new BufferedReader(rs.getCharacterStream("name"))) {
+            assertThat(reader.readLine()).isEqualTo("欧*锋");
+        }
+    }
+
+    @Test
+    @DisplayName("大对象与字节流取值不应泄露原始数据")
+    void should_not_leak_raw_value_through_lob_accessors() throws Exception {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name", "mobile"}, new Object[]{"欧阳锋", "13700001234"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.next()).isTrue();
+        Clob clob = rs.getClob("name");
+        assertThat(clob.getSubString(1, (int) clob.length())).isEqualTo("欧*锋");
+        assertThat(rs.getNClob(1).getSubString(2, 1)).isEqualTo("*");
+        try (InputStream in = rs.getAsciiStream("mobile")) {
+            assertThat(new String(readAll(in), StandardCharsets.US_ASCII)).isEqualTo("137****1234");
+        }
+        assertThatThrownBy(() -> rs.getBytes("mobile")).isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThatThrownBy(() -> rs.getBinaryStream(2)).isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThatThrownBy(() -> clob.setString(1, "x")).isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+
+    @Test
+    @DisplayName("通过 getObject 读取 CLOB 列时应返回脱敏内容或拒绝读取")
+    void should_mask_clob_read_through_get_object() throws Exception {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name", "remark"},
+                new Object[]{new MaskedClob("欧阳锋"), new MaskedClob("备注信息")});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.next()).isTrue();
+        Clob clob = (Clob) rs.getObject("name");
+        assertThat(clob.getSubString(1, (int) clob.length())).isEqualTo("欧*锋");
+        Clob typed = rs.getObject(1, Clob.class);
+        assertThat(typed.getSubString(1, (int) typed.length())).isEqualTo("欧*锋");
+        try (BufferedReader reader = new BufferedReader(rs.getObject("name", Reader.class))) {
+            assertThat(reader.readLine()).isEqualTo("欧*锋");
+        }
+        assertThatThrownBy(() -> rs.getObject(1, byte[].class)).isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThatThrownBy(() -> rs.getArray(1)).isInstanceOf(SQLFeatureNotSupportedException.class);
+
+        Clob raw = (Clob) rs.getObject("remark");
+        assertThat(raw.getSubString(1, (int) raw.length())).isEqualTo("备注信息");
+    }
+
+    @Test
+    @DisplayName("存在脱敏列时不应解包出原始结果集")
+    void should_not_unwrap_delegate_with_masked_columns() throws SQLException {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.isWrapperFor(Proxy.class)).isFalse();
+        assertThatThrownBy(() -> rs.unwrap(Proxy.class)).isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    @DisplayName("列下标应只从元数据解析一次")
+    void should_resolve_column_index_once() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Object[]{"张老三"});
+        }
+        FakeResultSet fake = new FakeResultSet(new String[]{"name"}, rows.toArray(new Object[0][]));
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        int count = 0;
+        while (rs.next()) {
+            assertThat(rs.getString("name")).isEqualTo("张*三");
+            count++;
+        }
+        assertThat(count).isEqualTo(100);
+        assertThat(fake.metaDataCalls.get()).isEqualTo(1);
+        assertThat(fake.findColumnCalls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("通配符规则应按列标签生效")
+    void should_mask_columns_by_glob_rules() throws SQLException {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .exact("name", new KeepFirstAndLastHandler())
+                .glob("*_phone", value -> Masker.hide(value, 3, 7))
+                .build();
+        FakeResultSet fake = new FakeResultSet(new String[]{"NAME", "home_phone", "remark"},
+                new Object[]{"张老三", "13700001234", "备注信息"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), rules);
+
+        assertThat(rs.next()).isTrue();
+        assertThat(rs.getString("NAME")).isEqualTo("张*三");
+        assertThat(rs.getString("home_phone")).isEqualTo("137****1234");
+        assertThat(rs.getObject(2)).isEqualTo("137****1234");
+        assertThat(rs.getString("remark")).isEqualTo("备注信息");
+    }
+
+    @Test
+    @DisplayName("unwrap 应能获取装饰器本身")
+    void should_unwrap_to_itself() throws SQLException {
+        FakeResultSet fake = new FakeResultSet(new String[]{"name"});
+        ResultSet rs = MaskingResultSet.wrap(fake.proxy(), handlerMap);
+
+        assertThat(rs.isWrapperFor(MaskingResultSet.class)).isTrue();
+        assertThat(rs.unwrap(MaskingResultSet.class)).isSameAs(rs);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /* ========= 测试模型 ========= */
+
+    /**
+     * 基于动态代理的内存结果集，仅实现测试所需的方法
+     */
+    static class FakeResultSet {
+
+        private final String[] labels;
+        private final List<Object[]> rows;
+        private int cursor = -1;
+
+        final AtomicInteger metaDataCalls = new AtomicInteger();
+        final AtomicInteger findColumnCalls = new AtomicInteger();
+
+        FakeResultSet(String[] labels, Object[]... rows) {
+            this.labels = labels;
+            this.rows = Arrays.asList(rows);
+        }
+
+        ResultSet proxy() {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "next":
+                                return ++cursor < rows.size();
+                            case "getMetaData":
+                                metaDataCalls.incrementAndGet();
+                                return metaData();
+                            case "findColumn":
+                                findColumnCalls.incrementAndGet();
+                                return indexOf((String) args[0]);
+                            case "getString":
+                            case "getNString":
+                            case "getObject":
+                                Object value = args[0] instanceof Integer
+                                        ? rows.get(cursor)[(Integer) args[0] - 1]
+                                        : rows.get(cursor)[indexOf((String) args[0]) - 1];
+                                if (method.getName().endsWith("String") && value != null) {
+                                    return value.toString();
+                                }
+                                return args.length == 2 && args[1] instanceof Class ? convert(value, (Class<?>) args[1]) : value;
+                            case "isWrapperFor":
+                                return false;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        /**
+         * 模拟驱动对 {@code getObject(int, Class)} 的类型转换
+         */
+        private static Object convert(Object value, Class<?> type) throws SQLException {
+            if (value instanceof Clob && type == Reader.class) {
+                return ((Clob) value).getCharacterStream();
+            }
+            if (value instanceof Clob && type == byte[].class) {
+                Clob clob = (Clob) value;
+                return clob.getSubString(1, (int) clob.length()).getBytes(StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        private int indexOf(String label) throws SQLException {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            throw new SQLException("Column not found: " + label);
+        }
+
+        private ResultSetMetaData metaData() {
+            return (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getColumnCount":
+                                return labels.length;
+                            case "getColumnLabel":
+                                return labels[(Integer) args[0] - 1];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+
+}
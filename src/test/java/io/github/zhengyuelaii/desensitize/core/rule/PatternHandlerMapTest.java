@@ -0,0 +1,166 @@
+package io.github.zhengyuelaii.desensitize.core.rule;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.util.Masker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 通配符 / 正则字段名规则测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class PatternHandlerMapTest {
+
+    private MaskingHandler mobileHandler;
+
+    private MaskingHandler fixedHandler;
+
+    @BeforeEach
+    void setUp() {
+        mobileHandler = value -> Masker.hide(value, 3, 7);
+        fixedHandler = new FixedMaskHandler();
+    }
+
+    @Test
+    @DisplayName("应能按通配符与正则匹配字段名")
+    void should_match_glob_and_regex() {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Phone", mobileHandler)
+                .glob("idCard*", fixedHandler)
+                .regex(".*_no", fixedHandler)
+                .build();
+
+        assertThat(rules.get("userPhone")).isSameAs(mobileHandler);
+        assertThat(rules.get("idCardNo")).isSameAs(fixedHandler);
+        assertThat(rules.get("passport_no")).isSameAs(fixedHandler);
+        assertThat(rules.get("phoneBook")).isNull();
+        assertThat(rules.containsKey("nickname")).isFalse();
+        assertThat(rules.get(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("精确字段名应优先，其次按声明顺序匹配")
+    void should_prefer_exact_then_declaration_order() {
+        MaskingHandler nameHandler = new KeepFirstAndLastHandler();
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Phone", mobileHandler)
+                .glob("*", fixedHandler)
+                .exact("homePhone", nameHandler)
+                .build();
+
+        assertThat(rules.get("homePhone")).isSameAs(nameHandler);
+        assertThat(rules.get("workPhone")).isSameAs(mobileHandler);
+        assertThat(rules.get("address")).isSameAs(fixedHandler);
+    }
+
+    @Test
+    @DisplayName("正则中的捕获组与内联标志不应影响规则定位")
+    void should_isolate_groups_and_flags() {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .regex("(id)(Card|Number)", fixedHandler)
+                .regex("(?i)mobile", mobileHandler)
+                .glob("a.b?", fixedHandler)
+                .build();
+
+        assertThat(rules.get("idNumber")).isSameAs(fixedHandler);
+        assertThat(rules.get("MOBILE")).isSameAs(mobileHandler);
+        assertThat(rules.get("a.bc")).isSameAs(fixedHandler);
+        assertThat(rules.get("axbc")).isNull();
+    }
+
+    @Test
+    @DisplayName("正则中的反向引用与命名分组应按原语义匹配")
+    void should_keep_backreferences_and_named_groups() {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Phone", mobileHandler)
+                .regex("(\\w)\\1_.*", fixedHandler)
+                .regex("(?<prefix>tmp)_\\k<prefix>", fixedHandler)
+                .build();
+
+        assertThat(rules.get("aa_code")).isSameAs(fixedHandler);
+        assertThat(rules.get("ab_code")).isNull();
+        assertThat(rules.get("tmp_tmp")).isSameAs(fixedHandler);
+        assertThat(rules.get("tmp_bak")).isNull();
+        assertThat(rules.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("应能对 Bean 字段按命名约定脱敏")
+    void should_mask_bean_fields_by_convention() {
+        AtomicInteger calls = new AtomicInteger();
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Mobile", value -> {
+                    calls.incrementAndGet();
+                    return Masker.hide(value, 3, 7);
+                })
+                .build();
+
+        Contact c1 = new Contact("13700001234", "李老四");
+        Contact c2 = new Contact("13800005678", "张老三");
+        EasyDesensitize.mask(c1, rules);
+        EasyDesensitize.mask(c2, rules);
+
+        assertThat(c1.contactMobile).isEqualTo("137****1234");
+        assertThat(c2.contactMobile).isEqualTo("138****5678");
+        assertThat(c1.name).isEqualTo("李老四");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("应能作为 handlerMap 对 Map 数据脱敏")
+    void should_mask_map_payload() {
+        PatternHandlerMap rules = PatternHandlerMap.builder()
+                .glob("*Phone", mobileHandler)
+                .regex(".*_no", fixedHandler)
+                .build();
+        Map<String, Object> data = new HashMap<>();
+        data.put("homePhone", "13700001234");
+        data.put("order_no", "A0001");
+        data.put("amount", 100);
+
+        EasyDesensitize.mask(data, rules);
+
+        assertThat(data.get("homePhone")).isEqualTo("137****1234");
+        assertThat(data.get("order_no")).isEqualTo("******");
+        assertThat(data.get("amount")).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("非法规则应抛出异常")
+    void should_reject_invalid_rule() {
+        assertThatThrownBy(() -> PatternHandlerMap.builder().glob("", fixedHandler))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatternHandlerMap.builder().glob("*Phone", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatternHandlerMap.builder().regex("(", fixedHandler))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Contact {
+
+        private String contactMobile;
+        private String name;
+
+        Contact(String contactMobile, String name) {
+            this.contactMobile = contactMobile;
+            this.name = name;
+        }
+    }
+
+}
@@ -3,12 +3,17 @@ package io.github.zhengyuelaii.desensitize.core.util;
 import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
 import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
 import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.PartialMaskHandler;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
@@ -90,6 +95,37 @@ public class ClassAnalyzerTest {
                 .contains("parentField", "childField");
     }
 
+    @Test
+    @DisplayName("子类应复用父类字段的元数据，字段顺序为子类在前")
+    void shouldShareInheritedFieldMetas() {
+        List<FieldMeta> parent = ClassAnalyzer.analyze(ParentBean.class);
+        List<FieldMeta> child = ClassAnalyzer.analyze(ChildBean.class);
+        List<FieldMeta> sibling = ClassAnalyzer.analyze(SiblingBean.class);
+
+        assertThat(child).extracting(meta -> meta.getField().getName()).containsExactly("childField", "parentField");
+        assertThat(child.get(1)).isSameAs(parent.get(0));
+        assertThat(sibling.get(1)).isSameAs(parent.get(0));
+        assertThat(ClassAnalyzer.analyze(EmptyChildBean.class)).containsExactly(parent.get(0));
+        // 每次返回新的列表，调用方的修改不影响共享片段
+        assertThat(ClassAnalyzer.analyze(ParentBean.class)).isNotSameAs(parent);
+    }
+
+    @Test
+    @DisplayName("关闭缓存时应重新分析，清空缓存后片段应失效")
+    void shouldBypassAndInvalidateSegmentCache() {
+        List<FieldMeta> cached = ClassAnalyzer.analyze(ChildBean.class);
+
+        List<FieldMeta> uncached = ClassAnalyzer.analyze(ChildBean.class, false);
+        assertThat(uncached).extracting(meta -> meta.getField().getName()).containsExactly("childField", "parentField");
+        assertThat(uncached.get(1)).isNotSameAs(cached.get(1));
+        assertThat(ClassAnalyzer.analyze(ChildBean.class).get(1)).isSameAs(cached.get(1));
+
+        ClassAnalyzer.clearCache();
+        List<FieldMeta> reloaded = ClassAnalyzer.analyze(ChildBean.class);
+        assertThat(reloaded.get(1)).isNotSameAs(cached.get(1));
+        assertThat(ClassAnalyzer.analyze(ParentBean.class).get(0)).isSameAs(reloaded.get(1));
+    }
+
     @Test
     @DisplayName("应对基本类型和JDK类返回空列表")
     void shouldReturnEmptyListForPrimitiveAndJdkClasses() {
@@ -144,7 +180,139 @@ public class ClassAnalyzerTest {
         assertThat(listMeta.isNested()).isTrue();
     }
 
+    @Test
+    @DisplayName("带参数的注解应解析为对应参数的处理器，相同类型与参数共享实例")
+    void shouldResolveParameterizedHandlers() {
+        List<FieldMeta> metas = ClassAnalyzer.analyze(TestBeanWithParameters.class);
+        MaskingHandler mobile = handlerOf(metas, "mobile");
+        MaskingHandler backupMobile = handlerOf(metas, "backupMobile");
+        MaskingHandler idCard = handlerOf(metas, "idCard");
+        MaskingHandler secret = handlerOf(metas, "secret");
+
+        assertThat(mobile).isExactlyInstanceOf(PartialMaskHandler.class);
+        assertThat(mobile).isSameAs(backupMobile);
+        assertThat(mobile.getMaskingValue("13700001234")).isEqualTo("137****1234");
+        assertThat(idCard.getMaskingValue("110101199001011234")).isEqualTo("110###########1234");
+        assertThat(secret).isExactlyInstanceOf(FixedMaskHandler.class);
+        assertThat(secret.getMaskingValue("abc")).isEqualTo("[hidden]");
+        assertThat(handlerOf(ClassAnalyzer.analyze(TestBeanWithAnnotations.class), "email"))
+                .isNotSameAs(secret);
+    }
+
+    @Test
+    @DisplayName("处理器不支持参数时应抛出异常")
+    void shouldRejectParametersForUnsupportedHandler() {
+        assertThatThrownBy(() -> ClassAnalyzer.analyze(TestBeanWithUnsupportedParameters.class))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("does not accept parameters");
+    }
+
+    @Test
+    @DisplayName("元素不可能含有脱敏内容的集合、Map 与数组字段应被剪除")
+    void shouldPruneContainersOfValueTypes() {
+        List<FieldMeta> metas = ClassAnalyzer.analyze(TestBeanWithGenericFields.class);
+
+        for (String name : new String[]{"tags", "counters", "codes", "scores", "dates", "matrix", "levels"}) {
+            assertThat(metaOf(metas, name).isNested()).as(name).isFalse();
+        }
+        for (String name : new String[]{"attributes", "objects", "contacts", "optional", "numbers"}) {
+            assertThat(metaOf(metas, name).isNested()).as(name).isTrue();
+        }
+        // 剪除后的字段既无需递归也不可能持有 String，不进入脱敏计划
+        assertThat(ClassAnalyzer.plan(TestBeanWithGenericFields.class).toString()).isEqualTo(
+                "ClassPlan [masked=[], handlerMap=[], nested=[attributes, objects, contacts, optional, numbers]]");
+    }
+
+    @Test
+    @DisplayName("父类的类型变量应按子类绑定的实际类型判断")
+    void shouldResolveTypeVariablesBoundBySubclass() {
+        List<FieldMeta> strings = ClassAnalyzer.analyze(StringPage.class);
+        assertThat(metaOf(strings, "items").isNested()).isFalse();
+        assertThat(metaOf(strings, "first").isNested()).isFalse();
+        assertThat(ClassAnalyzer.plan(StringPage.class).toString()).isEqualTo(
+                "ClassPlan [masked=[], handlerMap=[first], nested=[]]");
+
+        // 经由中间泛型类传递的绑定
+        assertThat(metaOf(ClassAnalyzer.analyze(StringLeafPage.class), "items").isNested()).isFalse();
+
+        List<FieldMeta> contacts = ClassAnalyzer.analyze(ContactPage.class);
+        assertThat(metaOf(contacts, "items").isNested()).isTrue();
+        assertThat(metaOf(contacts, "items").getElementType()).isEqualTo(FinalContact.class);
+
+        // 父类自身的元数据不受子类绑定影响
+        List<FieldMeta> page = ClassAnalyzer.analyze(Page.class);
+        assertThat(metaOf(page, "items").isNested()).isTrue();
+        assertThat(metaOf(page, "items").getElementType()).isNull();
+        assertThat(metaOf(ClassAnalyzer.analyze(Page.class), "items")).isSameAs(metaOf(page, "items"));
+    }
+
+    @Test
+    @DisplayName("元素类型为 final 的 Bean 类时应记录元素类型")
+    void shouldRecordFinalElementType() {
+        List<FieldMeta> metas = ClassAnalyzer.analyze(TestBeanWithGenericFields.class);
+
+        assertThat(metaOf(metas, "contacts").getElementType()).isEqualTo(FinalContact.class);
+        assertThat(metaOf(metas, "objects").getElementType()).isNull();
+        assertThat(metaOf(metas, "attributes").getElementType()).isNull();
+    }
+
+    private static FieldMeta metaOf(List<FieldMeta> metas, String name) {
+        return metas.stream()
+                .filter(meta -> name.equals(meta.getField().getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name));
+    }
+
+    private static MaskingHandler handlerOf(List<FieldMeta> metas, String name) {
+        return metas.stream()
+                .filter(meta -> name.equals(meta.getField().getName()))
+                .findFirst()
+                .map(FieldMeta::getTypeHandler)
+                .orElse(null);
+    }
+
     // 测试用例类
+    public static class TestBeanWithGenericFields {
+        private List<String> tags;
+        private Map<String, Integer> counters;
+        private String[] codes;
+        private int[] scores;
+        private Set<LocalDate> dates;
+        private List<List<String>> matrix;
+        private List<? extends Level> levels;
+        private Map<String, String> attributes;
+        private List<Object> objects;
+        private List<FinalContact> contacts;
+        private Optional<FinalContact> optional;
+        private List<Number> numbers;
+    }
+
+    public enum Level {
+        LOW, HIGH
+    }
+
+    public static final class FinalContact {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        private String name;
+    }
+
+    public static class Page<T> {
+        private List<T> items;
+        private T first;
+    }
+
+    public static class StringPage extends Page<String> {
+    }
+
+    public static class ContactPage extends Page<FinalContact> {
+    }
+
+    public static class MiddlePage<U> extends Page<U> {
+    }
+
+    public static class StringLeafPage extends MiddlePage<String> {
+    }
+
     public static class TestBeanWithAnnotations {
         @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
         private String name;
@@ -153,8 +321,24 @@ public class ClassAnalyzerTest {
         private int age;
     }
 
+    public static class TestBeanWithParameters {
+        @MaskingField(prefix = 3, suffix = 4)
+        private String mobile;
+        @MaskingField(typeHandler = PartialMaskHandler.class, prefix = 3, suffix = 4)
+        private String backupMobile;
+        @MaskingField(prefix = 3, suffix = 4, maskChar = '#')
+        private String idCard;
+        @MaskingField(typeHandler = FixedMaskHandler.class, pattern = "[hidden]")
+        private String secret;
+    }
+
+    public static class TestBeanWithUnsupportedParameters {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class, maskChar = '#')
+        private String name;
+    }
+
     public static class TestBeanWithNested {
-        private List<String> items;
+        private List<Object> items;
         private TestBeanWithAnnotations nestedObject;
         private String simpleField;
     }
@@ -175,6 +359,13 @@ public class ClassAnalyzerTest {
         private String childField;
     }
 
+    public static class SiblingBean extends ParentBean {
+        private String siblingField;
+    }
+
+    public static class EmptyChildBean extends ParentBean {
+    }
+
     public static class TestBeanWithInvalidAnnotation {
         @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
         private Integer invalidField; // 非String类型，应抛出异常
@@ -182,7 +373,7 @@ public class ClassAnalyzerTest {
 
     public static class TestBeanWithoutAnnotations {
         private String normalField;
-        private List<String> nestedField;
+        private List<Object> nestedField;
     }
 
     public static class Result<T> {
@@ -0,0 +1,216 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+import io.github.zhengyuelaii.desensitize.core.EasyDesensitize;
+import io.github.zhengyuelaii.desensitize.core.annotation.MaskingField;
+import io.github.zhengyuelaii.desensitize.core.handler.FixedMaskHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.KeepFirstAndLastHandler;
+import io.github.zhengyuelaii.desensitize.core.handler.MaskingHandler;
+import io.github.zhengyuelaii.desensitize.core.rule.PatternHandlerMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * 类脱敏计划测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class ClassPlanTest {
+
+    @Test
+    @DisplayName("字段应按注解、规则、嵌套分组，不可处理的字段不进入计划")
+    void should_group_fields() {
+        ClassPlan plan = ClassAnalyzer.plan(Order.class);
+
+        assertThat(plan.toString()).isEqualTo(
+                "ClassPlan [masked=[name, mobile], handlerMap=[remark, extra], nested=[items, customer]]");
+        assertThat(plan.handlerMapStart()).isEqualTo(2);
+        assertThat(plan.nestedStart()).isEqualTo(4);
+        assertThat(plan.typeHandler(0)).isExactlyInstanceOf(KeepFirstAndLastHandler.class);
+        assertThat(plan.field(5).getName()).isEqualTo("customer");
+    }
+
+    @Test
+    @DisplayName("没有可处理字段的类应返回共享的空计划")
+    void should_return_empty_plan() {
+        assertThat(ClassAnalyzer.plan(Plain.class)).isSameAs(ClassPlan.EMPTY);
+        assertThat(ClassAnalyzer.plan(String.class)).isSameAs(ClassPlan.EMPTY);
+    }
+
+    @Test
+    @DisplayName("规则表匹配结果应按计划缓存，更换规则表后重新匹配")
+    void should_cache_pattern_matches_per_rules() {
+        ClassPlan plan = ClassAnalyzer.plan(Order.class);
+        MaskingHandler fixed = new FixedMaskHandler();
+        PatternHandlerMap rules = PatternHandlerMap.builder().glob("re*", fixed).build();
+
+        assertThat(plan.patternHandler(rules, 2)).isSameAs(fixed);
+        assertThat(plan.patternHandler(rules, 3)).isNull();
+        PatternHandlerMap other = PatternHandlerMap.builder().glob("ex*", fixed).build();
+        assertThat(plan.patternHandler(other, 3)).isSameAs(fixed);
+        assertThat(plan.patternHandler(rules, 2)).isSameAs(fixed);
+        assertThat(plan.patternHandler(rules, 3)).isNull();
+        assertThat(plan.patternHandler(other, 2)).isNull();
+        for (int i = 0; i < 8; i++) {
+            plan.patternHandler(PatternHandlerMap.builder().glob("x" + i, fixed).build(), 0);
+        }
+        assertThat(plan.patternHandler(rules, 2)).isSameAs(fixed);
+    }
+
+    @Test
+    @DisplayName("规则字段只在配置了处理器时脱敏，Object 字段持有 String 时同样生效")
+    void should_mask_handler_map_fields() {
+        Order order = new Order();
+        order.name = "张三";
+        order.remark = "remark";
+        order.extra = "extra";
+        order.count = 3;
+
+        EasyDesensitize.mask(order, Collections.singletonMap("extra", value -> "***"));
+
+        assertThat(order.name).isEqualTo("张*");
+        assertThat(order.remark).isEqualTo("remark");
+        assertThat(order.extra).isEqualTo("***");
+        assertThat(order.count).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("排除字段应按集合内容解析为位图，没有命中时返回 null")
+    void should_resolve_exclude_mask_per_set() {
+        ClassPlan plan = ClassAnalyzer.plan(Order.class);
+        Set<String> excludes = new HashSet<>(Arrays.asList("mobile", "customer", "unknown"));
+
+        long[] mask = plan.excludeMask(excludes);
+
+        for (int i = 0; i < plan.size(); i++) {
+            assertThat(ClassPlan.isExcluded(mask, i)).isEqualTo(excludes.contains(plan.name(i)));
+        }
+        assertThat(plan.excludeMask(Collections.singleton("unknown"))).isNull();
+        assertThat(ClassPlan.isExcluded(null, 0)).isFalse();
+
+        // 集合内容变化时重新解析
+        excludes.add("name");
+        assertThat(ClassPlan.isExcluded(plan.excludeMask(excludes), 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("复用的排除集合在两次调用之间被修改时，应按新内容脱敏")
+    void should_follow_mutations_of_reused_exclude_set() {
+        Set<String> excludes = new HashSet<>(Collections.singleton("name"));
+        Order first = new Order();
+        first.name = "张三";
+        first.mobile = "13700001234";
+        EasyDesensitize.mask(first, null, excludes);
+        assertThat(first.name).isEqualTo("张三");
+        assertThat(first.mobile).isEqualTo("137****1234");
+
+        // 清空后加入另一个字段，集合大小不变
+        excludes.clear();
+        excludes.add("mobile");
+        Order second = new Order();
+        second.name = "张三";
+        second.mobile = "13700001234";
+        EasyDesensitize.mask(second, null, excludes);
+
+        assertThat(second.name).isEqualTo("张*");
+        assertThat(second.mobile).isEqualTo("13700001234");
+    }
+
+    @Test
+    @DisplayName("复用同一排除集合批量脱敏时应跳过被排除的字段")
+    void should_skip_excluded_fields_in_batches() {
+        Set<String> excludes = Collections.singleton("name");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.name = "张三";
+            order.mobile = "13700001234";
+            orders.add(order);
+        }
+
+        EasyDesensitize.mask(orders, null, excludes);
+
+        for (Order order : orders) {
+            assertThat(order.name).isEqualTo("张三");
+            assertThat(order.mobile).isEqualTo("137****1234");
+        }
+    }
+
+    @Test
+    @DisplayName("嵌套字段位置应缓存至多两种运行时类型")
+    void should_cache_runtime_types_per_nested_site() {
+        ClassPlan plan = ClassAnalyzer.plan(Order.class);
+        ClassPlan plainPlan = ClassAnalyzer.plan(Plain.class);
+        int site = plan.nestedStart() + 1;
+
+        assertThat(plan.cachedPlan(site, Plain.class)).isNull();
+        plan.cachePlan(site, Plain.class, plainPlan);
+        plan.cachePlan(site, ArrayList.class, ClassPlan.DISPATCH);
+
+        assertThat(plan.cachedPlan(site, Plain.class)).isSameAs(plainPlan);
+        assertThat(plan.cachedPlan(site, ArrayList.class)).isSameAs(ClassPlan.DISPATCH);
+        assertThat(plan.cachedPlan(plan.nestedStart(), Plain.class)).isNull();
+
+        // 第三种类型出现后不再缓存
+        plan.cachePlan(site, Order.class, plan);
+        assertThat(plan.cachedPlan(site, Plain.class)).isNull();
+        plan.cachePlan(site, Plain.class, plainPlan);
+        assertThat(plan.cachedPlan(site, Plain.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("泛型字段在不同运行时类型之间切换时应正确脱敏")
+    void should_mask_polymorphic_nested_fields() {
+        Holder<Object> holder = new Holder<>();
+        Order order = new Order();
+        order.name = "张三";
+        Holder<Object> inner = new Holder<>();
+        inner.data = Collections.singletonList(order);
+
+        Object[] values = {order, inner, Collections.singletonMap("k", order), new Object[]{order}, order};
+        for (Object value : values) {
+            order.name = "张三";
+            holder.data = value;
+            EasyDesensitize.mask(holder);
+            assertThat(order.name).isEqualTo("张*");
+        }
+    }
+
+    /* ========= 测试模型 ========= */
+
+    static class Holder<T> {
+        private T data;
+    }
+
+
+    static class Order {
+        @MaskingField(typeHandler = KeepFirstAndLastHandler.class)
+        String name;
+        private int count;
+        String remark;
+        private List<Object> items;
+        @MaskingField(prefix = 3, suffix = 4)
+        String mobile;
+        private Date createdAt;
+        Object extra;
+        private Plain customer;
+    }
+
+    static class Plain {
+        private int id;
+        private Date createdAt;
+        private long version;
+    }
+
+}
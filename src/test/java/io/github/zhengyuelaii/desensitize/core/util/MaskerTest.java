@@ -104,4 +104,54 @@ public class MaskerTest {
         assertThat(result).isEqualTo("a@*****%e");
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "'123456789', 3, 6",
+        "'123', 5, 10",
+        "'123456', 3, 2",
+        "'12345', 2, 10",
+        "'A', 0, 1",
+        "'', 0, 2"
+    })
+    void testHideToMatchesHide(String input, int start, int end) {
+        // 测试追加式脱敏与 hide 结果一致，且只处理指定区间
+        StringBuilder out = new StringBuilder(">");
+        Masker.hideTo("[" + input + "]", 1, 1 + input.length(), "#", start, end, out);
+        assertThat(out.toString()).isEqualTo(">" + Masker.hide(input, "#", start, end));
+
+        out.setLength(0);
+        Masker.hideTo(input, start, end, out);
+        assertThat(out.toString()).isEqualTo(Masker.hide(input, start, end));
+    }
+
+    @Test
+    void testHideToWithNullInput() {
+        // 测试输入为 null 时不追加内容
+        StringBuilder out = new StringBuilder();
+        Masker.hideTo(null, 0, 2, out);
+        assertThat(out.toString()).isEmpty();
+    }
+
+    @Test
+    void testHideCountsCodePoints() {
+        // 测试含代理对时按代码点计算索引，不产生半个代理对
+        assertThat(Masker.hide("😀😀😀😀", 1, 3)).isEqualTo("😀**😀");
+        assertThat(Masker.hide("a😀b", 1, 2)).isEqualTo("a*b");
+        assertThat(Masker.hide("a😀b", 2, 10)).isEqualTo("a😀*");
+        assertThat(Masker.hide("😀", 1, 2)).isEqualTo("😀");
+
+        StringBuilder out = new StringBuilder();
+        Masker.hideTo("x😀😀😀x", 1, 7, null, 1, 2, out);
+        assertThat(out.toString()).isEqualTo("😀*😀");
+    }
+
+    @Test
+    void testHideGraphemes() {
+        // 测试按字素簇计算索引，组合字符不被拆开
+        String value = "cafe\u0301s";
+        assertThat(Masker.hideGraphemes(value, null, 3, 4)).isEqualTo("caf*s");
+        assertThat(Masker.hideGraphemes("abcdef", "#", 1, 3)).isEqualTo("a##def");
+        assertThat(Masker.hideGraphemes(null, null, 0, 1)).isNull();
+    }
+
 }
@@ -0,0 +1,158 @@
+package io.github.zhengyuelaii.desensitize.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * 单飞加载缓存测试
+ *
+ * @author zhengyuelaii
+ * @version 1.0.0
+ * @since 2026-10-19
+ */
+public class SingleFlightCacheTest {
+
+    @Test
+    @DisplayName("并发首次访问同一 Key 时只应加载一次")
+    void should_load_once_under_concurrency() throws Exception {
+        SingleFlightCache<String, Object> cache = new SingleFlightCache<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("user", key -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+
+            Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("不同 Key 的加载应可并行进行")
+    void should_load_different_keys_in_parallel() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        CountDownLatch bLoaded = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // A 的加载必须等到 B 加载完成，若加载被串行化则会超时
+            Future<String> a = executor.submit(() -> cache.get("A", key -> await(bLoaded) ? "a" : "serialized"));
+            Future<String> b = executor.submit(() -> cache.get("B", key -> {
+                bLoaded.countDown();
+                return "b";
+            }));
+
+            assertThat(a.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+            assertThat(b.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+            assertThat(cache.size()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("加载失败不应被缓存，下次访问应重新加载")
+    void should_not_cache_failure() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        assertThatThrownBy(() -> cache.get("user", key -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(cache.getIfPresent("user")).isNull();
+        assertThat(cache.get("user", key -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("加载函数内重入同一 Key 不应死锁")
+    void should_allow_reentrant_load() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        String value = cache.get("user", key -> "outer-" + cache.get(key, inner -> "inner"));
+
+        assertThat(value).isEqualTo("outer-inner");
+        assertThat(cache.getIfPresent("user")).isEqualTo("outer-inner");
+    }
+
+    @Test
+    @DisplayName("清空后应重新加载")
+    void should_reload_after_clear() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("user", key -> loads.incrementAndGet());
+        cache.get("user", key -> loads.incrementAndGet());
+        cache.clear();
+        cache.get("user", key -> loads.incrementAndGet());
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("清空前开始的加载结果不应写入缓存，清空后的请求不应共享该加载")
+    void should_discard_load_started_before_clear() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get("user", key -> {
+                started.countDown();
+                return await(release) ? "stale" : "timeout";
+            }));
+            assertThat(await(started)).isTrue();
+
+            cache.clear();
+            assertThat(cache.get("user", key -> "fresh")).isEqualTo("fresh");
+
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+            assertThat(cache.getIfPresent("user")).isEqualTo("fresh");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}